@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Combines the open minutes of many schedules into one mask, either as intersection (open if all schedules are open) or as union (open if
+ * at least one schedule is open). A task copies the mask of its first schedule and changes only this copy.
+ */
+final class CombineTask extends RecursiveTask<long[]> {
+
+    /** Maximum number of schedules combined by a task without splitting. */
+    static final int DEFAULT_THRESHOLD = 4096;
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    private final transient WeeklyOpeningHours[] weeks;
+
+    private final boolean intersect;
+
+    private final int from;
+
+    private final int to;
+
+    private final int threshold;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param weeks
+     *            Schedules to combine - Null entries are ignored.
+     * @param intersect
+     *            {@literal true} for the intersection or {@literal false} for the union.
+     * @param from
+     *            First index (inclusive).
+     * @param to
+     *            Last index (exclusive).
+     * @param threshold
+     *            Maximum number of schedules handled without splitting.
+     */
+    CombineTask(final WeeklyOpeningHours[] weeks, final boolean intersect, final int from, final int to, final int threshold) {
+        super();
+        this.weeks = weeks;
+        this.intersect = intersect;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the combined mask.
+     *
+     * @return Minutes of the week plus the public holiday or {@literal null} if there was no schedule to combine.
+     */
+    @Override
+    protected long[] compute() {
+        if (to - from <= threshold) {
+            long[] result = null;
+            for (int i = from; i < to; i++) {
+                if (weeks[i] != null) {
+                    if (result == null) {
+                        result = weeks[i].minutesMask().clone();
+                    } else {
+                        combine(result, weeks[i].minutesMask());
+                    }
+                }
+            }
+            return result;
+        }
+        final int middle = (from + to) >>> 1;
+        final CombineTask left = new CombineTask(weeks, intersect, from, middle, threshold);
+        final CombineTask right = new CombineTask(weeks, intersect, middle, to, threshold);
+        left.fork();
+        final long[] result = right.compute();
+        final long[] other = left.join();
+        if (result == null) {
+            return other;
+        }
+        if (other != null) {
+            combine(result, other);
+        }
+        return result;
+    }
+
+    private void combine(final long[] result, final long[] other) {
+        if (intersect) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = result[i] & other[i];
+            }
+        } else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = result[i] | other[i];
+            }
+        }
+    }
+
+}
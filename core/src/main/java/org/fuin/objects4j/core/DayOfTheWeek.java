@@ -50,6 +50,7 @@ import java.util.List;
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod(method = "valueOf", param = String.class)
 @HasPublicStaticValueOfMethod(method = "valueOf", param = DayOfWeek.class)
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class DayOfTheWeek implements ValueObjectWithBaseType<String>, Comparable<DayOfTheWeek>, Serializable, AsStringCapable {
 
     @Serial
@@ -173,6 +174,15 @@ public final class DayOfTheWeek implements ValueObjectWithBaseType<String>, Comp
         return SUN;
     }
 
+    /**
+     * Returns the zero based position of the day in the order 'Mon'-'Sun' plus 'PH'.
+     * 
+     * @return Index from 0 (Monday) to 7 (Public Holiday).
+     */
+    final int index() {
+        return id - 1;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -278,6 +288,47 @@ public final class DayOfTheWeek implements ValueObjectWithBaseType<String>, Comp
         throw new IllegalArgumentException("Unknown day of week: '" + str + "'");
     }
 
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return Constant for the day.
+     */
+    @Nullable
+    public static DayOfTheWeek valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return parse(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return Constant for the day.
+     */
+    public static DayOfTheWeek valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return parse(new OpeningHoursParser(ascii, offset, length));
+    }
+
+    private static DayOfTheWeek parse(final OpeningHoursParser parser) {
+        final DayOfTheWeek dow = parser.dayOfTheWeek();
+        if (dow == null) {
+            throw new IllegalArgumentException("Unknown day of week: '" + parser.text() + "'");
+        }
+        return dow;
+    }
+
     /**
      * Converts the instance into java time instance.
      * 
@@ -300,6 +351,18 @@ public final class DayOfTheWeek implements ValueObjectWithBaseType<String>, Comp
         throw new IllegalArgumentException("Unknown day week: " + dayOfWeek);
     }
 
+    /**
+     * Returns the day for the given zero based position.
+     * 
+     * @param index
+     *            Index from 0 (Monday) to 7 (Public Holiday).
+     * 
+     * @return Day of the week.
+     */
+    static DayOfTheWeek ofIndex(final int index) {
+        return ALL[index];
+    }
+
     /**
      * Checks if the argument is valid and throws an exception if this is not the case.
      * 
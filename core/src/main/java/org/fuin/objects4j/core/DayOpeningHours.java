@@ -32,6 +32,7 @@ import org.fuin.objects4j.ui.Prompt;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,11 +50,15 @@ import java.util.List;
 @Prompt("Mon 09:00-12:00+13:00-17:00")
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class DayOpeningHours implements ValueObjectWithBaseType<String>, Comparable<DayOpeningHours>, Serializable, AsStringCapable {
 
     @Serial
     private static final long serialVersionUID = 1000L;
 
+    /** Optional cache used by {@link #valueOf(String)}. */
+    private static volatile ParseCache<DayOpeningHours> cache;
+
     @NotNull
     private DayOfTheWeek dayOfTheWeek;
 
@@ -76,10 +81,9 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
     public DayOpeningHours(@NotNull @DayOpeningHoursStr final String dayOpeningHours) {
         super();
         Contract.requireArgNotEmpty("dayOpeningHours", dayOpeningHours);
-        requireArgValid("dayOpeningHours", dayOpeningHours);
-        final int p = dayOpeningHours.indexOf(' ');
-        dayOfTheWeek = DayOfTheWeek.valueOf(dayOpeningHours.substring(0, p));
-        hourRanges = new HourRanges(dayOpeningHours.substring(p + 1));
+        final DayOpeningHours doh = parse(new OpeningHoursParser(dayOpeningHours));
+        dayOfTheWeek = doh.dayOfTheWeek;
+        hourRanges = doh.hourRanges;
     }
 
     /**
@@ -172,6 +176,28 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
         return hourRanges;
     }
 
+    /**
+     * Writes the day and the hours in a compact binary form.
+     *
+     * @param buffer
+     *            Buffer to write to.
+     */
+    public final void writeTo(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        buffer.put((byte) dayOfTheWeek.index());
+        hourRanges.writeTo(buffer);
+    }
+
+    /**
+     * Returns the day and the hours in the compact binary form written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @return Bytes that can be converted back with {@link #fromBytes(byte[])}.
+     */
+    @NotNull
+    public final byte[] toBytes() {
+        return OpeningHoursCodec.toBytes(this::writeTo);
+    }
+
     /**
      * Returns a normalized version of the hour ranges. A day may contain hours that belong logically to the next day.<br>
      * An example is 'FRI 18:00-03:00' which means from Friday 6pm to Saturday 3am.<br>
@@ -180,8 +206,12 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
      * @return One or two days.
      */
     public final List<DayOpeningHours> normalize() {
-        final List<HourRanges> ranges = hourRanges.normalize();
         final List<DayOpeningHours> list = new ArrayList<>();
+        if (hourRanges.isNormalized()) {
+            list.add(this);
+            return list;
+        }
+        final List<HourRanges> ranges = hourRanges.normalize();
         list.add(new DayOpeningHours(dayOfTheWeek, ranges.get(0)));
         if (ranges.size() > 1) {
             list.add(new DayOpeningHours(dayOfTheWeek.next(), ranges.get(1)));
@@ -215,44 +245,13 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
                     "Expected same day (" + dayOfTheWeek + ") for argument 'toOther', but was: " + toOther.dayOfTheWeek);
         }
 
-        final List<DayOpeningHours> fromDays = normalize();
-        final List<DayOpeningHours> toDays = toOther.normalize();
-
         final List<Change> changes = new ArrayList<>();
-
-        if (fromDays.size() == 1) {
-            if (toDays.size() == 1) {
-                // Both only 1 day
-                final DayOpeningHours from = fromDays.get(0);
-                final DayOpeningHours to = toDays.get(0);
-                changes.addAll(changes(this.dayOfTheWeek, from.hourRanges, to.hourRanges));
-            } else {
-                // From 1 day / To 2 days
-                final DayOpeningHours from = fromDays.get(0);
-                final DayOpeningHours to1 = toDays.get(0);
-                final DayOpeningHours to2 = toDays.get(1);
-                changes.addAll(changes(this.dayOfTheWeek, from.hourRanges, to1.hourRanges));
-                changes.addAll(changes(ChangeType.ADDED, to2.dayOfTheWeek, to2.hourRanges));
-            }
-        } else {
-            if (toDays.size() == 1) {
-                // From 2 days / To 1 day
-                final DayOpeningHours from1 = fromDays.get(0);
-                final DayOpeningHours from2 = fromDays.get(1);
-                final DayOpeningHours to = toDays.get(0);
-                changes.addAll(changes(this.dayOfTheWeek, from1.hourRanges, to.hourRanges));
-                changes.addAll(changes(ChangeType.REMOVED, from2.dayOfTheWeek, from2.hourRanges));
-            } else {
-                // Both 2 days
-                final DayOpeningHours from1 = fromDays.get(0);
-                final DayOpeningHours from2 = fromDays.get(1);
-                final DayOpeningHours to1 = toDays.get(0);
-                final DayOpeningHours to2 = toDays.get(1);
-                changes.addAll(changes(from1.dayOfTheWeek, from1.hourRanges, to1.hourRanges));
-                changes.addAll(changes(from2.dayOfTheWeek, from2.hourRanges, to2.hourRanges));
-            }
+        addChanges(changes, dayOfTheWeek, hourRanges.minutesMask(), toOther.hourRanges.minutesMask(), 0);
+        final long[] fromNextDay = hourRanges.nextDayMinutesMask();
+        final long[] toNextDay = toOther.hourRanges.nextDayMinutesMask();
+        if (fromNextDay != null || toNextDay != null) {
+            addChanges(changes, dayOfTheWeek.next(), fromNextDay, toNextDay, 0);
         }
-
         return changes;
     }
 
@@ -413,21 +412,27 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
         return true;
     }
 
-    private static List<Change> changes(final ChangeType type, final DayOfTheWeek dayOfTheWeek, final HourRanges ranges) {
-        final List<Change> changes = new ArrayList<>();
-        for (final HourRange hr : ranges) {
-            changes.add(new Change(type, dayOfTheWeek, hr));
-        }
-        return changes;
-    }
-
-    private static List<Change> changes(final DayOfTheWeek dayOfTheWeek, final HourRanges from, final HourRanges to) {
-        final List<Change> changes = new ArrayList<>();
-        final List<HourRanges.Change> diff = from.diff(to);
-        for (HourRanges.Change change : diff) {
-            changes.add(new Change(dayOfTheWeek, change));
-        }
-        return changes;
+    /**
+     * Adds the changes of a single day. The minutes are compared word by word and the removed hours are added before the added ones.
+     * 
+     * @param changes
+     *            List to add the changes to.
+     * @param dayOfTheWeek
+     *            Day of the changes.
+     * @param from
+     *            Minutes before the change or {@literal null} if the day was closed.
+     * @param to
+     *            Minutes after the change or {@literal null} if the day is closed.
+     * @param offset
+     *            Index of the first minute of the day in both masks.
+     */
+    static void addChanges(final List<Change> changes, final DayOfTheWeek dayOfTheWeek, final long[] from, final long[] to,
+            final int offset) {
+        final int end = offset + MinuteMask.MINUTES_PER_DAY;
+        MinuteMask.forEachRun(from, to, offset, end,
+                (start, stop) -> changes.add(new Change(ChangeType.REMOVED, dayOfTheWeek, HourRanges.rangeOf(start, stop))));
+        MinuteMask.forEachRun(to, from, offset, end,
+                (start, stop) -> changes.add(new Change(ChangeType.ADDED, dayOfTheWeek, HourRanges.rangeOf(start, stop))));
     }
 
     /**
@@ -442,13 +447,7 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
         if (dayOpeningHours == null) {
             return true;
         }
-        final int p = dayOpeningHours.indexOf(' ');
-        if (p < 0) {
-            return false;
-        }
-        final String dayOfTheWeekStr = dayOpeningHours.substring(0, p);
-        final String hourRangesStr = dayOpeningHours.substring(p + 1);
-        return DayOfTheWeek.isValid(dayOfTheWeekStr) && HourRanges.isValid(hourRangesStr);
+        return new OpeningHoursParser(dayOpeningHours).dayOpeningHours() != null;
     }
 
     /**
@@ -464,9 +463,105 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
         if (str == null) {
             return null;
         }
+        final ParseCache<DayOpeningHours> parseCache = cache;
+        if (parseCache != null) {
+            return parseCache.get(str);
+        }
         return new DayOpeningHours(str);
     }
 
+    /**
+     * Enables a cache for {@link #valueOf(String)} that returns the same instance for equal strings. An already enabled cache is replaced.
+     * 
+     * @param maxSize
+     *            Maximum number of cached instances.
+     */
+    public static void enableCache(final int maxSize) {
+        cache = new ParseCache<>(maxSize, DayOpeningHours::new);
+    }
+
+    /**
+     * Disables the cache for {@link #valueOf(String)}.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache used by {@link #valueOf(String)}.
+     * 
+     * @return Cache or {@literal null} if caching is not enabled.
+     */
+    @Nullable
+    public static ParseCache<DayOpeningHours> getCache() {
+        return cache;
+    }
+
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static DayOpeningHours valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return parse(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return New instance.
+     */
+    public static DayOpeningHours valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return parse(new OpeningHoursParser(ascii, offset, length));
+    }
+
+    /**
+     * Reads a day written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer
+     *            Buffer to read from.
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public static DayOpeningHours readFrom(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        final int index = buffer.get() & 0xFF;
+        if (index >= MinuteMask.DAYS) {
+            throw new ConstraintViolationException("Invalid index of the day of the week: " + index);
+        }
+        return new DayOpeningHours(DayOfTheWeek.ofIndex(index), HourRanges.readFrom(buffer));
+    }
+
+    /**
+     * Converts bytes created with {@link #toBytes()} into an instance of this class.
+     *
+     * @param bytes
+     *            Bytes to convert.
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public static DayOpeningHours fromBytes(@NotNull final byte[] bytes) {
+        Contract.requireArgNotNull("bytes", bytes);
+        return OpeningHoursCodec.fromBytes(bytes, DayOpeningHours::readFrom);
+    }
+
     /**
      * Checks if the argument is valid and throws an exception if this is not the case.
      * 
@@ -483,12 +578,23 @@ public final class DayOpeningHours implements ValueObjectWithBaseType<String>, C
         // CHECKSTYLE:ON
 
         if (!isValid(value)) {
-            throw new ConstraintViolationException("The argument '" + name
-                    + "' does not represent a valid hour range like 'Mon 09:00-12:00+13:00-17:00': '" + value + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
         }
 
     }
 
+    private static DayOpeningHours parse(final OpeningHoursParser parser) {
+        final DayOpeningHours doh = parser.dayOpeningHours();
+        if (doh == null) {
+            throw parser.exception(invalidMessage("dayOpeningHours", parser.text()));
+        }
+        return doh;
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent a valid hour range like 'Mon 09:00-12:00+13:00-17:00': '" + value + "'";
+    }
+
     /**
      * Represents a single change of opening hours.
      */
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.fuin.objects4j.core.DayOpeningHours.Change;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazily computes the changes between two week masks. The changes of a day are only computed when the first change of that day is
+ * requested, so a short-circuiting stream operation stops comparing as soon as it has its result. The days can be split for parallel
+ * processing.
+ */
+final class DiffSpliterator implements Spliterator<Change> {
+
+    private final long[] from;
+
+    private final long[] to;
+
+    private final List<Change> buffer;
+
+    private int day;
+
+    private int endDay;
+
+    private int pos;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param from
+     *            Week mask before the change or {@literal null} if there were no opening hours.
+     * @param to
+     *            Week mask after the change or {@literal null} if there are no opening hours.
+     * @param day
+     *            Index of the first day to compare (inclusive).
+     * @param endDay
+     *            Index of the last day to compare (exclusive).
+     */
+    DiffSpliterator(final long[] from, final long[] to, final int day, final int endDay) {
+        super();
+        this.from = from;
+        this.to = to;
+        this.buffer = new ArrayList<>();
+        this.day = day;
+        this.endDay = endDay;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Change> action) {
+        while (pos == buffer.size()) {
+            if (day >= endDay) {
+                return false;
+            }
+            buffer.clear();
+            pos = 0;
+            DayOpeningHours.addChanges(buffer, DayOfTheWeek.ofIndex(day), from, to, day * MinuteMask.MINUTES_PER_DAY);
+            day++;
+        }
+        action.accept(buffer.get(pos++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<Change> trySplit() {
+        if (pos < buffer.size()) {
+            // Changes of the current day must be reported before all others
+            return null;
+        }
+        final int middle = (day + endDay) >>> 1;
+        if (middle == day) {
+            return null;
+        }
+        final DiffSpliterator prefix = new DiffSpliterator(from, to, day, middle);
+        day = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (long) endDay - day + buffer.size() - pos;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Knows the public holidays of one or more regions. Used to decide if the public holiday ('PH') hours of {@link WeeklyOpeningHours}
+ * apply to a date.
+ */
+@FunctionalInterface
+public interface HolidayCalendar {
+
+    /**
+     * Determines if the given date is a public holiday in a region.
+     * 
+     * @param date
+     *            Date to verify.
+     * @param region
+     *            Region like 'DE-BY'.
+     * 
+     * @return {@literal true} if the date is a public holiday in the region, else {@literal false}.
+     */
+    public boolean isHoliday(@NotNull LocalDate date, @NotNull String region);
+
+}
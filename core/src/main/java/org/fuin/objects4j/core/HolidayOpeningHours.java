@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Weekly opening hours that are evaluated with a holiday calendar. On a public holiday the 'PH' hours are used instead of the hours of the
+ * day of the week. If the opening hours have no 'PH' entry, the hours of the day of the week also apply on public holidays. The 'PH' hours
+ * replace the whole day of the week, so its hours that span midnight do not apply to the day after the holiday.
+ */
+@Immutable
+public final class HolidayOpeningHours {
+
+    /** Position of the public holiday minutes in the week mask. */
+    private static final int PH_OFFSET = DayOfTheWeek.PH.index() * MinuteMask.MINUTES_PER_DAY;
+
+    private final WeeklyOpeningHours weeklyOpeningHours;
+
+    private final HolidayCalendar calendar;
+
+    private final long[] week;
+
+    /** Week without the hours that continue after midnight from the day before. */
+    private final long[] sameDayWeek;
+
+    private final boolean holidayHours;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param weeklyOpeningHours
+     *            Opening hours.
+     * @param calendar
+     *            Calendar with the public holidays.
+     */
+    public HolidayOpeningHours(@NotNull final WeeklyOpeningHours weeklyOpeningHours, @NotNull final HolidayCalendar calendar) {
+        super();
+        Contract.requireArgNotNull("weeklyOpeningHours", weeklyOpeningHours);
+        Contract.requireArgNotNull("calendar", calendar);
+        this.weeklyOpeningHours = weeklyOpeningHours;
+        this.calendar = calendar;
+        this.week = weeklyOpeningHours.minutesMask();
+        this.sameDayWeek = weeklyOpeningHours.sameDayMinutesMask();
+        this.holidayHours = hasHolidayHours(weeklyOpeningHours);
+    }
+
+    private static boolean hasHolidayHours(final WeeklyOpeningHours weeklyOpeningHours) {
+        for (final DayOpeningHours doh : weeklyOpeningHours) {
+            if (doh.getDayOfTheWeek() == DayOfTheWeek.PH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the opening hours.
+     *
+     * @return Opening hours.
+     */
+    @NotNull
+    public WeeklyOpeningHours getWeeklyOpeningHours() {
+        return weeklyOpeningHours;
+    }
+
+    /**
+     * Returns the holiday calendar.
+     *
+     * @return Calendar with the public holidays.
+     */
+    @NotNull
+    public HolidayCalendar getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Determines if open at the given date and time in a region. Seconds are ignored. Hours of the day before a public holiday that span
+     * midnight are not taken into account on the holiday. If there are 'PH' hours, the hours of the day of the week of a holiday that span
+     * midnight are not taken into account on the day after the holiday either.
+     *
+     * @param dateTime
+     *            Date and time to verify.
+     * @param region
+     *            Region used to look up the public holidays.
+     *
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(@NotNull final LocalDateTime dateTime, @NotNull final String region) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        Contract.requireArgNotNull("region", region);
+        if (holidayHours) {
+            final LocalDate date = dateTime.toLocalDate();
+            if (calendar.isHoliday(date, region)) {
+                return MinuteMask.get(week, PH_OFFSET + dateTime.getHour() * 60 + dateTime.getMinute());
+            }
+            if (calendar.isHoliday(date.minusDays(1), region)) {
+                return MinuteMask.get(sameDayWeek, WeeklyOpeningHours.minuteOfWeek(dateTime));
+            }
+        }
+        return MinuteMask.get(week, WeeklyOpeningHours.minuteOfWeek(dateTime));
+    }
+
+    @Override
+    public String toString() {
+        return weeklyOpeningHours.toString();
+    }
+
+}
@@ -20,10 +20,12 @@ package org.fuin.objects4j.core;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.AsStringCapable;
 import org.fuin.objects4j.common.ConstraintViolationException;
 import org.fuin.objects4j.common.Contract;
 import org.fuin.objects4j.common.HasPublicStaticIsValidMethod;
 import org.fuin.objects4j.common.HasPublicStaticValueOfMethod;
+import org.fuin.objects4j.common.ValueObjectWithBaseType;
 import org.fuin.objects4j.ui.Label;
 import org.fuin.objects4j.ui.Prompt;
 import org.fuin.objects4j.ui.ShortLabel;
@@ -31,7 +33,7 @@ import org.fuin.objects4j.ui.Tooltip;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.Serial;
-import java.util.regex.Pattern;
+import java.io.Serializable;
 
 /**
  * Represents an hour of a day (24 hours, sometimes called Military Time).<br>
@@ -46,6 +48,8 @@ import java.util.regex.Pattern;
  * <li>'23:59' One minute before midnight</li>
  * <li>'24:00' Midnight current day</li>
  * </ul>
+ * Use {@link #of(int, int)} or {@link #ofMinutes(int)} to get a shared instance instead of creating a new one. Equality and ordering are
+ * based on the minutes of the day.
  */
 @Immutable
 @ShortLabel("HH")
@@ -54,17 +58,21 @@ import java.util.regex.Pattern;
 @Prompt("23:59")
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod
-public final class Hour extends AbstractStringValueObject {
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
+public final class Hour implements ValueObjectWithBaseType<String>, Comparable<Hour>, Serializable, AsStringCapable {
 
     @Serial
     private static final long serialVersionUID = 1000L;
 
-    private static final Pattern PATTERN = Pattern.compile("^([01]\\d|2[0-3]):?([0-5]\\d)|24:00$");
+    /** Shared instances for all minutes of the day from '00:00' to '24:00'. */
+    private static final Hour[] CACHE = createCache();
 
     private int hourValue;
 
     private int minuteValue;
 
+    private transient String value;
+
     /**
      * Protected default constructor for deserialization.
      */
@@ -81,9 +89,14 @@ public final class Hour extends AbstractStringValueObject {
     public Hour(@NotNull @HourStr final String hour) {
         super();
         Contract.requireArgNotEmpty("hour", hour);
-        requireArgValid("hour", hour);
-        this.hourValue = Integer.parseInt(hour.substring(0, 2));
-        this.minuteValue = Integer.parseInt(hour.substring(3));
+        final OpeningHoursParser parser = new OpeningHoursParser(hour);
+        final int minutes = parser.hour();
+        if (minutes < 0) {
+            throw parser.exception(invalidMessage("hour", hour));
+        }
+        this.hourValue = minutes / 60;
+        this.minuteValue = minutes % 60;
+        this.value = format(hourValue, minuteValue);
     }
 
     /**
@@ -96,32 +109,93 @@ public final class Hour extends AbstractStringValueObject {
      */
     public Hour(final int hour, final int minute) {
         super();
-        if (hour < 0 || hour > 24) {
-            throw new ConstraintViolationException("The argument 'hour' is not a valid hour (0-24): '" + hour + "'");
-        }
-        if (minute < 0 || minute > 59) {
-            throw new ConstraintViolationException("The argument 'minute' is not a valid minute (0-59): '" + minute + "'");
-        }
-        if (hour == 24 && minute != 0) {
-            throw new ConstraintViolationException("The argument 'minute' must be '0' if the hour is '24': '" + minute + "'");
-        }
+        requireValidHourMinute(hour, minute);
         this.hourValue = hour;
         this.minuteValue = minute;
+        this.value = format(hour, minute);
+    }
+
+    /**
+     * Returns the shared instance for an hour and minute.
+     * 
+     * @param hour
+     *            Hour 0-24.
+     * @param minute
+     *            Minute 0-59.
+     * 
+     * @return Cached instance.
+     */
+    public static Hour of(final int hour, final int minute) {
+        requireValidHourMinute(hour, minute);
+        return CACHE[hour * 60 + minute];
+    }
+
+    /**
+     * Returns the shared instance for the minutes of a day.
+     * 
+     * @param minutes
+     *            Minutes of the day from 0 ('00:00') to 1440 ('24:00').
+     * 
+     * @return Cached instance.
+     */
+    public static Hour ofMinutes(final int minutes) {
+        Contract.requireArgMin("minutes", minutes, 0);
+        Contract.requireArgMax("minutes", minutes, MinuteMask.MINUTES_PER_DAY);
+        return CACHE[minutes];
     }
 
     @Override
     @NotEmpty
     public String asBaseType() {
-        if (hourValue < 10) {
-            if (minuteValue < 10) {
-                return "0" + hourValue + ":" + "0" + minuteValue;
-            }
-            return "0" + hourValue + ":" + minuteValue;
+        if (value == null) {
+            // Instance was created by the default constructor
+            return format(hourValue, minuteValue);
+        }
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return toMinutes();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
         }
-        if (minuteValue < 10) {
-            return hourValue + ":" + "0" + minuteValue;
+        if (getClass() != obj.getClass()) {
+            return false;
         }
-        return hourValue + ":" + minuteValue;
+        final Hour other = (Hour) obj;
+        return toMinutes() == other.toMinutes();
+    }
+
+    @Override
+    public int compareTo(final Hour other) {
+        return Integer.compare(toMinutes(), other.toMinutes());
+    }
+
+    /**
+     * Returns the length.
+     * 
+     * @return Number of characters.
+     */
+    public final int length() {
+        return asBaseType().length();
+    }
+
+    @Override
+    public final Class<String> getBaseType() {
+        return String.class;
+    }
+
+    @Override
+    public final String asString() {
+        return asBaseType();
     }
 
     @Override
@@ -150,7 +224,7 @@ public final class Hour extends AbstractStringValueObject {
         if (hour == null) {
             return true;
         }
-        return PATTERN.matcher(hour).matches();
+        return new OpeningHoursParser(hour).hour() >= 0;
     }
 
     /**
@@ -166,7 +240,41 @@ public final class Hour extends AbstractStringValueObject {
         if (str == null) {
             return null;
         }
-        return new Hour(str);
+        Contract.requireArgNotEmpty("hour", str);
+        return parse(new OpeningHoursParser(str));
+    }
+
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return Cached instance.
+     */
+    @Nullable
+    public static Hour valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return parse(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return Cached instance.
+     */
+    public static Hour valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return parse(new OpeningHoursParser(ascii, offset, length));
     }
 
     /**
@@ -185,10 +293,51 @@ public final class Hour extends AbstractStringValueObject {
         // CHECKSTYLE:ON
 
         if (!Hour.isValid(value)) {
-            throw new ConstraintViolationException(
-                    "The argument '" + name + "' does not represent a valid hour like '00:00' or '23:59' or '24:00': '" + value + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
         }
 
     }
 
+    private static Hour parse(final OpeningHoursParser parser) {
+        final int minutes = parser.hour();
+        if (minutes < 0) {
+            throw parser.exception(invalidMessage("hour", parser.text()));
+        }
+        return CACHE[minutes];
+    }
+
+    @Serial
+    private Object readResolve() {
+        return ofMinutes(toMinutes());
+    }
+
+    private static Hour[] createCache() {
+        final Hour[] hours = new Hour[MinuteMask.MINUTES_PER_DAY + 1];
+        for (int i = 0; i < hours.length; i++) {
+            hours[i] = new Hour(i / 60, i % 60);
+        }
+        return hours;
+    }
+
+    private static void requireValidHourMinute(final int hour, final int minute) {
+        if (hour < 0 || hour > 24) {
+            throw new ConstraintViolationException("The argument 'hour' is not a valid hour (0-24): '" + hour + "'");
+        }
+        if (minute < 0 || minute > 59) {
+            throw new ConstraintViolationException("The argument 'minute' is not a valid minute (0-59): '" + minute + "'");
+        }
+        if (hour == 24 && minute != 0) {
+            throw new ConstraintViolationException("The argument 'minute' must be '0' if the hour is '24': '" + minute + "'");
+        }
+    }
+
+    private static String format(final int hour, final int minute) {
+        return new String(new char[] { (char) ('0' + hour / 10), (char) ('0' + hour % 10), ':', (char) ('0' + minute / 10),
+                (char) ('0' + minute % 10) });
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent a valid hour like '00:00' or '23:59' or '24:00': '" + value + "'";
+    }
+
 }
@@ -54,6 +54,7 @@ import java.util.List;
 @Prompt("00:00-24:00")
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class HourRange extends AbstractStringValueObject {
 
     @Serial
@@ -81,18 +82,9 @@ public final class HourRange extends AbstractStringValueObject {
     public HourRange(@NotNull @HourRangeStr final String hourRange) {
         super();
         Contract.requireArgNotEmpty("hourRange", hourRange);
-        requireArgValid("hourRange", hourRange);
-        from = new Hour(hourRange.substring(0, 5));
-        to = new Hour(hourRange.substring(6));
-        if (from.equals(to)) {
-            throw new ConstraintViolationException("The argument 'from' of the hour range cannot be equal 'to': '" + hourRange + "'");
-        }
-        if (from.equals(new Hour(24, 0))) {
-            throw new ConstraintViolationException("The argument 'from' of the hour range cannot be '24:00'");
-        }
-        if (to.equals(new Hour(0, 0))) {
-            throw new ConstraintViolationException("The argument 'to' of the hour range cannot be '00:00'");
-        }
+        final HourRange range = parse(new OpeningHoursParser(hourRange));
+        from = range.from;
+        to = range.to;
     }
 
     /**
@@ -112,10 +104,10 @@ public final class HourRange extends AbstractStringValueObject {
         if (from.equals(to)) {
             throw new ConstraintViolationException("The argument 'from' of the hour range cannot be equal 'to': " + from);
         }
-        if (from.equals(new Hour(24, 0))) {
+        if (from.equals(Hour.of(24, 0))) {
             throw new ConstraintViolationException("The argument 'from' of the hour range cannot be '24:00'");
         }
-        if (to.equals(new Hour(0, 0))) {
+        if (to.equals(Hour.of(0, 0))) {
             throw new ConstraintViolationException("The argument 'to' of the hour range cannot be '00:00'");
         }
     }
@@ -156,17 +148,23 @@ public final class HourRange extends AbstractStringValueObject {
         ensureSingleDayOnly(this);
 
         final BitSet minutes = new BitSet(1440);
-        for (int i = from.toMinutes(); i < to.toMinutes(); i++) {
-            minutes.set(i);
-        }
+        minutes.set(from.toMinutes(), to.toMinutes());
         return minutes;
 
     }
 
-    private static void ensureSingleDayOnly(final HourRange range) {
-        final List<HourRange> list = range.normalize();
-        if (list.size() > 1) {
-            throw new IllegalArgumentException("Cannot convert an hour range to minutes that spans two days (" + list
+    /**
+     * Determines if the range ends on the next day. This is the case for a value like '18:00-03:00'.
+     *
+     * @return {@literal true} if 'from' is after 'to'.
+     */
+    final boolean spansTwoDays() {
+        return from.toMinutes() > to.toMinutes();
+    }
+
+    static void ensureSingleDayOnly(final HourRange range) {
+        if (range.spansTwoDays()) {
+            throw new IllegalArgumentException("Cannot convert an hour range to minutes that spans two days (" + range.normalize()
                     + ") - Please use 'normalize()' method and pass then the hour range per day to this method!");
         }
     }
@@ -213,9 +211,9 @@ public final class HourRange extends AbstractStringValueObject {
      */
     public final List<HourRange> normalize() {
         final List<HourRange> ranges = new ArrayList<>();
-        if (this.from.toMinutes() > this.to.toMinutes()) {
-            ranges.add(new HourRange(this.from, new Hour(24, 00)));
-            ranges.add(new HourRange(new Hour(0, 0), this.to));
+        if (spansTwoDays()) {
+            ranges.add(new HourRange(this.from, Hour.of(24, 0)));
+            ranges.add(new HourRange(Hour.of(0, 0), this.to));
         } else {
             ranges.add(this);
         }
@@ -229,8 +227,10 @@ public final class HourRange extends AbstractStringValueObject {
      * @return Minutes (1-1440)
      */
     public final int getOpenMinutes() {
-        final HourRange hr = normalize().get(0);
-        return hr.to.toMinutes() - hr.from.toMinutes();
+        if (spansTwoDays()) {
+            return 1440 - from.toMinutes();
+        }
+        return to.toMinutes() - from.toMinutes();
     }
 
     /**
@@ -254,10 +254,10 @@ public final class HourRange extends AbstractStringValueObject {
      */
     public HourRange joinWithNextDay(@NotNull final HourRange other) {
         Contract.requireArgNotNull("other", other);
-        if (!this.to.equals(new Hour(24, 0))) {
+        if (!this.to.equals(Hour.of(24, 0))) {
             throw new ConstraintViolationException("The 'to' hour value of this instance is not '24:00', but was: '" + this.to + "'");
         }
-        if (!other.from.equals(new Hour(0, 0))) {
+        if (!other.from.equals(Hour.of(0, 0))) {
             throw new ConstraintViolationException(
                     "The 'from' hour value of the other instance is not '00:00', but was: '" + other.from + "'");
         }
@@ -286,24 +286,7 @@ public final class HourRange extends AbstractStringValueObject {
         if (hourRange == null) {
             return true;
         }
-        final int p = hourRange.indexOf('-');
-        if (p != 5) {
-            return false;
-        }
-        final String fromStr = hourRange.substring(0, 5);
-        final String toStr = hourRange.substring(6);
-        if (!(Hour.isValid(fromStr) && Hour.isValid(toStr))) {
-            return false;
-        }
-        final Hour from = new Hour(fromStr);
-        final Hour to = new Hour(toStr);
-        if (from.equals(to)) {
-            return false;
-        }
-        if (from.equals(new Hour(24, 0))) {
-            return false;
-        }
-        return !to.equals(new Hour(0, 0));
+        return new OpeningHoursParser(hourRange).hourRange() != null;
     }
 
     /**
@@ -322,6 +305,39 @@ public final class HourRange extends AbstractStringValueObject {
         return new HourRange(str);
     }
 
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static HourRange valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return parse(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return New instance.
+     */
+    public static HourRange valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return parse(new OpeningHoursParser(ascii, offset, length));
+    }
+
     /**
      * Checks if the argument is valid and throws an exception if this is not the case.
      *
@@ -338,10 +354,21 @@ public final class HourRange extends AbstractStringValueObject {
         // CHECKSTYLE:ON
 
         if (!isValid(value)) {
-            throw new ConstraintViolationException("The argument '" + name
-                    + "' does not represent a valid hour range like '00:00-24:00' or '06:00-21:00': '" + value + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
         }
 
     }
 
+    private static HourRange parse(final OpeningHoursParser parser) {
+        final HourRange range = parser.hourRange();
+        if (range == null) {
+            throw parser.exception(invalidMessage("hourRange", parser.text()));
+        }
+        return range;
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent a valid hour range like '00:00-24:00' or '06:00-21:00': '" + value + "'";
+    }
+
 }
@@ -28,12 +28,13 @@ import org.fuin.objects4j.ui.Prompt;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.Serial;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.StringTokenizer;
 
 /**
  * Represents multiple ranges of hours of a day (24 hour representation) separated by a '+'.<br>
@@ -44,16 +45,26 @@ import java.util.StringTokenizer;
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod(method = "valueOf", param = String.class)
 @HasPublicStaticValueOfMethod(method = "valueOf", param = BitSet.class)
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class HourRanges extends AbstractStringValueObject implements Iterable<HourRange> {
 
     @Serial
     private static final long serialVersionUID = 1000L;
 
+    /** Optional cache used by {@link #valueOf(String)}. */
+    private static volatile ParseCache<HourRanges> cache;
+
     @NotEmpty
     private final List<HourRange> ranges;
 
     private final String value;
 
+    /** Open minutes of the first day (0 = 00:00 - 1439 = 23:59). */
+    private final long[] minutes;
+
+    /** Open minutes of the next day or {@literal null} if no range spans midnight. */
+    private final long[] nextDayMinutes;
+
     /**
      * Constructor with hour ranges string.
      * 
@@ -61,24 +72,7 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      *            Hour like '09:00-12:00+13:00-17:00'.
      */
     public HourRanges(@NotNull @HourRangesStr final String ranges) {
-        super();
-        Contract.requireArgNotEmpty("ranges", ranges);
-        requireArgValid("ranges", ranges);
-
-        this.ranges = new ArrayList<>();
-        int openMinutes = 0;
-        final StringTokenizer tok = new StringTokenizer(ranges, "+");
-        while (tok.hasMoreTokens()) {
-            final HourRange range = new HourRange(tok.nextToken());
-            openMinutes = openMinutes + range.getOpenMinutes();
-            this.ranges.add(range);
-        }
-        if (openMinutes > 1440) {
-            throw new ConstraintViolationException("The argument 'ranges' cannot contain more than 24 hours (1440 minutes)");
-        }
-
-        Collections.sort(this.ranges);
-        this.value = asStr(this.ranges);
+        this(parse(ranges));
     }
 
     /**
@@ -88,27 +82,45 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      *            Ranges.
      */
     public HourRanges(@NotEmpty final HourRange... ranges) {
-        super();
-        Contract.requireArgNotNull("ranges", ranges);
+        this(asList(ranges));
+    }
 
-        if (ranges.length == 0) {
-            throw new ConstraintViolationException("The argument 'hourRange' cannot be an empty array");
-        }
+    /**
+     * Constructor with a list of ranges.
+     * 
+     * @param ranges
+     *            Ranges without {@literal null} entries - The list will be sorted and kept by this instance.
+     */
+    HourRanges(final List<HourRange> ranges) {
+        super();
         int openMinutes = 0;
-        this.ranges = new ArrayList<>();
         for (final HourRange range : ranges) {
-            if (range != null) {
-                openMinutes = openMinutes + range.getOpenMinutes();
-                this.ranges.add(range);
-            }
+            openMinutes = openMinutes + range.getOpenMinutes();
         }
         if (openMinutes > 1440) {
             throw new ConstraintViolationException("The argument 'ranges' cannot contain more than 24 hours (1440 minutes)");
         }
-
-        Collections.sort(this.ranges);
+        Collections.sort(ranges);
+        this.ranges = ranges;
         this.value = asStr(this.ranges);
+        this.minutes = firstDayMinutes(this.ranges);
+        this.nextDayMinutes = nextDayMinutes(this.ranges);
+    }
 
+    /**
+     * Constructor with already validated and sorted ranges of a single day and the matching minutes.
+     * 
+     * @param ranges
+     *            Sorted ranges that do not span midnight.
+     * @param minutes
+     *            Minutes of the ranges (will not be copied).
+     */
+    private HourRanges(final List<HourRange> ranges, final long[] minutes) {
+        super();
+        this.ranges = ranges;
+        this.value = asStr(ranges);
+        this.minutes = minutes;
+        this.nextDayMinutes = null;
     }
 
     @Override
@@ -129,24 +141,26 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      * @return This range or range for today and tomorrow.
      */
     public final List<HourRanges> normalize() {
+        final List<HourRanges> list = new ArrayList<>();
+        if (nextDayMinutes == null) {
+            list.add(this);
+            return list;
+        }
         final List<HourRange> today = new ArrayList<>();
-        final List<HourRange> tommorrow = new ArrayList<>();
+        final List<HourRange> tomorrow = new ArrayList<>();
         for (final HourRange range : ranges) {
-            final List<HourRange> nr = range.normalize();
-            if (nr.size() == 1) {
+            if (range.spansTwoDays()) {
+                final List<HourRange> nr = range.normalize();
                 today.add(nr.get(0));
-            } else if (nr.size() == 2) {
-                today.add(nr.get(0));
-                tommorrow.add(nr.get(1));
+                tomorrow.add(nr.get(1));
             } else {
-                throw new IllegalStateException("Normalized hour range returned an unexpected number of elements: " + nr);
+                today.add(range);
             }
         }
-        final List<HourRanges> list = new ArrayList<>();
-        list.add(new HourRanges(today.toArray(new HourRange[0])));
-        if (!tommorrow.isEmpty()) {
-            list.add(new HourRanges(tommorrow.toArray(new HourRange[0])));
-        }
+        Collections.sort(today);
+        Collections.sort(tomorrow);
+        list.add(new HourRanges(today, minutes));
+        list.add(new HourRanges(tomorrow, nextDayMinutes));
         return list;
     }
 
@@ -157,7 +171,7 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      * @return {@literal true} if the time range overlaps into the next day.
      */
     public final boolean isNormalized() {
-        return normalize().size() == 1;
+        return nextDayMinutes == null;
     }
 
     /**
@@ -173,39 +187,25 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         ensureSingleDayOnly("from", this);
         ensureSingleDayOnly("to", toOther);
 
-        final BitSet thisMinutes = this.toMinutes();
-        final BitSet otherMinutes = toOther.toMinutes();
-
-        final BitSet addedMinutes = new BitSet(1440);
-        final BitSet removedMinutes = new BitSet(1440);
-        for (int i = 0; i < 1440; i++) {
-            if (thisMinutes.get(i) && !otherMinutes.get(i)) {
-                removedMinutes.set(i);
-            }
-            if (!thisMinutes.get(i) && otherMinutes.get(i)) {
-                addedMinutes.set(i);
-            }
-        }
-
         final List<Change> changes = new ArrayList<>();
-
-        if (!removedMinutes.isEmpty()) {
-            final HourRanges removed = HourRanges.valueOf(removedMinutes);
-            for (final HourRange hr : removed) {
-                changes.add(new Change(ChangeType.REMOVED, hr));
-            }
-        }
-        if (!addedMinutes.isEmpty()) {
-            final HourRanges added = HourRanges.valueOf(addedMinutes);
-            for (final HourRange hr : added) {
-                changes.add(new Change(ChangeType.ADDED, hr));
-            }
-        }
+        MinuteMask.forEachRun(this.minutes, toOther.minutes, 0, MinuteMask.MINUTES_PER_DAY,
+                (from, to) -> changes.add(new Change(ChangeType.REMOVED, rangeOf(from, to))));
+        MinuteMask.forEachRun(toOther.minutes, this.minutes, 0, MinuteMask.MINUTES_PER_DAY,
+                (from, to) -> changes.add(new Change(ChangeType.ADDED, rangeOf(from, to))));
 
         return changes;
 
     }
 
+    /**
+     * Returns the number of ranges.
+     * 
+     * @return Number of ranges.
+     */
+    final int size() {
+        return ranges.size();
+    }
+
     /**
      * Returns the ranges as a set of minutes. A value of {@literal false} means 'closed' and a value of {@literal true} means 'open'. It is
      * only allowed to call this method if the hour ranges represents only one day. This means a value like '18:00-03:00' will lead to an
@@ -216,13 +216,47 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      */
     public final BitSet toMinutes() {
         ensureSingleDayOnly("this", this);
+        return MinuteMask.toBitSet(minutes);
+    }
 
-        final BitSet minutes = new BitSet(1440);
-        for (final HourRange range : ranges) {
-            minutes.or(range.toMinutes());
+    /**
+     * Compiles the ranges into a compact bitmap. Other than {@link #toMinutes()} this also works for ranges that span midnight: The mask
+     * then covers two days and the minutes after midnight are part of the second day.
+     *
+     * @param resolution
+     *            Preferred number of minutes per bit - If a range does not start and end on a slot boundary, one bit per minute is used.
+     *
+     * @return Bitmap of one day (1440 minutes) or two days (2880 minutes).
+     */
+    @NotNull
+    public final SlotMask toSlotMask(@NotNull final SlotMask.Resolution resolution) {
+        Contract.requireArgNotNull("resolution", resolution);
+        if (nextDayMinutes == null) {
+            return SlotMask.valueOf(minutes, MinuteMask.MINUTES_PER_DAY, resolution);
         }
-        return minutes;
+        return SlotMask.valueOf(twoDayMinutes(), 2 * MinuteMask.MINUTES_PER_DAY, resolution);
+    }
 
+    /**
+     * Writes the ranges in a compact binary form. Each range needs about four bytes. Ranges that touch each other are written as one
+     * range.
+     *
+     * @param buffer
+     *            Buffer to write to.
+     */
+    public final void writeTo(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        OpeningHoursCodec.writeRuns(buffer, twoDayMinutes(), 2 * MinuteMask.MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the ranges in the compact binary form written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @return Bytes that can be converted back with {@link #fromBytes(byte[])}.
+     */
+    @NotNull
+    public final byte[] toBytes() {
+        return OpeningHoursCodec.toBytes(this::writeTo);
     }
 
     /**
@@ -234,10 +268,9 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      * @return {@literal true} if at least one minute is the same for both days.
      */
     public final boolean overlaps(@NotNull final HourRanges other) {
-        final BitSet thisMinutes = this.toMinutes();
-        final BitSet otherMinutes = other.toMinutes();
-        thisMinutes.and(otherMinutes);
-        return !thisMinutes.isEmpty();
+        ensureSingleDayOnly("this", this);
+        ensureSingleDayOnly("other", other);
+        return MinuteMask.intersects(this.minutes, other.minutes);
     }
 
     /**
@@ -255,12 +288,9 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
     public final boolean openAt(@NotNull final HourRange range) {
         Contract.requireArgNotNull("range", range);
         ensureSingleDayOnly("this", this);
+        HourRange.ensureSingleDayOnly(range);
 
-        final BitSet original = range.toMinutes();
-        final BitSet anded = range.toMinutes();
-        anded.and(this.toMinutes());
-
-        return anded.equals(original);
+        return MinuteMask.containsRange(minutes, range.getFrom().toMinutes(), range.getTo().toMinutes());
 
     }
 
@@ -282,11 +312,7 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         ensureSingleDayOnly("this", this);
         ensureSingleDayOnly("other", other);
 
-        final BitSet thisMinutes = this.toMinutes();
-        final BitSet otherMinutes = other.toMinutes();
-        thisMinutes.or(otherMinutes);
-
-        return HourRanges.valueOf(thisMinutes);
+        return HourRanges.valueOf(MinuteMask.or(this.minutes, other.minutes));
 
     }
 
@@ -308,16 +334,12 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         ensureSingleDayOnly("this", this);
         ensureSingleDayOnly("other", other);
 
-        final BitSet thisMinutes = this.toMinutes();
-        final BitSet otherMinutes = other.toMinutes();
-        otherMinutes.flip(0, 1440);
-        thisMinutes.and(otherMinutes);
-
-        if (thisMinutes.isEmpty()) {
+        final long[] remaining = MinuteMask.andNot(this.minutes, other.minutes);
+        if (MinuteMask.isEmpty(remaining)) {
             return null;
         }
 
-        return HourRanges.valueOf(thisMinutes);
+        return HourRanges.valueOf(remaining);
 
     }
 
@@ -331,7 +353,56 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
      * @return {@literal true} if both are similar.
      */
     public final boolean isSimilarTo(final HourRanges other) {
-        return this.compress().equals(other.compress());
+        return Arrays.equals(this.minutes, other.minutes) && Arrays.equals(this.nextDayMinutes, other.nextDayMinutes);
+    }
+
+    /**
+     * Finds the first window of the given length that is completely open. Hours that span midnight are taken into account, so the window
+     * may end on the next day. For example '09:00-12:00+13:00-17:00' has the first 2 hour window after 11:00 at 13:00 (minute 780).
+     * 
+     * @param lengthMinutes
+     *            Length of the window in minutes (1 or more).
+     * @param fromMinute
+     *            Earliest start of the window (0 = 00:00 - 1439 = 23:59).
+     * 
+     * @return Start of the window (0 = 00:00 - 1439 = 23:59) or {@literal -1} if there is no such window.
+     */
+    public final int findFreeSlot(final int lengthMinutes, final int fromMinute) {
+        Contract.requireArgMin("lengthMinutes", lengthMinutes, 1);
+        Contract.requireArgMin("fromMinute", fromMinute, 0);
+        Contract.requireArgMax("fromMinute", fromMinute, MinuteMask.MINUTES_PER_DAY - 1);
+        final int start = MinuteMask.nextSetBit(MinuteMask.runStarts(twoDayMinutes(), lengthMinutes), fromMinute);
+        if (start >= MinuteMask.MINUTES_PER_DAY) {
+            return -1;
+        }
+        return start;
+    }
+
+    /**
+     * Returns all open windows with at least the given length. Adjacent or overlapping ranges are joined. Hours that span midnight are
+     * taken into account, so a window may end on the next day.
+     * 
+     * @param minLengthMinutes
+     *            Minimal length of a window in minutes (1 or more).
+     * 
+     * @return Windows as minutes since 00:00 of this day in ascending order - The end is after 1440 if the window ends on the next day.
+     */
+    @NotNull
+    public final List<OpenInterval<Integer>> freeSlots(final int minLengthMinutes) {
+        Contract.requireArgMin("minLengthMinutes", minLengthMinutes, 1);
+        final List<OpenInterval<Integer>> slots = new ArrayList<>();
+        MinuteMask.forEachRun(twoDayMinutes(), minLengthMinutes, 0, MinuteMask.MINUTES_PER_DAY,
+                (from, to) -> slots.add(new OpenInterval<>(from, to)));
+        return slots;
+    }
+
+    private long[] twoDayMinutes() {
+        final long[] bits = new long[(2 * MinuteMask.MINUTES_PER_DAY + 63) >>> 6];
+        MinuteMask.orDay(bits, 0, minutes);
+        if (nextDayMinutes != null) {
+            MinuteMask.orDay(bits, MinuteMask.MINUTES_PER_DAY, nextDayMinutes);
+        }
+        return bits;
     }
 
     /**
@@ -342,9 +413,9 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
     public final HourRanges compress() {
         final List<HourRanges> normalized = normalize();
         if (normalized.size() == 1) {
-            return valueOf(normalized.get(0).toMinutes());
+            return valueOf(normalized.get(0).minutes);
         } else if (normalized.size() == 2) {
-            final HourRanges firstDay = valueOf(normalized.get(0).toMinutes());
+            final HourRanges firstDay = valueOf(normalized.get(0).minutes);
             final HourRanges secondDay = normalized.get(1);
             if (secondDay.ranges.size() != 1) {
                 throw new IllegalStateException(
@@ -387,8 +458,81 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         return sb.toString();
     }
 
+    /**
+     * Returns the open minutes of the first day. The returned array is the internal state of this instance and must not be changed.
+     * 
+     * @return Minutes of the first day (0 = 00:00 - 1439 = 23:59).
+     */
+    final long[] minutesMask() {
+        return minutes;
+    }
+
+    /**
+     * Returns the open minutes of the next day. The returned array is the internal state of this instance and must not be changed.
+     * 
+     * @return Minutes of the next day or {@literal null} if no range spans midnight.
+     */
+    @Nullable
+    final long[] nextDayMinutesMask() {
+        return nextDayMinutes;
+    }
+
+    private static List<HourRange> parse(final String ranges) {
+        Contract.requireArgNotEmpty("ranges", ranges);
+        return parse(new OpeningHoursParser(ranges));
+    }
+
+    private static List<HourRange> parse(final OpeningHoursParser parser) {
+        final List<HourRange> list = parser.hourRanges();
+        if (list == null) {
+            throw parser.exception(invalidMessage("ranges", parser.text()));
+        }
+        return list;
+    }
+
+    private static List<HourRange> asList(final HourRange... ranges) {
+        Contract.requireArgNotNull("ranges", ranges);
+        if (ranges.length == 0) {
+            throw new ConstraintViolationException("The argument 'hourRange' cannot be an empty array");
+        }
+        final List<HourRange> list = new ArrayList<>();
+        for (final HourRange range : ranges) {
+            if (range != null) {
+                list.add(range);
+            }
+        }
+        return list;
+    }
+
+    private static long[] firstDayMinutes(final List<HourRange> ranges) {
+        final long[] minutes = MinuteMask.day();
+        for (final HourRange range : ranges) {
+            final int from = range.getFrom().toMinutes();
+            final int to = range.getTo().toMinutes();
+            if (from < to) {
+                MinuteMask.set(minutes, from, to);
+            } else {
+                MinuteMask.set(minutes, from, MinuteMask.MINUTES_PER_DAY);
+            }
+        }
+        return minutes;
+    }
+
+    private static long[] nextDayMinutes(final List<HourRange> ranges) {
+        long[] minutes = null;
+        for (final HourRange range : ranges) {
+            if (range.spansTwoDays()) {
+                if (minutes == null) {
+                    minutes = MinuteMask.day();
+                }
+                MinuteMask.set(minutes, 0, range.getTo().toMinutes());
+            }
+        }
+        return minutes;
+    }
+
     private static void ensureSingleDayOnly(final String name, final HourRanges ranges) {
-        if (!ranges.isNormalized()) {
+        if (ranges.nextDayMinutes != null) {
             throw new ConstraintViolationException("The given hour ranges spans two days (" + name + "=" + ranges
                     + ") - Please use 'normalize()' method and pass then the hour ranges per day to this method!");
         }
@@ -406,17 +550,7 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         if (hourRanges == null) {
             return true;
         }
-        final StringTokenizer tok = new StringTokenizer(hourRanges, "+");
-        if (tok.countTokens() == 0) {
-            return false;
-        }
-        while (tok.hasMoreTokens()) {
-            final String rangeStr = tok.nextToken();
-            if (!HourRange.isValid(rangeStr)) {
-                return false;
-            }
-        }
-        return true;
+        return new OpeningHoursParser(hourRanges).hourRanges() != null;
     }
 
     /**
@@ -432,65 +566,171 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         if (str == null) {
             return null;
         }
+        final ParseCache<HourRanges> parseCache = cache;
+        if (parseCache != null) {
+            return parseCache.get(str);
+        }
         return new HourRanges(str);
     }
 
     /**
-     * Converts a given bit set with the minutes of the day into an instance of this class.
+     * Enables a cache for {@link #valueOf(String)} that returns the same instance for equal strings. An already enabled cache is replaced.
      * 
-     * @param minutes
-     *            Bitset representing the minutes of a single day (0 = 00:00 - 1439 = 23:59).
+     * @param maxSize
+     *            Maximum number of cached instances.
+     */
+    public static void enableCache(final int maxSize) {
+        cache = new ParseCache<>(maxSize, HourRanges::new);
+    }
+
+    /**
+     * Disables the cache for {@link #valueOf(String)}.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache used by {@link #valueOf(String)}.
      * 
-     * @return New instance.
+     * @return Cache or {@literal null} if caching is not enabled.
      */
-    public static HourRanges valueOf(@Nullable final BitSet minutes) {
-        return valueOf(minutes, 1440);
+    @Nullable
+    public static ParseCache<HourRanges> getCache() {
+        return cache;
     }
 
-    private static HourRanges valueOf(@Nullable final BitSet minutes, final int max) {
-        if (minutes == null) {
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static HourRanges valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
             return null;
         }
+        return new HourRanges(parse(new OpeningHoursParser(text)));
+    }
 
-        if (minutes.length() > max) {
-            throw new IllegalArgumentException("Expected bitset length of max. 1440, but was " + minutes.length() + ": " + minutes);
-        }
-
-        Integer startHour = null;
-        Integer startMinute = null;
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return New instance.
+     */
+    public static HourRanges valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return new HourRanges(parse(new OpeningHoursParser(ascii, offset, length)));
+    }
 
+    /**
+     * Reads ranges written by {@link #writeTo(ByteBuffer)}. The result is open at exactly the same minutes as the written instance and
+     * equal to it if no ranges touch each other.
+     *
+     * @param buffer
+     *            Buffer to read from.
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public static HourRanges readFrom(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        final long[] minutes = OpeningHoursCodec.readRuns(buffer, 2 * MinuteMask.MINUTES_PER_DAY);
         final List<HourRange> ranges = new ArrayList<>();
-        for (int i = 0; i < max; i++) {
-            if (minutes.get(i)) {
-                if (startHour == null) {
-                    startHour = (i / 60);
-                    startMinute = i - (startHour * 60);
-                }
+        int from = MinuteMask.nextSetBit(minutes, 0);
+        while (from >= 0) {
+            final int to = MinuteMask.nextClearBit(minutes, from);
+            if (to <= MinuteMask.MINUTES_PER_DAY) {
+                ranges.add(rangeOf(from, to));
+            } else if (from < MinuteMask.MINUTES_PER_DAY && to - MinuteMask.MINUTES_PER_DAY < from) {
+                ranges.add(rangeOf(from, to - MinuteMask.MINUTES_PER_DAY));
             } else {
-                if (startHour != null) {
-                    ranges.add(createHourRange(startHour, startMinute, i));
-                    startHour = null;
-                    startMinute = 0;
-                }
+                throw new ConstraintViolationException("Invalid range of minutes: " + from + "-" + to);
             }
+            from = MinuteMask.nextSetBit(minutes, to);
         }
-        if (startHour != null) {
-            ranges.add(createHourRange(startHour, startMinute, minutes.length()));
+        if (ranges.isEmpty()) {
+            throw new ConstraintViolationException("Expected at least one range, but there was none");
         }
+        return new HourRanges(ranges);
+    }
 
-        return new HourRanges(ranges.toArray(new HourRange[0]));
+    /**
+     * Converts bytes created with {@link #toBytes()} into an instance of this class.
+     *
+     * @param bytes
+     *            Bytes to convert.
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public static HourRanges fromBytes(@NotNull final byte[] bytes) {
+        Contract.requireArgNotNull("bytes", bytes);
+        return OpeningHoursCodec.fromBytes(bytes, HourRanges::readFrom);
+    }
 
+    /**
+     * Converts a given bit set with the minutes of the day into an instance of this class.
+     * 
+     * @param minutes
+     *            Bitset representing the minutes of a single day (0 = 00:00 - 1439 = 23:59).
+     * 
+     * @return New instance.
+     */
+    public static HourRanges valueOf(@Nullable final BitSet minutes) {
+        if (minutes == null) {
+            return null;
+        }
+        if (minutes.length() > MinuteMask.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Expected bitset length of max. 1440, but was " + minutes.length() + ": " + minutes);
+        }
+        return valueOf(MinuteMask.valueOf(minutes, MinuteMask.DAY_WORDS));
     }
 
-    private static HourRange createHourRange(final int startHour, final int startMinute, final int minute) {
-        final int endHour = (minute / 60);
-        final int endMinute;
-        if (endHour == 24) {
-            endMinute = 0;
-        } else {
-            endMinute = minute - (endHour * 60);
+    /**
+     * Converts the minutes of a single day into an instance of this class. Each run of set minutes becomes one hour range.
+     * 
+     * @param minutes
+     *            Minutes of a single day with at least one minute set (will not be copied).
+     * 
+     * @return New instance.
+     */
+    static HourRanges valueOf(@NotNull final long[] minutes) {
+        final List<HourRange> ranges = new ArrayList<>();
+        int from = MinuteMask.nextSetBit(minutes, 0);
+        while (from >= 0) {
+            final int to = MinuteMask.nextClearBit(minutes, from);
+            ranges.add(rangeOf(from, to));
+            from = MinuteMask.nextSetBit(minutes, to);
         }
-        return new HourRange(new Hour(startHour, startMinute), new Hour(endHour, endMinute));
+        if (ranges.isEmpty()) {
+            throw new ConstraintViolationException("The argument 'minutes' cannot be empty");
+        }
+        return new HourRanges(ranges, minutes);
+    }
+
+    /**
+     * Creates a range from minutes of a day.
+     * 
+     * @param from
+     *            First minute (inclusive).
+     * @param to
+     *            Last minute (exclusive) - May be 1440 for '24:00'.
+     * 
+     * @return New range.
+     */
+    static HourRange rangeOf(final int from, final int to) {
+        return new HourRange(Hour.ofMinutes(from), Hour.ofMinutes(to));
     }
 
     /**
@@ -509,12 +749,15 @@ public final class HourRanges extends AbstractStringValueObject implements Itera
         // CHECKSTYLE:ON
 
         if (!isValid(value)) {
-            throw new ConstraintViolationException(
-                    "The argument '" + name + "' does not represent a valid hour range like '09:00-12:00+13:00-17:00': '" + value + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
         }
 
     }
 
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent a valid hour range like '09:00-12:00+13:00-17:00': '" + value + "'";
+    }
+
     /**
      * Types of changes.
      */
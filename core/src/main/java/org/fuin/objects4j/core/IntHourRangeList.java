@@ -0,0 +1,533 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Sorted list of hour ranges where each range is packed into a single integer ({@code from << 16 | to}) with 'from' and 'to' as minutes
+ * of the day. A range with 'to' before 'from' (like '18:00-03:00') ends on the next day. This is a compact alternative to
+ * {@link HourRanges} for processing a large number of ranges without creating {@link HourRange} and {@link Hour} objects. The ranges are
+ * kept exactly as given (only sorted), so converting from and to {@link HourRanges} does not lose any information.
+ */
+@Immutable
+public final class IntHourRangeList implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    /** List without any ranges. */
+    public static final IntHourRangeList EMPTY = new IntHourRangeList(new int[0]);
+
+    private static final int MASK = 0xFFFF;
+
+    private final int[] ranges;
+
+    /** No range overlaps the next one, so a minute can only be within the last range starting at or before it. */
+    private final boolean disjoint;
+
+    private IntHourRangeList(final int[] ranges) {
+        super();
+        this.ranges = ranges;
+        this.disjoint = disjoint(ranges);
+    }
+
+    /**
+     * Packs a range into a single integer.
+     *
+     * @param from
+     *            First minute of the day (0-1439).
+     * @param to
+     *            Last minute of the day exclusive (1-1440) - May be before 'from' if the range ends on the next day.
+     *
+     * @return Packed range.
+     */
+    public static int pack(final int from, final int to) {
+        if (from < 0 || from >= MinuteMask.MINUTES_PER_DAY) {
+            throw new ConstraintViolationException("The argument 'from' is not a valid minute (0-1439): " + from);
+        }
+        if (to < 1 || to > MinuteMask.MINUTES_PER_DAY) {
+            throw new ConstraintViolationException("The argument 'to' is not a valid minute (1-1440): " + to);
+        }
+        if (from == to) {
+            throw new ConstraintViolationException("The argument 'from' cannot be equal 'to': " + from);
+        }
+        return (from << 16) | to;
+    }
+
+    /**
+     * Returns the start of a packed range.
+     *
+     * @param range
+     *            Packed range.
+     *
+     * @return First minute of the day (inclusive).
+     */
+    public static int fromOf(final int range) {
+        return range >>> 16;
+    }
+
+    /**
+     * Returns the end of a packed range.
+     *
+     * @param range
+     *            Packed range.
+     *
+     * @return Last minute of the day (exclusive).
+     */
+    public static int toOf(final int range) {
+        return range & MASK;
+    }
+
+    /**
+     * Creates a list from packed ranges.
+     *
+     * @param ranges
+     *            Packed ranges created with {@link #pack(int, int)} - The array will be copied.
+     *
+     * @return New sorted list.
+     */
+    public static IntHourRangeList of(@NotNull final int... ranges) {
+        Contract.requireArgNotNull("ranges", ranges);
+        final int[] copy = ranges.clone();
+        for (final int range : copy) {
+            pack(fromOf(range), toOf(range));
+        }
+        Arrays.sort(copy);
+        return new IntHourRangeList(copy);
+    }
+
+    /**
+     * Creates a list from hour ranges.
+     *
+     * @param hourRanges
+     *            Hour ranges to convert.
+     *
+     * @return List with the same ranges.
+     */
+    @Nullable
+    public static IntHourRangeList valueOf(@Nullable final HourRanges hourRanges) {
+        if (hourRanges == null) {
+            return null;
+        }
+        final int[] packed = new int[hourRanges.size()];
+        int i = 0;
+        for (final HourRange range : hourRanges) {
+            packed[i++] = (range.getFrom().toMinutes() << 16) | range.getTo().toMinutes();
+        }
+        Arrays.sort(packed);
+        return new IntHourRangeList(packed);
+    }
+
+    /**
+     * Converts this list into hour ranges.
+     *
+     * @return Hour ranges with the same ranges or {@literal null} if this list is empty.
+     */
+    @Nullable
+    public HourRanges toHourRanges() {
+        if (ranges.length == 0) {
+            return null;
+        }
+        final List<HourRange> list = new ArrayList<>(ranges.length);
+        for (final int range : ranges) {
+            list.add(HourRanges.rangeOf(fromOf(range), toOf(range)));
+        }
+        return new HourRanges(list);
+    }
+
+    /**
+     * Returns the number of ranges.
+     *
+     * @return Size of the list.
+     */
+    public int size() {
+        return ranges.length;
+    }
+
+    /**
+     * Determines if the list has no ranges.
+     *
+     * @return {@literal true} if the list is empty.
+     */
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    /**
+     * Returns a packed range.
+     *
+     * @param index
+     *            Index of the range.
+     *
+     * @return Packed range.
+     */
+    public int get(final int index) {
+        return ranges[index];
+    }
+
+    /**
+     * Returns the start of a range.
+     *
+     * @param index
+     *            Index of the range.
+     *
+     * @return First minute of the day (inclusive).
+     */
+    public int getFrom(final int index) {
+        return fromOf(ranges[index]);
+    }
+
+    /**
+     * Returns the end of a range.
+     *
+     * @param index
+     *            Index of the range.
+     *
+     * @return Last minute of the day (exclusive).
+     */
+    public int getTo(final int index) {
+        return toOf(ranges[index]);
+    }
+
+    /**
+     * Returns a copy of the packed ranges.
+     *
+     * @return Sorted packed ranges.
+     */
+    public int[] toArray() {
+        return ranges.clone();
+    }
+
+    /**
+     * Returns the packed ranges as stream.
+     *
+     * @return Sorted packed ranges.
+     */
+    public IntStream stream() {
+        return Arrays.stream(ranges);
+    }
+
+    /**
+     * Calls the consumer for all ranges in ascending order.
+     *
+     * @param consumer
+     *            Consumer that receives 'from' (inclusive) and 'to' (exclusive) of each range.
+     */
+    public void forEach(@NotNull final RangeConsumer consumer) {
+        Contract.requireArgNotNull("consumer", consumer);
+        for (final int range : ranges) {
+            consumer.accept(fromOf(range), toOf(range));
+        }
+    }
+
+    /**
+     * Determines if this list contains logically more than one day. For example '18:00-03:00' will return {@literal false} while
+     * '00:00-24:00' will not.
+     *
+     * @return {@literal true} if no range overlaps into the next day.
+     */
+    public boolean isNormalized() {
+        for (final int range : ranges) {
+            if (spansTwoDays(range)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * If the list contains ranges that end on the next day, this method returns two lists, one for each day. Example:
+     * '09:00-14:00+18:00-03:00' will be splitted into '09:00-14:00+18:00-24:00' and '00:00-03:00'.
+     *
+     * @return This list or a list for today and one for tomorrow.
+     */
+    public List<IntHourRangeList> normalize() {
+        final List<IntHourRangeList> list = new ArrayList<>(2);
+        int count = 0;
+        for (final int range : ranges) {
+            if (spansTwoDays(range)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            list.add(this);
+            return list;
+        }
+        final int[] today = new int[ranges.length];
+        final int[] tomorrow = new int[count];
+        int j = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            final int range = ranges[i];
+            if (spansTwoDays(range)) {
+                today[i] = (fromOf(range) << 16) | MinuteMask.MINUTES_PER_DAY;
+                tomorrow[j++] = toOf(range);
+            } else {
+                today[i] = range;
+            }
+        }
+        Arrays.sort(today);
+        Arrays.sort(tomorrow);
+        list.add(new IntHourRangeList(today));
+        list.add(new IntHourRangeList(tomorrow));
+        return list;
+    }
+
+    /**
+     * Returns a list where overlapping and adjacent ranges are joined. Example: '09:00-12:00+11:00-13:00+13:00-14:00' will be
+     * '09:00-14:00'.<br>
+     * <br>
+     * It is only allowed to call this method if the list represents only one day. To avoid this, call the {@link #normalize()} function
+     * before this one.
+     *
+     * @return Merged list or this instance if nothing was merged.
+     */
+    public IntHourRangeList merge() {
+        ensureSingleDayOnly("this", this);
+        if (ranges.length < 2) {
+            return this;
+        }
+        final int[] merged = new int[ranges.length];
+        int count = 0;
+        int from = fromOf(ranges[0]);
+        int to = toOf(ranges[0]);
+        for (int i = 1; i < ranges.length; i++) {
+            final int range = ranges[i];
+            if (fromOf(range) <= to) {
+                to = Math.max(to, toOf(range));
+            } else {
+                merged[count++] = (from << 16) | to;
+                from = fromOf(range);
+                to = toOf(range);
+            }
+        }
+        merged[count++] = (from << 16) | to;
+        if (count == ranges.length) {
+            return this;
+        }
+        return new IntHourRangeList(Arrays.copyOf(merged, count));
+    }
+
+    /**
+     * Determines if at least one minute of this list is also in the other list. The runtime is linear in the size of both lists.<br>
+     * <br>
+     * It is only allowed to call this method if both lists represent only one day. To avoid this, call the {@link #normalize()} function
+     * before this one.
+     *
+     * @param other
+     *            List to compare with.
+     *
+     * @return {@literal true} if both lists overlap.
+     */
+    public boolean overlaps(@NotNull final IntHourRangeList other) {
+        Contract.requireArgNotNull("other", other);
+        ensureSingleDayOnly("this", this);
+        ensureSingleDayOnly("other", other);
+
+        // Sweep both lists ordered by 'from' and remember the end of all ranges seen so far
+        int thisEnd = 0;
+        int otherEnd = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ranges.length && j < other.ranges.length) {
+            final int a = ranges[i];
+            final int b = other.ranges[j];
+            if (a <= b) {
+                if (fromOf(a) < otherEnd) {
+                    return true;
+                }
+                thisEnd = Math.max(thisEnd, toOf(a));
+                i++;
+            } else {
+                if (fromOf(b) < thisEnd) {
+                    return true;
+                }
+                otherEnd = Math.max(otherEnd, toOf(b));
+                j++;
+            }
+        }
+        if (i < ranges.length) {
+            return fromOf(ranges[i]) < otherEnd;
+        }
+        return j < other.ranges.length && fromOf(other.ranges[j]) < thisEnd;
+    }
+
+    /**
+     * Determines if a minute is within one of the ranges. Ranges that end on the next day contain the minutes until midnight. The runtime
+     * is logarithmic for lists without overlapping ranges (like the result of {@link #merge()}) and linear otherwise.
+     *
+     * @param minute
+     *            Minute of the day (0-1439).
+     *
+     * @return {@literal true} if the minute is within a range.
+     */
+    public boolean contains(final int minute) {
+        Contract.requireArgMin("minute", minute, 0);
+        Contract.requireArgMax("minute", minute, MinuteMask.MINUTES_PER_DAY - 1);
+        final int idx = lastIndexStartingAtOrBefore(minute);
+        if (disjoint) {
+            return idx >= 0 && end(ranges[idx]) > minute;
+        }
+        for (int i = idx; i >= 0; i--) {
+            if (end(ranges[i]) > minute) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if all minutes of a time range are within the ranges of this list. The range may be covered by multiple adjacent or
+     * overlapping ranges.<br>
+     * <br>
+     * It is only allowed to call this method if the list represents only one day. To avoid this, call the {@link #normalize()} function
+     * before this one.
+     *
+     * @param from
+     *            First minute (inclusive).
+     * @param to
+     *            Last minute (exclusive) - May be 1440 for '24:00'.
+     *
+     * @return {@literal true} if the complete range is covered.
+     */
+    public boolean containsRange(final int from, final int to) {
+        ensureSingleDayOnly("this", this);
+        final int range = pack(from, to);
+        if (spansTwoDays(range)) {
+            throw new ConstraintViolationException("The range cannot span two days: " + format(range));
+        }
+        int covered = from;
+        for (final int r : ranges) {
+            if (fromOf(r) > covered) {
+                return false;
+            }
+            covered = Math.max(covered, toOf(r));
+            if (covered >= to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final IntHourRangeList other = (IntHourRangeList) obj;
+        return Arrays.equals(ranges, other.ranges);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(ranges.length * 12);
+        for (int i = 0; i < ranges.length; i++) {
+            if (i > 0) {
+                sb.append('+');
+            }
+            sb.append(format(ranges[i]));
+        }
+        return sb.toString();
+    }
+
+    private int lastIndexStartingAtOrBefore(final int minute) {
+        int low = 0;
+        int high = ranges.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (fromOf(ranges[mid]) <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static boolean disjoint(final int[] ranges) {
+        for (int i = 1; i < ranges.length; i++) {
+            if (end(ranges[i - 1]) > fromOf(ranges[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int end(final int range) {
+        if (spansTwoDays(range)) {
+            return MinuteMask.MINUTES_PER_DAY;
+        }
+        return toOf(range);
+    }
+
+    private static boolean spansTwoDays(final int range) {
+        return fromOf(range) > toOf(range);
+    }
+
+    private static String format(final int range) {
+        return Hour.ofMinutes(fromOf(range)) + "-" + Hour.ofMinutes(toOf(range));
+    }
+
+    private static void ensureSingleDayOnly(final String name, final IntHourRangeList list) {
+        if (!list.isNormalized()) {
+            throw new ConstraintViolationException("The given hour ranges spans two days (" + name + "=" + list
+                    + ") - Please use 'normalize()' method and pass then the hour ranges per day to this method!");
+        }
+    }
+
+    /**
+     * Receives a single range.
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+
+        /**
+         * Accepts a range.
+         *
+         * @param from
+         *            First minute of the day (inclusive).
+         * @param to
+         *            Last minute of the day (exclusive).
+         */
+        void accept(int from, int to);
+
+    }
+
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+import org.fuin.objects4j.core.SlotMask.Resolution;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Read only store for a large number of {@link WeeklyOpeningHours} in a memory mapped file. Opening a store only maps the file, so nothing
+ * is loaded on the heap and the operating system pages the data in when it is used. Each entry has a fixed size record at the position of
+ * its ordinal (0 - size-1), so {@link #isOpenAt(int, LocalDateTime)} reads a single long directly from the mapped file. An instance of
+ * {@link WeeklyOpeningHours} is only created when {@link #get(int)} is called.<br>
+ * <br>
+ * A record contains the open times with a resolution of 15 minutes (see {@link SlotMask}). Opening hours that do not fit into quarter
+ * hours are stored with one bit per minute in an extra area at the end of the records. The ids are stored in the same file together with
+ * their ordinals sorted by id, so {@link #ordinalOf(String)} is a binary search on the mapped file. Files larger than 2 GB are not
+ * supported.
+ */
+@ThreadSafe
+public final class MappedOpeningHoursStore {
+
+    /** 'OHMS' - Opening Hours Mapped Store. */
+    private static final int MAGIC = 0x4F484D53;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int WEEK_LENGTH = MinuteMask.DAYS * MinuteMask.MINUTES_PER_DAY;
+
+    private static final int SLOT_MINUTES = Resolution.FIFTEEN_MINUTES.getMinutes();
+
+    private static final int SLOT_WORDS = (WEEK_LENGTH / SLOT_MINUTES + 63) >>> 6;
+
+    /** First long of a record: Zero for quarter hour slots or the index of the minutes in the overflow area plus one. */
+    private static final int RECORD_BYTES = (1 + SLOT_WORDS) * 8;
+
+    private static final int OVERFLOW_BYTES = MinuteMask.WEEK_WORDS * 8;
+
+    private final File file;
+
+    private final MappedByteBuffer buffer;
+
+    private final int size;
+
+    private final int overflowOffset;
+
+    private final int idOffsetsOffset;
+
+    private final int sortedOrdinalsOffset;
+
+    private final int idBytesOffset;
+
+    private MappedOpeningHoursStore(final File file, final MappedByteBuffer buffer) throws IOException {
+        super();
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening hours store: " + file);
+        }
+        final int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Expected version " + VERSION + ", but was " + version + ": " + file);
+        }
+        this.size = buffer.getInt(8);
+        final int overflowCount = buffer.getInt(12);
+        final long ids = HEADER_BYTES + (long) size * RECORD_BYTES + (long) overflowCount * OVERFLOW_BYTES;
+        final long idBytes = ids + (long) size * 8 + 4;
+        if (size < 0 || overflowCount < 0 || idBytes > buffer.capacity()
+                || idBytes + buffer.getInt((int) ids + size * 4) != buffer.capacity()) {
+            throw new IOException("Corrupt opening hours store: " + file);
+        }
+        this.overflowOffset = HEADER_BYTES + size * RECORD_BYTES;
+        this.idOffsetsOffset = (int) ids;
+        this.sortedOrdinalsOffset = idOffsetsOffset + (size + 1) * 4;
+        this.idBytesOffset = (int) idBytes;
+    }
+
+    /**
+     * Writes opening hours into a new file. The ordinals are assigned in the iteration order of the map.
+     *
+     * @param file
+     *            File to create or overwrite.
+     * @param openingHours
+     *            Opening hours by id.
+     *
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public static void write(@NotNull final File file, @NotNull final Map<String, WeeklyOpeningHours> openingHours) throws IOException {
+        Contract.requireArgNotNull("file", file);
+        Contract.requireArgNotNull("openingHours", openingHours);
+
+        final int size = openingHours.size();
+        final byte[][] ids = new byte[size][];
+        final SlotMask[] masks = new SlotMask[size];
+        long idLength = 0;
+        int overflowCount = 0;
+        int ordinal = 0;
+        for (final Map.Entry<String, WeeklyOpeningHours> entry : openingHours.entrySet()) {
+            Contract.requireArgNotNull("id", entry.getKey());
+            Contract.requireArgNotNull("openingHours[" + entry.getKey() + "]", entry.getValue());
+            ids[ordinal] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            idLength = idLength + ids[ordinal].length;
+            masks[ordinal] = entry.getValue().toSlotMask(Resolution.FIFTEEN_MINUTES);
+            if (masks[ordinal].getResolution() != Resolution.FIFTEEN_MINUTES) {
+                overflowCount++;
+            }
+            ordinal++;
+        }
+        final long total = HEADER_BYTES + (long) size * (RECORD_BYTES + 8) + (long) overflowCount * OVERFLOW_BYTES + 4 + idLength;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("The store would be larger than 2 GB: " + total + " bytes");
+        }
+
+        final Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> Arrays.compareUnsigned(ids[a], ids[b]));
+        for (int i = 1; i < size; i++) {
+            if (Arrays.equals(ids[sorted[i - 1]], ids[sorted[i]])) {
+                final String id = new String(ids[sorted[i]], StandardCharsets.UTF_8);
+                throw new ConstraintViolationException("The UTF-8 encoded ids must be unique, but found duplicate: '" + id + "'");
+            }
+        }
+
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(overflowCount);
+            out.write(new byte[HEADER_BYTES - 16]);
+
+            int overflow = 0;
+            for (final SlotMask mask : masks) {
+                if (mask.getResolution() == Resolution.FIFTEEN_MINUTES) {
+                    out.writeLong(0);
+                    for (final long word : mask.slots()) {
+                        out.writeLong(word);
+                    }
+                } else {
+                    overflow++;
+                    out.writeLong(overflow);
+                    out.write(new byte[SLOT_WORDS * 8]);
+                }
+            }
+            for (final SlotMask mask : masks) {
+                if (mask.getResolution() != Resolution.FIFTEEN_MINUTES) {
+                    for (final long word : mask.slots()) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+
+            int offset = 0;
+            for (final byte[] id : ids) {
+                out.writeInt(offset);
+                offset = offset + id.length;
+            }
+            out.writeInt(offset);
+            for (final Integer i : sorted) {
+                out.writeInt(i);
+            }
+            for (final byte[] id : ids) {
+                out.write(id);
+            }
+        }
+    }
+
+    /**
+     * Maps an existing file into memory.
+     *
+     * @param file
+     *            File created with {@link #write(File, Map)}.
+     *
+     * @return Store that reads from the file.
+     *
+     * @throws IOException
+     *             Error mapping the file or the file is not a valid store.
+     */
+    @NotNull
+    public static MappedOpeningHoursStore open(@NotNull final File file) throws IOException {
+        Contract.requireArgNotNull("file", file);
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r"); final FileChannel channel = raf.getChannel()) {
+            final long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Files larger than 2 GB are not supported: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedOpeningHoursStore(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return Number of opening hours in the store.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ordinal of an id.
+     *
+     * @param id
+     *            Id to find.
+     *
+     * @return Ordinal (0 - size-1) or {@literal -1} if the id is unknown.
+     */
+    public int ordinalOf(@NotNull final String id) {
+        Contract.requireArgNotNull("id", id);
+        final byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int ordinal = buffer.getInt(sortedOrdinalsOffset + middle * 4);
+            final int cmp = compareId(ordinal, key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the id of an ordinal.
+     *
+     * @param ordinal
+     *            Ordinal of the entry (0 - size-1).
+     *
+     * @return Id.
+     */
+    @NotNull
+    public String idOf(final int ordinal) {
+        requireOrdinal(ordinal);
+        final int from = buffer.getInt(idOffsetsOffset + ordinal * 4);
+        final int to = buffer.getInt(idOffsetsOffset + ordinal * 4 + 4);
+        final byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(idBytesOffset + from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Determines if an entry is open at the given date and time. Seconds and public holidays are ignored. Nothing is copied from the mapped
+     * file.
+     *
+     * @param ordinal
+     *            Ordinal of the entry (0 - size-1).
+     * @param dateTime
+     *            Date and time to verify.
+     *
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(final int ordinal, @NotNull final LocalDateTime dateTime) {
+        requireOrdinal(ordinal);
+        Contract.requireArgNotNull("dateTime", dateTime);
+        final int minute = WeeklyOpeningHours.minuteOfWeek(dateTime);
+        final int record = HEADER_BYTES + ordinal * RECORD_BYTES;
+        final long overflow = buffer.getLong(record);
+        final int bit;
+        final long word;
+        if (overflow == 0) {
+            bit = minute / SLOT_MINUTES;
+            word = buffer.getLong(record + 8 + (bit >>> 6) * 8);
+        } else {
+            bit = minute;
+            word = buffer.getLong(overflowOffset + (int) (overflow - 1) * OVERFLOW_BYTES + (bit >>> 6) * 8);
+        }
+        return (word & (1L << bit)) != 0;
+    }
+
+    /**
+     * Determines if an entry is open at the given date and time. Seconds and public holidays are ignored.
+     *
+     * @param id
+     *            Id of the entry.
+     * @param dateTime
+     *            Date and time to verify.
+     *
+     * @return {@literal true} if open else {@literal false} if not open or if the id is unknown.
+     */
+    public boolean isOpenAt(@NotNull final String id, @NotNull final LocalDateTime dateTime) {
+        final int ordinal = ordinalOf(id);
+        if (ordinal < 0) {
+            return false;
+        }
+        return isOpenAt(ordinal, dateTime);
+    }
+
+    /**
+     * Creates the opening hours of an entry. The result is compressed, so days with the same hours are grouped.
+     *
+     * @param ordinal
+     *            Ordinal of the entry (0 - size-1).
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public WeeklyOpeningHours get(final int ordinal) {
+        requireOrdinal(ordinal);
+        final int record = HEADER_BYTES + ordinal * RECORD_BYTES;
+        final long overflow = buffer.getLong(record);
+        final SlotMask mask;
+        if (overflow == 0) {
+            mask = new SlotMask(Resolution.FIFTEEN_MINUTES, WEEK_LENGTH, readLongs(record + 8, SLOT_WORDS));
+        } else {
+            mask = new SlotMask(Resolution.MINUTE, WEEK_LENGTH,
+                    readLongs(overflowOffset + (int) (overflow - 1) * OVERFLOW_BYTES, MinuteMask.WEEK_WORDS));
+        }
+        return mask.toWeeklyOpeningHours();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedOpeningHoursStore [file=" + file + ", size=" + size + "]";
+    }
+
+    private long[] readLongs(final int offset, final int count) {
+        final long[] words = new long[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = buffer.getLong(offset + i * 8);
+        }
+        return words;
+    }
+
+    private int compareId(final int ordinal, final byte[] key) {
+        final int from = idBytesOffset + buffer.getInt(idOffsetsOffset + ordinal * 4);
+        final int length = buffer.getInt(idOffsetsOffset + ordinal * 4 + 4) - buffer.getInt(idOffsetsOffset + ordinal * 4);
+        final int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            final int cmp = Integer.compare(buffer.get(from + i) & 0xFF, key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private void requireOrdinal(final int ordinal) {
+        Contract.requireArgMin("ordinal", ordinal, 0);
+        Contract.requireArgMax("ordinal", ordinal, size - 1);
+    }
+
+}
@@ -0,0 +1,625 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Operations on minutes packed into a {@literal long} array. Minute 'i' is stored in bit 'i % 64' of word 'i / 64', which is the same
+ * layout that {@link BitSet#toLongArray()} uses. All operations work on whole words instead of single bits.
+ */
+final class MinuteMask {
+
+    /** Number of minutes of a day. */
+    static final int MINUTES_PER_DAY = 1440;
+
+    /** Number of words required to store the minutes of a single day. */
+    static final int DAY_WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+
+    /** Number of days of a week including the public holiday ('Mon'-'Sun' plus 'PH'). */
+    static final int DAYS = 8;
+
+    /** Number of minutes from Monday 00:00 to Sunday 24:00. */
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    /** Number of words required to store the minutes of all days including the public holiday. */
+    static final int WEEK_WORDS = (DAYS * MINUTES_PER_DAY + 63) >>> 6;
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private static final long ALL = 0xFFFFFFFFFFFFFFFFL;
+
+    private MinuteMask() {
+        throw new UnsupportedOperationException("It's not allowed to create an instance of this utility class");
+    }
+
+    /**
+     * Creates an empty mask for a single day.
+     *
+     * @return New mask with all minutes 'closed'.
+     */
+    static long[] day() {
+        return new long[DAY_WORDS];
+    }
+
+    /**
+     * Sets all minutes in the given range.
+     *
+     * @param bits
+     *            Mask to change.
+     * @param from
+     *            First minute (inclusive).
+     * @param to
+     *            Last minute (exclusive).
+     */
+    static void set(final long[] bits, final int from, final int to) {
+        if (from >= to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        final long firstMask = ALL << from;
+        final long lastMask = ALL >>> -to;
+        if (first == last) {
+            bits[first] |= (firstMask & lastMask);
+            return;
+        }
+        bits[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            bits[i] = ALL;
+        }
+        bits[last] |= lastMask;
+    }
+
+    /**
+     * Creates an empty mask for all days of the week including the public holiday.
+     *
+     * @return New mask with all minutes 'closed'.
+     */
+    static long[] week() {
+        return new long[WEEK_WORDS];
+    }
+
+    /**
+     * Sets all minutes of a single day mask at the given position in a larger mask.
+     *
+     * @param bits
+     *            Mask to change.
+     * @param offset
+     *            Index of the minute in the target mask that receives the first minute of the day.
+     * @param day
+     *            Minutes of a single day.
+     */
+    static void orDay(final long[] bits, final int offset, final long[] day) {
+        final int shift = offset & 63;
+        int idx = offset >>> 6;
+        for (final long word : day) {
+            if (word != 0) {
+                bits[idx] |= word << shift;
+                if (shift != 0 && idx + 1 < bits.length) {
+                    bits[idx + 1] |= word >>> (64 - shift);
+                }
+            }
+            idx++;
+        }
+    }
+
+    /**
+     * Copies the minutes of a single day at the given position of a larger mask.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param offset
+     *            Index of the first minute of the day in the given mask.
+     *
+     * @return New single day mask.
+     */
+    static long[] day(final long[] bits, final int offset) {
+        final long[] day = new long[DAY_WORDS];
+        final int shift = offset & 63;
+        final int first = offset >>> 6;
+        for (int i = 0; i < DAY_WORDS; i++) {
+            final int idx = first + i;
+            long word = bits[idx] >>> shift;
+            if (shift != 0 && idx + 1 < bits.length) {
+                word |= bits[idx + 1] << (64 - shift);
+            }
+            day[i] = word;
+        }
+        day[DAY_WORDS - 1] &= ALL >>> -MINUTES_PER_DAY;
+        return day;
+    }
+
+    /**
+     * Copies the first minutes of a mask.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param length
+     *            Number of minutes to copy.
+     *
+     * @return New mask with just enough words for the given number of minutes. Minutes at or after the length are never set.
+     */
+    static long[] copy(final long[] bits, final int length) {
+        final long[] copy = Arrays.copyOf(bits, (length + 63) >>> 6);
+        if ((length & 63) != 0) {
+            copy[copy.length - 1] &= ALL >>> -length;
+        }
+        return copy;
+    }
+
+    /**
+     * Marks all minutes where the state differs from the state of the minute before. The mask is treated as a cycle, so the first minute is
+     * compared with the last one.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param length
+     *            Number of minutes of the cycle.
+     * @param changes
+     *            Mask that will receive the changes (OR) - Must have enough words for the given length.
+     */
+    static void orChanges(final long[] bits, final int length, final long[] changes) {
+        final int words = (length + 63) >>> 6;
+        long carry = get(bits, length - 1) ? 1L : 0L;
+        for (int i = 0; i < words; i++) {
+            final long word = bits[i];
+            long changed = word ^ ((word << 1) | carry);
+            if (i == words - 1 && (length & 63) != 0) {
+                changed &= ALL >>> -length;
+            }
+            changes[i] |= changed;
+            carry = word >>> 63;
+        }
+    }
+
+    /**
+     * Returns the state of a single minute.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param minute
+     *            Minute to test.
+     *
+     * @return {@literal true} if the minute is set.
+     */
+    static boolean get(final long[] bits, final int minute) {
+        return (bits[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    /**
+     * Determines if no minute is set.
+     *
+     * @param bits
+     *            Mask to test.
+     *
+     * @return {@literal true} if all words are zero.
+     */
+    static boolean isEmpty(final long[] bits) {
+        for (final long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if at least one minute is set in both masks.
+     *
+     * @param a
+     *            First mask.
+     * @param b
+     *            Second mask with the same length.
+     *
+     * @return {@literal true} if both masks share at least one minute.
+     */
+    static boolean intersects(final long[] a, final long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if all minutes of the given range are set.
+     *
+     * @param bits
+     *            Mask to test.
+     * @param from
+     *            First minute (inclusive).
+     * @param to
+     *            Last minute (exclusive).
+     *
+     * @return {@literal true} if every minute of the range is set.
+     */
+    static boolean containsRange(final long[] bits, final int from, final int to) {
+        if (from >= to) {
+            return true;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        final long firstMask = ALL << from;
+        final long lastMask = ALL >>> -to;
+        if (first == last) {
+            final long mask = firstMask & lastMask;
+            return (bits[first] & mask) == mask;
+        }
+        if ((bits[first] & firstMask) != firstMask) {
+            return false;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (bits[i] != ALL) {
+                return false;
+            }
+        }
+        return (bits[last] & lastMask) == lastMask;
+    }
+
+    /**
+     * Returns the union of both masks.
+     *
+     * @param a
+     *            First mask.
+     * @param b
+     *            Second mask with the same length.
+     *
+     * @return New mask.
+     */
+    static long[] or(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] | b[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the intersection of both masks.
+     *
+     * @param a
+     *            First mask.
+     * @param b
+     *            Second mask with the same length.
+     *
+     * @return New mask.
+     */
+    static long[] and(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns all minutes of the first mask that are not set in the second one.
+     *
+     * @param a
+     *            First mask.
+     * @param b
+     *            Second mask with the same length.
+     *
+     * @return New mask.
+     */
+    static long[] andNot(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] & ~b[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first set minute that occurs on or after the given one.
+     *
+     * @param bits
+     *            Mask to search.
+     * @param from
+     *            Minute to start with (inclusive).
+     *
+     * @return Index or {@literal -1} if there is no such minute.
+     */
+    static int nextSetBit(final long[] bits, final int from) {
+        int idx = from >>> 6;
+        if (idx >= bits.length) {
+            return -1;
+        }
+        long word = bits[idx] & (ALL << from);
+        while (true) {
+            if (word != 0) {
+                return (idx << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++idx == bits.length) {
+                return -1;
+            }
+            word = bits[idx];
+        }
+    }
+
+    /**
+     * Returns the index of the first minute that is not set and occurs on or after the given one.
+     *
+     * @param bits
+     *            Mask to search.
+     * @param from
+     *            Minute to start with (inclusive).
+     *
+     * @return Index (may be the total number of bits of the array if all following minutes are set).
+     */
+    static int nextClearBit(final long[] bits, final int from) {
+        int idx = from >>> 6;
+        if (idx >= bits.length) {
+            return from;
+        }
+        long word = ~bits[idx] & (ALL << from);
+        while (true) {
+            if (word != 0) {
+                return (idx << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++idx == bits.length) {
+                return bits.length << 6;
+            }
+            word = ~bits[idx];
+        }
+    }
+
+    /**
+     * Reports all runs of minutes inside a range that are set in the first mask but not in the second one. Runs are detected word by word
+     * using {@link Long#numberOfTrailingZeros(long)}, so no single minute is visited.
+     *
+     * @param a
+     *            Mask with the minutes to report or {@literal null} for an empty mask.
+     * @param b
+     *            Mask with the minutes to exclude or {@literal null} for an empty mask.
+     * @param from
+     *            First minute of the range (inclusive).
+     * @param to
+     *            Last minute of the range (exclusive).
+     * @param consumer
+     *            Receives the start (inclusive) and end (exclusive) of each run relative to the start of the range.
+     */
+    static void forEachRun(final long[] a, final long[] b, final int from, final int to, final RangeConsumer consumer) {
+        if (a == null || from >= to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        int start = -1;
+        for (int i = first; i <= last; i++) {
+            long word = a[i];
+            if (b != null) {
+                word = word & ~b[i];
+            }
+            if (i == first) {
+                word = word & (ALL << from);
+            }
+            if (i == last) {
+                word = word & (ALL >>> -to);
+            }
+            final int base = i << 6;
+            if (start >= 0) {
+                if (word == ALL) {
+                    continue;
+                }
+                final int end = Long.numberOfTrailingZeros(~word);
+                consumer.accept(start - from, base + end - from);
+                start = -1;
+                word = word & (ALL << end);
+            }
+            while (word != 0) {
+                final int runStart = Long.numberOfTrailingZeros(word);
+                final long rest = ~word & (ALL << runStart);
+                if (rest == 0) {
+                    // Run continues in the next word
+                    start = base + runStart;
+                    break;
+                }
+                final int runEnd = Long.numberOfTrailingZeros(rest);
+                consumer.accept(base + runStart - from, base + runEnd - from);
+                word = word & (ALL << runEnd);
+            }
+        }
+        if (start >= 0) {
+            consumer.accept(start - from, to - from);
+        }
+    }
+
+    /**
+     * Copies the first minutes of a mask several times one after another. This is used to search runs that wrap around the end of a
+     * week.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param length
+     *            Number of minutes to copy.
+     * @param times
+     *            Number of copies.
+     *
+     * @return New mask with the minutes of all copies.
+     */
+    static long[] repeat(final long[] bits, final int length, final int times) {
+        final long[] part = copy(bits, length);
+        final long[] result = new long[(length * times + 63) >>> 6];
+        for (int i = 0; i < times; i++) {
+            orDay(result, i * length, part);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minutes where a run of set minutes with at least the given length starts. A minute is set in the result if it and the
+     * following {@code length - 1} minutes are set in the mask. The result is calculated with shift-AND steps that double the checked
+     * length each time, so only {@code log2(length)} passes over the words are needed.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param length
+     *            Minimal length of the runs (1 or more).
+     *
+     * @return New mask with the possible start minutes.
+     */
+    static long[] runStarts(final long[] bits, final int length) {
+        final long[] starts = bits.clone();
+        int checked = 1;
+        while (checked < length) {
+            final int shift = Math.min(checked, length - checked);
+            andShifted(starts, shift);
+            checked = checked + shift;
+        }
+        return starts;
+    }
+
+    /**
+     * Clears every minute in the mask that has no set minute at the given distance behind it.
+     *
+     * @param bits
+     *            Mask to change.
+     * @param distance
+     *            Distance in minutes (1 or more).
+     */
+    private static void andShifted(final long[] bits, final int distance) {
+        final int words = distance >>> 6;
+        final int shift = distance & 63;
+        for (int i = 0; i < bits.length; i++) {
+            final int idx = i + words;
+            long word = 0;
+            if (idx < bits.length) {
+                word = bits[idx] >>> shift;
+                if (shift != 0 && idx + 1 < bits.length) {
+                    word |= bits[idx + 1] << (64 - shift);
+                }
+            }
+            bits[i] &= word;
+        }
+    }
+
+    /**
+     * Reports all runs of set minutes with at least the given length that start inside a range. The start minutes are found with
+     * {@link #runStarts(long[], int)}, so shorter runs are skipped without looking at them.
+     *
+     * @param bits
+     *            Mask to read.
+     * @param minLength
+     *            Minimal length of the runs (1 or more).
+     * @param from
+     *            First possible start minute (inclusive) - A run that starts before this minute is reported from here.
+     * @param to
+     *            Last possible start minute (exclusive).
+     * @param consumer
+     *            Receives the start (inclusive) and end (exclusive) of each run. The end may be after the given range.
+     */
+    static void forEachRun(final long[] bits, final int minLength, final int from, final int to, final RangeConsumer consumer) {
+        final long[] starts = runStarts(bits, minLength);
+        int start = nextSetBit(starts, from);
+        while (start >= 0 && start < to) {
+            final int end = nextClearBit(bits, start);
+            consumer.accept(start, end);
+            start = nextSetBit(starts, end);
+        }
+    }
+
+    /**
+     * Returns the number of set minutes.
+     *
+     * @param bits
+     *            Mask to count.
+     *
+     * @return Number of minutes.
+     */
+    static int cardinality(final long[] bits) {
+        int count = 0;
+        for (final long word : bits) {
+            count = count + Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Calculates a 64-bit hash of the mask. Equal masks always have the same fingerprint and different masks will have a different one
+     * with a very high probability.
+     *
+     * @param bits
+     *            Mask to hash.
+     *
+     * @return Fingerprint.
+     */
+    static long fingerprint(final long[] bits) {
+        long h = GOLDEN_RATIO;
+        for (final long word : bits) {
+            h = Long.rotateLeft(h ^ mix(word), 31) * GOLDEN_RATIO;
+        }
+        return mix(h ^ bits.length);
+    }
+
+    private static long mix(final long value) {
+        // Finalizer of MurmurHash3
+        long z = value;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Converts the mask into a bit set.
+     *
+     * @param bits
+     *            Mask to convert.
+     *
+     * @return New bit set.
+     */
+    static BitSet toBitSet(final long[] bits) {
+        return BitSet.valueOf(bits);
+    }
+
+    /**
+     * Converts a bit set into a mask.
+     *
+     * @param bitSet
+     *            Bit set to convert.
+     * @param words
+     *            Number of words the result should have. Bits that do not fit into the array are ignored.
+     *
+     * @return New mask.
+     */
+    static long[] valueOf(final BitSet bitSet, final int words) {
+        return Arrays.copyOf(bitSet.toLongArray(), words);
+    }
+
+    /**
+     * Receives a run of minutes.
+     */
+    @FunctionalInterface
+    interface RangeConsumer {
+
+        /**
+         * Called for a run of minutes.
+         *
+         * @param from
+         *            First minute (inclusive).
+         * @param to
+         *            Last minute (exclusive).
+         */
+        void accept(int from, int to);
+
+    }
+
+}
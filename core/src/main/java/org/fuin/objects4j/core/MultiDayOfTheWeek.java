@@ -32,7 +32,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.StringTokenizer;
 
 /**
  * Represents multiple days of the week 'Mon'-'Sun'(from Monday to Sunday) plus 'PH' (Public Holiday).<br>
@@ -48,11 +47,15 @@ import java.util.StringTokenizer;
 @Prompt("Mon/Tue/Wed-Fri")
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class MultiDayOfTheWeek extends AbstractStringValueObject implements Iterable<DayOfTheWeek> {
 
     @Serial
     private static final long serialVersionUID = 1000L;
 
+    /** Optional cache used by {@link #valueOf(String)}. */
+    private static volatile ParseCache<MultiDayOfTheWeek> cache;
+
     @NotEmpty
     private final List<DayOfTheWeek> multipleDayOfTheWeek;
 
@@ -66,27 +69,37 @@ public final class MultiDayOfTheWeek extends AbstractStringValueObject implement
      *            Value like 'Mon/Tue/Wed-Fri'.
      */
     public MultiDayOfTheWeek(@NotNull @MultiDayOfTheWeekStr final String multipleDayOfTheWeek) {
-        super();
-        Contract.requireArgNotEmpty("multipleDayOfTheWeek", multipleDayOfTheWeek);
-        requireArgValid("multipleDayOfTheWeek", multipleDayOfTheWeek);
+        this(parserFor(multipleDayOfTheWeek));
+    }
 
-        this.multipleDayOfTheWeek = new ArrayList<>();
-        final StringTokenizer tok = new StringTokenizer(multipleDayOfTheWeek, "/");
-        while (tok.hasMoreTokens()) {
-            final String part = tok.nextToken();
-            final int p = part.indexOf('-');
-            if (p > -1) {
-                final DayOfTheWeek from = DayOfTheWeek.valueOf(part.substring(0, p));
-                final DayOfTheWeek to = DayOfTheWeek.valueOf(part.substring(p + 1));
-                this.multipleDayOfTheWeek.addAll(DayOfTheWeek.getPart(from, to));
-            } else {
-                this.multipleDayOfTheWeek.add(DayOfTheWeek.valueOf(part));
-            }
+    /**
+     * Constructor with a parser for the input.
+     * 
+     * @param parser
+     *            Parser with a value like 'Mon/Tue/Wed-Fri'.
+     */
+    private MultiDayOfTheWeek(final OpeningHoursParser parser) {
+        super();
+        final List<DayOfTheWeek> days = parser.multiDayOfTheWeek();
+        if (days == null) {
+            throw parser.exception(invalidMessage("multipleDayOfTheWeek", parser.text()));
         }
+        this.multipleDayOfTheWeek = days;
+        this.value = parser.upperCaseText();
+    }
 
-        Collections.sort(this.multipleDayOfTheWeek);
-        this.value = multipleDayOfTheWeek.toUpperCase();
-
+    /**
+     * Constructor with days already sorted and the matching text.
+     * 
+     * @param days
+     *            Sorted days.
+     * @param value
+     *            Text for the days.
+     */
+    private MultiDayOfTheWeek(final List<DayOfTheWeek> days, final String value) {
+        super();
+        this.multipleDayOfTheWeek = days;
+        this.value = value;
     }
 
     /**
@@ -138,45 +151,40 @@ public final class MultiDayOfTheWeek extends AbstractStringValueObject implement
         if (multipleDayOfTheWeek.size() == 1) {
             return this;
         }
-        return new MultiDayOfTheWeek(optimize());
-
+        return new MultiDayOfTheWeek(multipleDayOfTheWeek, compressed(multipleDayOfTheWeek));
     }
 
-    @SuppressWarnings("java:S3776") // Complexity OK here
-    private String optimize() {
-        DayOfTheWeek start = null;
+    /**
+     * Creates the compressed text for a sorted list of days. A run of three or more consecutive days is written as range, shorter runs as
+     * single days.
+     * 
+     * @param days
+     *            Sorted days.
+     * 
+     * @return Text like 'MON-WED/SAT/SUN'.
+     */
+    static String compressed(final List<DayOfTheWeek> days) {
         final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < multipleDayOfTheWeek.size(); i++) {
-            final DayOfTheWeek current = multipleDayOfTheWeek.get(i);
-            if (start == null) {
-                if (i > 0) {
-                    sb.append("/");
-                }
-                start = current;
-                sb.append(start);
-            } else {
-                if (i == multipleDayOfTheWeek.size() - 1) {
-                    sb.append(separator(start, current));
-                    sb.append(current);
-                } else {
-                    if (multipleDayOfTheWeek.get(i + 1).previous() != current) {
-                        sb.append(separator(start, current));
-                        sb.append(current);
-                        start = null;
-                    }
-                }
+        int i = 0;
+        while (i < days.size()) {
+            int last = i;
+            while (last + 1 < days.size() && days.get(last + 1).follows(days.get(last))) {
+                last++;
             }
+            if (!sb.isEmpty()) {
+                sb.append('/');
+            }
+            sb.append(days.get(i));
+            if (last - i > 1) {
+                sb.append('-').append(days.get(last));
+            } else if (last > i) {
+                sb.append('/').append(days.get(last));
+            }
+            i = last + 1;
         }
         return sb.toString();
     }
 
-    private String separator(DayOfTheWeek start, final DayOfTheWeek current) {
-        if (current.follows(start)) {
-            return "/";
-        }
-        return "-";
-    }
-
     private static String asStr(final List<DayOfTheWeek> days) {
         final StringBuilder sb = new StringBuilder();
         for (final DayOfTheWeek dow : days) {
@@ -196,51 +204,11 @@ public final class MultiDayOfTheWeek extends AbstractStringValueObject implement
      * 
      * @return {@literal true} if the string is a valid string, else {@literal false}.
      */
-    @SuppressWarnings("java:S3776") // Complexity not nice, but OK here
     public static boolean isValid(@Nullable final String multiDayOfTheWeeks) {
         if (multiDayOfTheWeeks == null) {
             return true;
         }
-        final StringTokenizer tok = new StringTokenizer(multiDayOfTheWeeks, "/");
-        if (tok.countTokens() == 0) {
-            return false;
-        }
-        final List<DayOfTheWeek> days = new ArrayList<>();
-        while (tok.hasMoreTokens()) {
-            final String part = tok.nextToken();
-            final int p = part.indexOf('-');
-            if (p > -1) {
-                // dd-dd
-                final String part1 = part.substring(0, p);
-                final String part2 = part.substring(p + 1);
-                if (!DayOfTheWeek.isValid(part1) || !DayOfTheWeek.isValid(part2)) {
-                    return false;
-                }
-                final DayOfTheWeek from = DayOfTheWeek.valueOf(part1);
-                final DayOfTheWeek to = DayOfTheWeek.valueOf(part2);
-                if (from == to || from.after(to)) {
-                    return false;
-                }
-                for (final DayOfTheWeek dow : DayOfTheWeek.getPart(from, to)) {
-                    if (days.contains(dow)) {
-                        return false;
-                    }
-                    days.add(dow);
-                }
-
-            } else {
-                // dd
-                if (!DayOfTheWeek.isValid(part)) {
-                    return false;
-                }
-                final DayOfTheWeek dow = DayOfTheWeek.valueOf(part);
-                if (days.contains(dow)) {
-                    return false;
-                }
-                days.add(dow);
-            }
-        }
-        return true;
+        return new OpeningHoursParser(multiDayOfTheWeeks).multiDayOfTheWeek() != null;
     }
 
     /**
@@ -256,9 +224,73 @@ public final class MultiDayOfTheWeek extends AbstractStringValueObject implement
         if (str == null) {
             return null;
         }
+        final ParseCache<MultiDayOfTheWeek> parseCache = cache;
+        if (parseCache != null) {
+            return parseCache.get(str);
+        }
         return new MultiDayOfTheWeek(str);
     }
 
+    /**
+     * Enables a cache for {@link #valueOf(String)} that returns the same instance for equal strings. An already enabled cache is replaced.
+     * 
+     * @param maxSize
+     *            Maximum number of cached instances.
+     */
+    public static void enableCache(final int maxSize) {
+        cache = new ParseCache<>(maxSize, MultiDayOfTheWeek::new);
+    }
+
+    /**
+     * Disables the cache for {@link #valueOf(String)}.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache used by {@link #valueOf(String)}.
+     * 
+     * @return Cache or {@literal null} if caching is not enabled.
+     */
+    @Nullable
+    public static ParseCache<MultiDayOfTheWeek> getCache() {
+        return cache;
+    }
+
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static MultiDayOfTheWeek valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return new MultiDayOfTheWeek(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return New instance.
+     */
+    public static MultiDayOfTheWeek valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return new MultiDayOfTheWeek(new OpeningHoursParser(ascii, offset, length));
+    }
+
     /**
      * Checks if the argument is valid and throws an exception if this is not the case.
      * 
@@ -275,10 +307,18 @@ public final class MultiDayOfTheWeek extends AbstractStringValueObject implement
         // CHECKSTYLE:ON
 
         if (!isValid(value)) {
-            throw new ConstraintViolationException(
-                    "The argument '" + name + "' does not represent valid days of the week like 'Mon/Tue/Wed-Fri': '" + value + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
         }
 
     }
 
+    private static OpeningHoursParser parserFor(final String multipleDayOfTheWeek) {
+        Contract.requireArgNotEmpty("multipleDayOfTheWeek", multipleDayOfTheWeek);
+        return new OpeningHoursParser(multipleDayOfTheWeek);
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent valid days of the week like 'Mon/Tue/Wed-Fri': '" + value + "'";
+    }
+
 }
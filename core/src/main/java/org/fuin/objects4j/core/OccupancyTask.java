@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the number of open locations for every minute of the week. Each open run of a week adds one to a difference array at its start
+ * and subtracts one at its end, so the costs only depend on the number of runs. The result is turned into counts with
+ * {@link #toHistogram(int[])}.
+ */
+final class OccupancyTask extends RecursiveTask<int[]> {
+
+    /** Each task allocates a difference array for a whole week, so a task only splits if it has more schedules than this. */
+    static final int DEFAULT_THRESHOLD = 4096;
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    private static final int MINUTES_PER_WEEK = MinuteMask.MINUTES_PER_WEEK;
+
+    private final transient WeeklyOpeningHours[] weeks;
+
+    private final int from;
+
+    private final int to;
+
+    private final int threshold;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param weeks
+     *            Schedules to count - Null entries are ignored.
+     * @param from
+     *            First index (inclusive).
+     * @param to
+     *            Last index (exclusive).
+     * @param threshold
+     *            Maximum number of schedules handled without splitting.
+     */
+    OccupancyTask(final WeeklyOpeningHours[] weeks, final int from, final int to, final int threshold) {
+        super();
+        this.weeks = weeks;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected int[] compute() {
+        if (to - from <= threshold) {
+            final int[] diff = new int[MINUTES_PER_WEEK + 1];
+            for (int i = from; i < to; i++) {
+                if (weeks[i] != null) {
+                    addRuns(weeks[i].minutesMask(), diff);
+                }
+            }
+            return diff;
+        }
+        final int middle = (from + to) >>> 1;
+        final OccupancyTask left = new OccupancyTask(weeks, from, middle, threshold);
+        final OccupancyTask right = new OccupancyTask(weeks, middle, to, threshold);
+        left.fork();
+        final int[] diff = right.compute();
+        final int[] other = left.join();
+        for (int i = 0; i < diff.length; i++) {
+            diff[i] = diff[i] + other[i];
+        }
+        return diff;
+    }
+
+    /**
+     * Converts the difference array returned by the task into the number of open locations per minute.
+     *
+     * @param diff
+     *            Difference array with one additional element at the end.
+     *
+     * @return Count per minute of the week (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     */
+    static int[] toHistogram(final int[] diff) {
+        final int[] histogram = new int[MINUTES_PER_WEEK];
+        int count = 0;
+        for (int i = 0; i < MINUTES_PER_WEEK; i++) {
+            count = count + diff[i];
+            histogram[i] = count;
+        }
+        return histogram;
+    }
+
+    private static void addRuns(final long[] week, final int[] diff) {
+        int start = MinuteMask.nextSetBit(week, 0);
+        while (start >= 0 && start < MINUTES_PER_WEEK) {
+            final int end = Math.min(MinuteMask.nextClearBit(week, start), MINUTES_PER_WEEK);
+            diff[start]++;
+            diff[end]--;
+            start = MinuteMask.nextSetBit(week, end);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sets a bit for every schedule that is open at a given minute of the week. The minute is turned once into the index of a word and a bit
+ * mask, so checking a schedule is a single array access without allocating anything.
+ */
+final class OpenAtTask extends RecursiveAction {
+
+    /** Checking a schedule is very cheap, so a task only splits if it has more schedules than this. */
+    static final int DEFAULT_THRESHOLD = 16384;
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    private final transient WeeklyOpeningHours[] weeks;
+
+    private final int word;
+
+    private final long mask;
+
+    private final long[] result;
+
+    private final int from;
+
+    private final int to;
+
+    private final int threshold;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param weeks
+     *            Schedules to check - Null entries are never open.
+     * @param minuteOfWeek
+     *            Minute to check (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     * @param result
+     *            Receives one bit per schedule that is set if the schedule is open - Must have at least {@code (weeks.length + 63) / 64}
+     *            words.
+     * @param from
+     *            First index (inclusive) - Must be a multiple of 64.
+     * @param to
+     *            Last index (exclusive).
+     * @param threshold
+     *            Maximum number of schedules handled without splitting.
+     */
+    OpenAtTask(final WeeklyOpeningHours[] weeks, final int minuteOfWeek, final long[] result, final int from, final int to,
+            final int threshold) {
+        this(weeks, minuteOfWeek >>> 6, 1L << minuteOfWeek, result, from, to, threshold);
+    }
+
+    private OpenAtTask(final WeeklyOpeningHours[] weeks, final int word, final long mask, final long[] result, final int from, final int to,
+            final int threshold) {
+        super();
+        this.weeks = weeks;
+        this.word = word;
+        this.mask = mask;
+        this.result = result;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        final int middle = ((from + to) >>> 1) & ~63;
+        if (to - from <= threshold || middle <= from) {
+            for (int i = from; i < to; i++) {
+                final WeeklyOpeningHours week = weeks[i];
+                if (week != null && (week.minutesMask()[word] & mask) != 0) {
+                    // Not synchronized: Tasks are only split at multiples of 64, so no other task writes to the same word
+                    result[i >>> 6] |= 1L << i;
+                }
+            }
+            return;
+        }
+        invokeAll(new OpenAtTask(weeks, word, mask, result, from, middle, threshold),
+                new OpenAtTask(weeks, word, mask, result, middle, to, threshold));
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+import org.fuin.objects4j.common.ValueObject;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Interval of time in which something is open. The start is inclusive and the end is exclusive.
+ *
+ * @param <T>
+ *            Type of the points in time like {@link java.time.Instant} or {@link java.time.LocalDateTime}.
+ */
+@Immutable
+public final class OpenInterval<T extends Comparable<? super T> & Serializable> implements ValueObject, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    @NotNull
+    private final T from;
+
+    @NotNull
+    private final T to;
+
+    /**
+     * Constructor with start and end.
+     *
+     * @param from
+     *            Start of the interval (inclusive).
+     * @param to
+     *            End of the interval (exclusive).
+     */
+    public OpenInterval(@NotNull final T from, @NotNull final T to) {
+        super();
+        Contract.requireArgNotNull("from", from);
+        Contract.requireArgNotNull("to", to);
+        if (from.compareTo(to) >= 0) {
+            throw new ConstraintViolationException("The argument 'from' (" + from + ") must be before 'to' (" + to + ")");
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the start of the interval.
+     *
+     * @return Start (inclusive).
+     */
+    @NotNull
+    public T getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the end of the interval.
+     *
+     * @return End (exclusive).
+     */
+    @NotNull
+    public T getTo() {
+        return to;
+    }
+
+    /**
+     * Determines if a point in time is inside the interval.
+     *
+     * @param time
+     *            Point in time to verify.
+     *
+     * @return {@literal true} if the time is equal to or after the start and before the end.
+     */
+    public boolean contains(@NotNull final T time) {
+        Contract.requireArgNotNull("time", time);
+        return from.compareTo(time) <= 0 && time.compareTo(to) < 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OpenInterval<?> other = (OpenInterval<?>) o;
+        return Objects.equals(from, other.from) && Objects.equals(to, other.to);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return from + "/" + to;
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazily creates the open intervals of a week mask for a period of days. Intervals are created one by one from the mask when they are
+ * requested and an interval that spans midnight is reported as one interval. The period can be split by days for parallel processing: An
+ * interval belongs to the part in which it starts, but it is not cut at the end of that part.
+ */
+final class OpenIntervalSpliterator implements Spliterator<OpenInterval<LocalDateTime>> {
+
+    private final long[] week;
+
+    private final LocalDateTime start;
+
+    private final int startMinuteOfWeek;
+
+    private final long periodEnd;
+
+    private final boolean alwaysOpen;
+
+    private long pos;
+
+    private long end;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param week
+     *            Week mask with the open minutes - Public holidays are ignored.
+     * @param from
+     *            First day of the period (inclusive).
+     * @param to
+     *            Last day of the period (exclusive).
+     */
+    OpenIntervalSpliterator(final long[] week, final LocalDate from, final LocalDate to) {
+        super();
+        this.week = week;
+        this.start = from.atStartOfDay();
+        this.startMinuteOfWeek = (from.getDayOfWeek().getValue() - 1) * MinuteMask.MINUTES_PER_DAY;
+        this.periodEnd = (to.toEpochDay() - from.toEpochDay()) * MinuteMask.MINUTES_PER_DAY;
+        this.alwaysOpen = MinuteMask.nextClearBit(week, 0) >= MinuteMask.MINUTES_PER_WEEK;
+        final int firstOpen = MinuteMask.nextSetBit(week, 0);
+        this.pos = 0;
+        this.end = firstOpen < 0 || firstOpen >= MinuteMask.MINUTES_PER_WEEK ? 0 : periodEnd;
+    }
+
+    private OpenIntervalSpliterator(final OpenIntervalSpliterator other, final long pos, final long end) {
+        super();
+        this.week = other.week;
+        this.start = other.start;
+        this.startMinuteOfWeek = other.startMinuteOfWeek;
+        this.periodEnd = other.periodEnd;
+        this.alwaysOpen = other.alwaysOpen;
+        this.pos = pos;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super OpenInterval<LocalDateTime>> action) {
+        if (pos >= end) {
+            return false;
+        }
+        long from = nextOpen(pos);
+        if (from == pos && pos > 0 && MinuteMask.get(week, minuteOfWeek(pos - 1))) {
+            // Interval started before this part and was already reported by the part before
+            from = nextOpen(nextClosed(pos));
+        }
+        if (from >= end) {
+            pos = end;
+            return false;
+        }
+        final long to = nextClosed(from);
+        pos = to;
+        action.accept(new OpenInterval<>(start.plusMinutes(from), start.plusMinutes(to)));
+        return true;
+    }
+
+    @Override
+    public Spliterator<OpenInterval<LocalDateTime>> trySplit() {
+        final long halfDays = (end - pos) / MinuteMask.MINUTES_PER_DAY / 2;
+        if (halfDays <= 0) {
+            return null;
+        }
+        final long middle = pos + halfDays * MinuteMask.MINUTES_PER_DAY;
+        final OpenIntervalSpliterator prefix = new OpenIntervalSpliterator(this, pos, middle);
+        pos = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (pos >= end) {
+            return 0;
+        }
+        // Roughly one interval per day
+        return (end - pos) / MinuteMask.MINUTES_PER_DAY + 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    private int minuteOfWeek(final long minute) {
+        return (int) ((startMinuteOfWeek + minute) % MinuteMask.MINUTES_PER_WEEK);
+    }
+
+    /**
+     * Returns the first open minute on or after the given one.
+     *
+     * @param minute
+     *            Minute relative to the start of the period.
+     *
+     * @return Open minute or the end of the period if there is none.
+     */
+    private long nextOpen(final long minute) {
+        long current = minute;
+        while (current < periodEnd) {
+            final int minuteOfWeek = minuteOfWeek(current);
+            final int set = MinuteMask.nextSetBit(week, minuteOfWeek);
+            if (set >= 0 && set < MinuteMask.MINUTES_PER_WEEK) {
+                return Math.min(current + set - minuteOfWeek, periodEnd);
+            }
+            current = current + MinuteMask.MINUTES_PER_WEEK - minuteOfWeek;
+        }
+        return periodEnd;
+    }
+
+    /**
+     * Returns the first closed minute on or after the given one.
+     *
+     * @param minute
+     *            Minute relative to the start of the period.
+     *
+     * @return Closed minute or the end of the period if there is none.
+     */
+    private long nextClosed(final long minute) {
+        if (alwaysOpen) {
+            return periodEnd;
+        }
+        long current = minute;
+        while (current < periodEnd) {
+            final int minuteOfWeek = minuteOfWeek(current);
+            final int clear = MinuteMask.nextClearBit(week, minuteOfWeek);
+            if (clear < MinuteMask.MINUTES_PER_WEEK) {
+                return Math.min(current + clear - minuteOfWeek, periodEnd);
+            }
+            current = current + MinuteMask.MINUTES_PER_WEEK - minuteOfWeek;
+        }
+        return periodEnd;
+    }
+
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.fuin.objects4j.common.ConstraintViolationException;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Binary encoding of opening hours. Open minutes are written as runs: The number of runs followed by the distance of each run from the
+ * end of the run before and the length of the run. All numbers are unsigned variable length integers with 7 bits per byte, so a typical
+ * run of a day needs 4 bytes. Weekly opening hours are written as the number of distinct days followed by a bit mask of the days
+ * ('Mon'=bit 0 - 'Sun'=bit 6, 'PH'=bit 7) and the runs of each distinct day.
+ */
+final class OpeningHoursCodec {
+
+    private static final int INITIAL_SIZE = 64;
+
+    private OpeningHoursCodec() {
+        throw new UnsupportedOperationException("It's not allowed to create an instance of this utility class");
+    }
+
+    /**
+     * Writes a value into a new array that is just large enough for it.
+     *
+     * @param writer
+     *            Writes the value into the given buffer.
+     *
+     * @return Written bytes.
+     */
+    static byte[] toBytes(final Consumer<ByteBuffer> writer) {
+        int size = INITIAL_SIZE;
+        while (true) {
+            final ByteBuffer buffer = ByteBuffer.allocate(size);
+            try {
+                writer.accept(buffer);
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            } catch (final BufferOverflowException ex) {
+                // Very rare as typical values have less than 20 bytes
+                size = size * 8;
+            }
+        }
+    }
+
+    /**
+     * Reads a value from an array that contains nothing else.
+     *
+     * @param bytes
+     *            Bytes to read.
+     * @param reader
+     *            Reads the value from the given buffer.
+     *
+     * @return Value.
+     *
+     * @param <T>
+     *            Type of the value.
+     */
+    static <T> T fromBytes(final byte[] bytes, final Function<ByteBuffer, T> reader) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final T value;
+        try {
+            value = reader.apply(buffer);
+        } catch (final BufferUnderflowException ex) {
+            throw new ConstraintViolationException("Unexpected end of data after " + bytes.length + " bytes");
+        }
+        if (buffer.hasRemaining()) {
+            throw new ConstraintViolationException("Expected " + buffer.position() + " bytes, but was: " + bytes.length);
+        }
+        return value;
+    }
+
+    /**
+     * Writes the open minutes of a week.
+     *
+     * @param buffer
+     *            Buffer to write to.
+     * @param week
+     *            Open minutes of all days in the order 'Mon'-'Sun' plus 'PH'.
+     */
+    static void writeWeek(final ByteBuffer buffer, final long[] week) {
+        final long[][] dayMinutes = new long[MinuteMask.DAYS][];
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            final long[] day = MinuteMask.day(week, i * MinuteMask.MINUTES_PER_DAY);
+            if (!MinuteMask.isEmpty(day)) {
+                dayMinutes[i] = day;
+            }
+        }
+        final long[][] templates = new long[MinuteMask.DAYS][];
+        final int[] days = new int[MinuteMask.DAYS];
+        int count = 0;
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            if (dayMinutes[i] == null) {
+                continue;
+            }
+            int mask = 1 << i;
+            for (int j = i + 1; j < MinuteMask.DAYS; j++) {
+                if (dayMinutes[j] != null && Arrays.equals(dayMinutes[i], dayMinutes[j])) {
+                    mask = mask | (1 << j);
+                    dayMinutes[j] = null;
+                }
+            }
+            templates[count] = dayMinutes[i];
+            days[count] = mask;
+            count++;
+        }
+        buffer.put((byte) count);
+        for (int i = 0; i < count; i++) {
+            buffer.put((byte) days[i]);
+            writeRuns(buffer, templates[i], MinuteMask.MINUTES_PER_DAY);
+        }
+    }
+
+    /**
+     * Reads the open minutes of a week.
+     *
+     * @param buffer
+     *            Buffer to read from.
+     *
+     * @return Open minutes of all days in the order 'Mon'-'Sun' plus 'PH'.
+     */
+    static long[] readWeek(final ByteBuffer buffer) {
+        final int count = buffer.get() & 0xFF;
+        if (count > MinuteMask.DAYS) {
+            throw new ConstraintViolationException("Expected not more than " + MinuteMask.DAYS + " distinct days, but was: " + count);
+        }
+        final long[] week = MinuteMask.week();
+        int used = 0;
+        for (int i = 0; i < count; i++) {
+            final int days = buffer.get() & 0xFF;
+            if (days == 0 || (used & days) != 0) {
+                throw new ConstraintViolationException("Invalid or duplicate days in mask: " + Integer.toBinaryString(days));
+            }
+            used = used | days;
+            final long[] day = readRuns(buffer, MinuteMask.MINUTES_PER_DAY);
+            for (int j = 0; j < MinuteMask.DAYS; j++) {
+                if ((days & (1 << j)) != 0) {
+                    MinuteMask.orDay(week, j * MinuteMask.MINUTES_PER_DAY, day);
+                }
+            }
+        }
+        return week;
+    }
+
+    /**
+     * Writes all runs of open minutes.
+     *
+     * @param buffer
+     *            Buffer to write to.
+     * @param bits
+     *            Open minutes.
+     * @param length
+     *            Number of minutes to write.
+     */
+    static void writeRuns(final ByteBuffer buffer, final long[] bits, final int length) {
+        int count = 0;
+        int from = MinuteMask.nextSetBit(bits, 0);
+        while (from >= 0 && from < length) {
+            count++;
+            from = MinuteMask.nextSetBit(bits, MinuteMask.nextClearBit(bits, from));
+        }
+        writeVarint(buffer, count);
+        int end = 0;
+        from = MinuteMask.nextSetBit(bits, 0);
+        while (from >= 0 && from < length) {
+            final int to = Math.min(MinuteMask.nextClearBit(bits, from), length);
+            writeVarint(buffer, from - end);
+            writeVarint(buffer, to - from);
+            end = to;
+            from = MinuteMask.nextSetBit(bits, to);
+        }
+    }
+
+    /**
+     * Reads runs of open minutes.
+     *
+     * @param buffer
+     *            Buffer to read from.
+     * @param length
+     *            Maximum number of minutes.
+     *
+     * @return Open minutes.
+     */
+    static long[] readRuns(final ByteBuffer buffer, final int length) {
+        final long[] bits = new long[(length + 63) >>> 6];
+        final int count = readVarint(buffer);
+        if (count > length) {
+            throw new ConstraintViolationException("Invalid number of runs: " + count);
+        }
+        int end = 0;
+        for (int i = 0; i < count; i++) {
+            // Long arithmetic, as the large values of a corrupt input would overflow an int
+            final long from = (long) end + readVarint(buffer);
+            final int runLength = readVarint(buffer);
+            if ((i > 0 && from == end) || runLength == 0 || from + runLength > length) {
+                throw new ConstraintViolationException("Invalid run of open minutes: from=" + from + ", length=" + runLength);
+            }
+            end = (int) from + runLength;
+            MinuteMask.set(bits, (int) from, end);
+        }
+        return bits;
+    }
+
+    /**
+     * Writes an unsigned integer with 7 bits per byte. The highest bit of a byte is set if more bytes follow.
+     *
+     * @param buffer
+     *            Buffer to write to.
+     * @param value
+     *            Value to write (0 or more).
+     */
+    static void writeVarint(final ByteBuffer buffer, final int value) {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            buffer.put((byte) ((rest & 0x7F) | 0x80));
+            rest = rest >>> 7;
+        }
+        buffer.put((byte) rest);
+    }
+
+    /**
+     * Reads an unsigned integer written with {@link #writeVarint(ByteBuffer, int)}.
+     *
+     * @param buffer
+     *            Buffer to read from.
+     *
+     * @return Value.
+     */
+    static int readVarint(final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift = shift + 7) {
+            final byte b = buffer.get();
+            value = value | ((b & 0x7F) << shift);
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new ConstraintViolationException("Invalid variable length integer");
+    }
+
+}
@@ -0,0 +1,397 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index that answers "which locations are open at a given time?" for a large number of weekly opening hours.<br>
+ * <br>
+ * Locations are numbered in the order they are passed to the constructor (ordinal). Locations with the same opening hours share one
+ * template, so the index only stores the distinct opening hours plus one list of ordinals per template. The week is divided into segments
+ * in which no template changes its state. Each segment holds a bitmap of the templates that are open during the whole segment. A point
+ * query is a binary search for the segment, while a window query is an AND of the bitmaps of all segments touched by the window. Public
+ * holidays are not taken into account.
+ *
+ * @param <K>
+ *            Type of the location identifier.
+ */
+@Immutable
+public final class OpeningHoursIndex<K> {
+
+    private static final int MINUTES_PER_WEEK = MinuteMask.MINUTES_PER_WEEK;
+
+    /** Location identifiers by ordinal. */
+    private final Object[] ids;
+
+    /** Ordinals of all locations by template. */
+    private final int[][] templateOrdinals;
+
+    /** Sorted minutes of the week where at least one template changes its state. */
+    private final int[] segmentStarts;
+
+    /** Templates that are open during the segment with the same index. */
+    private final long[][] segmentTemplates;
+
+    /**
+     * Constructor with locations.
+     *
+     * @param locations
+     *            Location identifiers and opening hours - Identifiers are expected to be unique.
+     */
+    public OpeningHoursIndex(@NotNull final Iterator<? extends Map.Entry<? extends K, WeeklyOpeningHours>> locations) {
+        super();
+        Contract.requireArgNotNull("locations", locations);
+
+        final List<Object> idList = new ArrayList<>();
+        final Map<Template, Template> templates = new HashMap<>();
+        final List<Template> templateList = new ArrayList<>();
+        while (locations.hasNext()) {
+            final Map.Entry<? extends K, WeeklyOpeningHours> entry = locations.next();
+            Contract.requireArgNotNull("location", entry);
+            Contract.requireArgNotNull("location.key", entry.getKey());
+            Contract.requireArgNotNull("location.value", entry.getValue());
+            final Template key = new Template(MinuteMask.copy(entry.getValue().minutesMask(), MINUTES_PER_WEEK));
+            Template template = templates.get(key);
+            if (template == null) {
+                template = key;
+                template.index = templateList.size();
+                templates.put(template, template);
+                templateList.add(template);
+            }
+            template.add(idList.size());
+            idList.add(entry.getKey());
+        }
+        this.ids = idList.toArray();
+
+        this.templateOrdinals = new int[templateList.size()][];
+        final long[] changes = new long[(MINUTES_PER_WEEK + 63) >>> 6];
+        for (final Template template : templateList) {
+            templateOrdinals[template.index] = Arrays.copyOf(template.ordinals, template.count);
+            MinuteMask.orChanges(template.bits, MINUTES_PER_WEEK, changes);
+        }
+
+        // A week without any change is a single segment
+        final int[] starts = new int[Math.max(1, MinuteMask.cardinality(changes))];
+        int count = 0;
+        for (int m = MinuteMask.nextSetBit(changes, 0); m >= 0; m = MinuteMask.nextSetBit(changes, m + 1)) {
+            starts[count++] = m;
+        }
+        this.segmentStarts = starts;
+
+        final int templateWords = (templateList.size() + 63) >>> 6;
+        this.segmentTemplates = new long[starts.length][templateWords];
+        for (final Template template : templateList) {
+            addToSegments(template);
+        }
+
+    }
+
+    private void addToSegments(final Template template) {
+        final long[] bits = template.bits;
+        final long templateBit = 1L << template.index;
+        final int word = template.index >>> 6;
+        // The state is constant inside a segment, so a segment is open if it starts inside an open run
+        int from = MinuteMask.nextSetBit(bits, 0);
+        while (from >= 0) {
+            final int end = MinuteMask.nextClearBit(bits, from);
+            int k = Arrays.binarySearch(segmentStarts, from);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            while (k < segmentStarts.length && segmentStarts[k] < end) {
+                segmentTemplates[k][word] |= templateBit;
+                k++;
+            }
+            from = MinuteMask.nextSetBit(bits, end);
+        }
+    }
+
+    /**
+     * Returns the number of locations.
+     *
+     * @return Number of indexed locations.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the number of distinct opening hours.
+     *
+     * @return Number of templates.
+     */
+    public int getTemplateCount() {
+        return templateOrdinals.length;
+    }
+
+    /**
+     * Returns the identifier of a location.
+     *
+     * @param ordinal
+     *            Position of the location in the order it was added (0..size-1).
+     *
+     * @return Location identifier.
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public K getId(final int ordinal) {
+        Contract.requireArgMin("ordinal", ordinal, 0);
+        Contract.requireArgMax("ordinal", ordinal, ids.length - 1);
+        return (K) ids[ordinal];
+    }
+
+    /**
+     * Returns the identifiers of all locations in a result.
+     *
+     * @param ordinals
+     *            Result of a query.
+     *
+     * @return Location identifiers in ordinal order.
+     */
+    @NotNull
+    public List<K> getIds(@NotNull final BitSet ordinals) {
+        Contract.requireArgNotNull("ordinals", ordinals);
+        final List<K> list = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            list.add(getId(i));
+        }
+        return list;
+    }
+
+    /**
+     * Returns all locations open at the given day and minute.
+     *
+     * @param dayOfTheWeek
+     *            Day 'Mon'-'Sun' - Public holidays are not supported.
+     * @param minuteOfDay
+     *            Minute of the day (0 = 00:00 - 1439 = 23:59).
+     *
+     * @return Ordinals of the open locations.
+     */
+    @NotNull
+    public BitSet openAt(@NotNull final DayOfTheWeek dayOfTheWeek, final int minuteOfDay) {
+        final int from = minuteOfWeek(dayOfTheWeek, minuteOfDay);
+        return ordinals(segmentTemplates[segment(from)]);
+    }
+
+    /**
+     * Returns all locations open at the given date and time. Seconds are ignored.
+     *
+     * @param dateTime
+     *            Date and time to query.
+     *
+     * @return Ordinals of the open locations.
+     */
+    @NotNull
+    public BitSet openAt(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        return ordinals(segmentTemplates[segment(WeeklyOpeningHours.minuteOfWeek(dateTime))]);
+    }
+
+    /**
+     * Returns all locations that are open during the whole window. A range like '22:00-02:00' continues on the next day.
+     *
+     * @param dayOfTheWeek
+     *            Day 'Mon'-'Sun' the window starts - Public holidays are not supported.
+     * @param range
+     *            Window.
+     *
+     * @return Ordinals of the open locations.
+     */
+    @NotNull
+    public BitSet openDuring(@NotNull final DayOfTheWeek dayOfTheWeek, @NotNull final HourRange range) {
+        Contract.requireArgNotNull("dayOfTheWeek", dayOfTheWeek);
+        Contract.requireArgNotNull("range", range);
+        final int from = range.getFrom().toMinutes();
+        int minutes = range.getTo().toMinutes() - from;
+        if (range.spansTwoDays()) {
+            minutes = minutes + MinuteMask.MINUTES_PER_DAY;
+        }
+        return openDuring(minuteOfWeek(dayOfTheWeek, from), minutes);
+    }
+
+    /**
+     * Returns all locations that are open during the whole window. Seconds are ignored. An empty window (both times in the same minute)
+     * is treated like a point in time, so the result is the same as {@link #openAt(LocalDateTime)} for the start.
+     *
+     * @param from
+     *            Start of the window (inclusive).
+     * @param to
+     *            End of the window (exclusive) - Cannot be before 'from'.
+     *
+     * @return Ordinals of the open locations.
+     */
+    @NotNull
+    public BitSet openDuring(@NotNull final LocalDateTime from, @NotNull final LocalDateTime to) {
+        Contract.requireArgNotNull("from", from);
+        Contract.requireArgNotNull("to", to);
+        if (to.isBefore(from)) {
+            throw new ConstraintViolationException("The argument 'to' (" + to + ") cannot be before 'from' (" + from + ")");
+        }
+        final long minutes = Duration.between(from.truncatedTo(ChronoUnit.MINUTES), to.truncatedTo(ChronoUnit.MINUTES)).toMinutes();
+        if (minutes == 0) {
+            return openAt(from);
+        }
+        return openDuring(WeeklyOpeningHours.minuteOfWeek(from), (int) Math.min(minutes, MINUTES_PER_WEEK));
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the index structures. Memory used by the identifier objects themselves is not
+     * included.
+     *
+     * @return Memory footprint in bytes.
+     */
+    public long getMemoryFootprint() {
+        final int arrayHeader = 16;
+        final int reference = 4;
+        long bytes = arrayHeader + (long) ids.length * reference;
+        bytes = bytes + arrayHeader + (long) templateOrdinals.length * reference;
+        for (final int[] ordinals : templateOrdinals) {
+            bytes = bytes + arrayHeader + (long) ordinals.length * Integer.BYTES;
+        }
+        bytes = bytes + arrayHeader + (long) segmentStarts.length * Integer.BYTES;
+        bytes = bytes + arrayHeader + (long) segmentTemplates.length * reference;
+        for (final long[] templates : segmentTemplates) {
+            bytes = bytes + arrayHeader + (long) templates.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private BitSet openDuring(final int from, final int minutes) {
+        final int first = segment(from);
+        final long[] templates = segmentTemplates[first].clone();
+        int k = first;
+        int covered = segmentLength(k) - distance(segmentStarts[k], from);
+        while (covered < minutes) {
+            k = (k + 1) % segmentStarts.length;
+            final long[] other = segmentTemplates[k];
+            for (int i = 0; i < templates.length; i++) {
+                templates[i] &= other[i];
+            }
+            covered = covered + segmentLength(k);
+        }
+        return ordinals(templates);
+    }
+
+    private BitSet ordinals(final long[] templates) {
+        final BitSet result = new BitSet(ids.length);
+        for (int t = MinuteMask.nextSetBit(templates, 0); t >= 0 && t < templateOrdinals.length; t = MinuteMask.nextSetBit(templates,
+                t + 1)) {
+            for (final int ordinal : templateOrdinals[t]) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    private int segment(final int minuteOfWeek) {
+        final int idx = Arrays.binarySearch(segmentStarts, minuteOfWeek);
+        if (idx >= 0) {
+            return idx;
+        }
+        final int before = -idx - 2;
+        if (before < 0) {
+            // Minutes before the first change belong to the last segment (wraps from Sunday to Monday)
+            return segmentStarts.length - 1;
+        }
+        return before;
+    }
+
+    private int segmentLength(final int k) {
+        if (segmentStarts.length == 1) {
+            return MINUTES_PER_WEEK;
+        }
+        final int next = segmentStarts[(k + 1) % segmentStarts.length];
+        return distance(segmentStarts[k], next);
+    }
+
+    private static int distance(final int from, final int to) {
+        return (to - from + MINUTES_PER_WEEK) % MINUTES_PER_WEEK;
+    }
+
+    private static int minuteOfWeek(final DayOfTheWeek dayOfTheWeek, final int minuteOfDay) {
+        Contract.requireArgNotNull("dayOfTheWeek", dayOfTheWeek);
+        if (dayOfTheWeek == DayOfTheWeek.PH) {
+            throw new ConstraintViolationException("The argument 'dayOfTheWeek' cannot be a public holiday (PH)");
+        }
+        Contract.requireArgMin("minuteOfDay", minuteOfDay, 0);
+        Contract.requireArgMax("minuteOfDay", minuteOfDay, MinuteMask.MINUTES_PER_DAY - 1);
+        return dayOfTheWeek.index() * MinuteMask.MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /**
+     * Distinct opening hours of the week and the locations that use them.
+     */
+    private static final class Template {
+
+        private final long[] bits;
+
+        private final int hash;
+
+        private int index;
+
+        private int[] ordinals = new int[1];
+
+        private int count;
+
+        Template(final long[] bits) {
+            this.bits = bits;
+            this.hash = Arrays.hashCode(bits);
+        }
+
+        void add(final int ordinal) {
+            if (count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+            }
+            ordinals[count++] = ordinal;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Template)) {
+                return false;
+            }
+            return Arrays.equals(bits, ((Template) obj).bits);
+        }
+
+    }
+
+}
@@ -0,0 +1,479 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.fuin.objects4j.common.ConstraintViolationException;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Parser for the opening hours grammars that validates and creates the result in a single pass. Each method parses the complete input and
+ * returns {@literal null} (or {@literal -1}) if the input is invalid. In this case {@link #getError()} returns the reason and the position
+ * of the first invalid character.<br>
+ * <br>
+ * Grammar:
+ * <ul>
+ * <li>Hour = 'HH:MM' | 'HHMM' | '24:00'</li>
+ * <li>HourRange = 'HH:MM' '-' Hour</li>
+ * <li>HourRanges = HourRange { '+' HourRange }</li>
+ * <li>DayOfTheWeek = 'Mon' | 'Tue' | 'Wed' | 'Thu' | 'Fri' | 'Sat' | 'Sun' | 'PH' (case insensitive)</li>
+ * <li>MultiDayOfTheWeek = Days { '/' Days } with Days = DayOfTheWeek [ '-' DayOfTheWeek ]</li>
+ * <li>DayOpeningHours = DayOfTheWeek ' ' HourRanges</li>
+ * <li>WeeklyOpeningHours = MultiDayOfTheWeek ' ' HourRanges { ',' MultiDayOfTheWeek ' ' HourRanges }</li>
+ * </ul>
+ * Empty elements between separators are ignored. The input is read directly from a {@link CharSequence} or from an ASCII encoded byte array
+ * without creating intermediate strings. Instances are not thread-safe and should only be used for a single input.
+ */
+final class OpeningHoursParser {
+
+    private final CharSequence input;
+
+    private final byte[] bytes;
+
+    private final int offset;
+
+    private final int length;
+
+    private int errorOffset;
+
+    private String errorReason;
+
+    /**
+     * Constructor with input.
+     *
+     * @param input
+     *            Text to parse.
+     */
+    OpeningHoursParser(final CharSequence input) {
+        super();
+        this.input = input;
+        this.bytes = null;
+        this.offset = 0;
+        this.length = input.length();
+        this.errorOffset = -1;
+    }
+
+    /**
+     * Constructor with ASCII encoded input.
+     *
+     * @param bytes
+     *            Array with the text to parse.
+     * @param offset
+     *            Index of the first byte to parse.
+     * @param length
+     *            Number of bytes to parse.
+     */
+    OpeningHoursParser(final byte[] bytes, final int offset, final int length) {
+        super();
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        this.input = null;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.errorOffset = -1;
+    }
+
+    /**
+     * Returns the input as string.
+     *
+     * @return Complete input.
+     */
+    String text() {
+        if (bytes == null) {
+            return input.toString();
+        }
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the input as upper case string.
+     *
+     * @return Complete input with all characters converted to upper case.
+     */
+    String upperCaseText() {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = Character.toUpperCase(charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the error of the last failed parse operation.
+     *
+     * @return Error with reason and position or {@literal null} if there was no error.
+     */
+    ParseException getError() {
+        if (errorOffset < 0) {
+            return null;
+        }
+        return new ParseException(errorReason + " at position " + errorOffset, errorOffset);
+    }
+
+    /**
+     * Creates an exception with the given message that has the error of the last failed parse operation as cause.
+     *
+     * @param message
+     *            Message of the exception.
+     *
+     * @return New exception.
+     */
+    ConstraintViolationException exception(final String message) {
+        final ConstraintViolationException ex = new ConstraintViolationException(message);
+        final ParseException cause = getError();
+        if (cause != null) {
+            ex.initCause(cause);
+        }
+        return ex;
+    }
+
+    /**
+     * Parses an hour.
+     *
+     * @return Minutes of the day (0-1440) or {@literal -1} if the input is invalid.
+     */
+    int hour() {
+        return hour(0, length);
+    }
+
+    /**
+     * Parses an hour range.
+     *
+     * @return Range or {@literal null} if the input is invalid.
+     */
+    HourRange hourRange() {
+        return hourRange(0, length);
+    }
+
+    /**
+     * Parses multiple hour ranges.
+     *
+     * @return Ranges in the order of the input or {@literal null} if the input is invalid.
+     */
+    List<HourRange> hourRanges() {
+        return hourRanges(0, length);
+    }
+
+    /**
+     * Parses a day of the week.
+     *
+     * @return Day or {@literal null} if the input is invalid.
+     */
+    DayOfTheWeek dayOfTheWeek() {
+        return dayOfTheWeek(0, length);
+    }
+
+    /**
+     * Parses multiple days of the week.
+     *
+     * @return Sorted days or {@literal null} if the input is invalid.
+     */
+    List<DayOfTheWeek> multiDayOfTheWeek() {
+        return multiDayOfTheWeek(0, length);
+    }
+
+    /**
+     * Parses the opening hours of a day.
+     *
+     * @return Opening hours or {@literal null} if the input is invalid.
+     */
+    DayOpeningHours dayOpeningHours() {
+        final int p = indexOf(' ', 0, length);
+        if (p < 0) {
+            return fail(length, "Expected ' ' between day and hours");
+        }
+        final DayOfTheWeek day = dayOfTheWeek(0, p);
+        if (day == null) {
+            return null;
+        }
+        final List<HourRange> ranges = hourRanges(p + 1, length);
+        if (ranges == null) {
+            return null;
+        }
+        return new DayOpeningHours(day, new HourRanges(ranges));
+    }
+
+    /**
+     * Parses weekly opening hours.
+     *
+     * @return Opening hours per day in the order of the input (not normalized) or {@literal null} if the input is invalid.
+     */
+    List<DayOpeningHours> weeklyOpeningHours() {
+        final List<DayOpeningHours> days = new ArrayList<>();
+        final DayOpeningHours[] byDay = new DayOpeningHours[MinuteMask.DAYS];
+        final int[] offsetByDay = new int[MinuteMask.DAYS];
+        int start = 0;
+        while (start <= length) {
+            int end = indexOf(',', start, length);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                if (!weeklyPart(start, end, days, byDay, offsetByDay)) {
+                    return null;
+                }
+            }
+            start = end + 1;
+        }
+        if (days.isEmpty()) {
+            return fail(0, "Expected at least one day with hours");
+        }
+
+        // Hours spanning midnight must not overlap with the hours of the next day - The error points to the entry that comes later
+        for (final DayOpeningHours doh : days) {
+            final long[] nextDayMinutes = doh.getHourRanges().nextDayMinutesMask();
+            final DayOfTheWeek next = doh.getDayOfTheWeek().next();
+            if (nextDayMinutes != null && next != null) {
+                final DayOpeningHours nextDay = byDay[next.index()];
+                if (nextDay != null && MinuteMask.intersects(nextDayMinutes, nextDay.getHourRanges().minutesMask())) {
+                    final int offset = Math.max(offsetByDay[doh.getDayOfTheWeek().index()], offsetByDay[next.index()]);
+                    return fail(offset, "Hours of " + doh.getDayOfTheWeek() + " overlap with the hours of " + next);
+                }
+            }
+        }
+
+        return days;
+    }
+
+    private boolean weeklyPart(final int from, final int to, final List<DayOpeningHours> days, final DayOpeningHours[] byDay,
+            final int[] offsetByDay) {
+        final int p = indexOf(' ', from, to);
+        if (p < 0) {
+            fail(to, "Expected ' ' between days and hours");
+            return false;
+        }
+        final List<DayOfTheWeek> dayList = multiDayOfTheWeek(from, p);
+        if (dayList == null) {
+            return false;
+        }
+        final List<HourRange> ranges = hourRanges(p + 1, to);
+        if (ranges == null) {
+            return false;
+        }
+        final HourRanges hourRanges = new HourRanges(ranges);
+        for (final DayOfTheWeek dow : dayList) {
+            if (byDay[dow.index()] != null) {
+                fail(from, "Duplicate day " + dow);
+                return false;
+            }
+            final DayOpeningHours doh = new DayOpeningHours(dow, hourRanges);
+            byDay[dow.index()] = doh;
+            offsetByDay[dow.index()] = from;
+            days.add(doh);
+        }
+        return true;
+    }
+
+    private List<DayOfTheWeek> multiDayOfTheWeek(final int from, final int to) {
+        final boolean[] found = new boolean[MinuteMask.DAYS];
+        int count = 0;
+        int start = from;
+        while (start <= to) {
+            int end = indexOf('/', start, to);
+            if (end < 0) {
+                end = to;
+            }
+            if (end > start) {
+                final int p = indexOf('-', start, end);
+                final DayOfTheWeek first;
+                final DayOfTheWeek last;
+                if (p < 0) {
+                    first = dayOfTheWeek(start, end);
+                    last = first;
+                } else {
+                    first = dayOfTheWeek(start, p);
+                    last = first == null ? null : dayOfTheWeek(p + 1, end);
+                    if (last != null && !last.after(first)) {
+                        return fail(p + 1, "Expected a day after " + first);
+                    }
+                }
+                if (last == null) {
+                    return null;
+                }
+                for (int i = first.index(); i <= last.index(); i++) {
+                    if (found[i]) {
+                        return fail(start, "Duplicate day " + DayOfTheWeek.ofIndex(i));
+                    }
+                    found[i] = true;
+                    count++;
+                }
+            }
+            start = end + 1;
+        }
+        if (count == 0) {
+            return fail(from, "Expected a day of the week");
+        }
+        final List<DayOfTheWeek> days = new ArrayList<>(count);
+        for (int i = 0; i < found.length; i++) {
+            if (found[i]) {
+                days.add(DayOfTheWeek.ofIndex(i));
+            }
+        }
+        return days;
+    }
+
+    private DayOfTheWeek dayOfTheWeek(final int from, final int to) {
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            final DayOfTheWeek dow = DayOfTheWeek.ofIndex(i);
+            if (equalsIgnoreCase(from, to, dow.asBaseType())) {
+                return dow;
+            }
+        }
+        return fail(from, "Expected a day of the week like 'Mon'");
+    }
+
+    private List<HourRange> hourRanges(final int from, final int to) {
+        final List<HourRange> ranges = new ArrayList<>();
+        int start = from;
+        while (start <= to) {
+            int end = indexOf('+', start, to);
+            if (end < 0) {
+                end = to;
+            }
+            if (end > start) {
+                final HourRange range = hourRange(start, end);
+                if (range == null) {
+                    return null;
+                }
+                ranges.add(range);
+            }
+            start = end + 1;
+        }
+        if (ranges.isEmpty()) {
+            return fail(from, "Expected an hour range like '09:00-17:00'");
+        }
+        return ranges;
+    }
+
+    private HourRange hourRange(final int from, final int to) {
+        final int p = from + 5;
+        if (p >= to || charAt(p) != '-') {
+            return fail(Math.min(p, to), "Expected '-' after 'HH:MM'");
+        }
+        final int fromMinutes = hour(from, p);
+        if (fromMinutes < 0) {
+            return null;
+        }
+        final int toMinutes = hour(p + 1, to);
+        if (toMinutes < 0) {
+            return null;
+        }
+        if (fromMinutes == toMinutes) {
+            return fail(p + 1, "Expected an hour different from the start");
+        }
+        if (fromMinutes == MinuteMask.MINUTES_PER_DAY) {
+            return fail(from, "Expected a start before '24:00'");
+        }
+        if (toMinutes == 0) {
+            return fail(p + 1, "Expected an end after '00:00'");
+        }
+        return HourRanges.rangeOf(fromMinutes, toMinutes);
+    }
+
+    private int hour(final int from, final int to) {
+        final int len = to - from;
+        if (len != 4 && len != 5) {
+            fail(from, "Expected an hour like 'HH:MM'");
+            return -1;
+        }
+        final int hour = twoDigits(from);
+        if (hour < 0) {
+            return -1;
+        }
+        int p = from + 2;
+        if (len == 5) {
+            if (charAt(p) != ':') {
+                fail(p, "Expected ':'");
+                return -1;
+            }
+            p++;
+        }
+        final int minute = twoDigits(p);
+        if (minute < 0) {
+            return -1;
+        }
+        if (hour == 24 && minute == 0 && len == 5) {
+            return MinuteMask.MINUTES_PER_DAY;
+        }
+        if (hour > 23) {
+            fail(from, "Expected an hour between '00' and '23'");
+            return -1;
+        }
+        if (minute > 59) {
+            fail(p, "Expected a minute between '00' and '59'");
+            return -1;
+        }
+        return hour * 60 + minute;
+    }
+
+    private int twoDigits(final int from) {
+        final int d1 = charAt(from) - '0';
+        if (d1 < 0 || d1 > 9) {
+            fail(from, "Expected a digit");
+            return -1;
+        }
+        final int d2 = charAt(from + 1) - '0';
+        if (d2 < 0 || d2 > 9) {
+            fail(from + 1, "Expected a digit");
+            return -1;
+        }
+        return d1 * 10 + d2;
+    }
+
+    private boolean equalsIgnoreCase(final int from, final int to, final String value) {
+        if (to - from != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.toUpperCase(charAt(from + i)) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(final char ch, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private char charAt(final int index) {
+        if (bytes == null) {
+            return input.charAt(index);
+        }
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    private <T> T fail(final int offset, final String reason) {
+        this.errorOffset = offset;
+        this.errorReason = reason;
+        return null;
+    }
+
+}
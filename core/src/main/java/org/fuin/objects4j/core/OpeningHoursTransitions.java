@@ -0,0 +1,218 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Compiled form of {@link WeeklyOpeningHours} that answers "when does it open/close next?" queries. The opening and closing times are
+ * stored as sorted minutes of the week (0 = Monday 00:00 - 10079 = Sunday 23:59) and found with a binary search. A week is treated as a
+ * cycle, so a query on Sunday evening may return a time on the next Monday. Public holidays are not taken into account.
+ */
+@Immutable
+public final class OpeningHoursTransitions {
+
+    private static final int MINUTES_PER_WEEK = MinuteMask.MINUTES_PER_WEEK;
+
+    /** Sorted minutes of the week where the state changes from 'closed' to 'open'. */
+    private final int[] openings;
+
+    /** Sorted minutes of the week where the state changes from 'open' to 'closed'. */
+    private final int[] closings;
+
+    private final boolean alwaysOpen;
+
+    /**
+     * Constructor with weekly opening hours.
+     * 
+     * @param weeklyOpeningHours
+     *            Opening hours to compile.
+     */
+    public OpeningHoursTransitions(@NotNull final WeeklyOpeningHours weeklyOpeningHours) {
+        super();
+        Contract.requireArgNotNull("weeklyOpeningHours", weeklyOpeningHours);
+
+        final long[] week = weeklyOpeningHours.minutesMask();
+        final int[] from = new int[MINUTES_PER_WEEK / 2 + 1];
+        final int[] to = new int[MINUTES_PER_WEEK / 2 + 1];
+        int count = 0;
+        int start = MinuteMask.nextSetBit(week, 0);
+        while (start >= 0 && start < MINUTES_PER_WEEK) {
+            final int end = Math.min(MinuteMask.nextClearBit(week, start), MINUTES_PER_WEEK);
+            from[count] = start;
+            to[count] = end;
+            count++;
+            start = MinuteMask.nextSetBit(week, end);
+        }
+
+        int first = 0;
+        int last = count;
+        this.alwaysOpen = count == 1 && from[0] == 0 && to[0] == MINUTES_PER_WEEK;
+        if (alwaysOpen) {
+            last = 0;
+        } else if (count > 1 && from[0] == 0 && to[count - 1] == MINUTES_PER_WEEK) {
+            // Interval that wraps from Sunday to Monday
+            to[count - 1] = to[0];
+            first = 1;
+        }
+        this.openings = Arrays.copyOfRange(from, first, last);
+        this.closings = new int[openings.length];
+        for (int i = first; i < last; i++) {
+            closings[i - first] = to[i] % MINUTES_PER_WEEK;
+        }
+        Arrays.sort(closings);
+
+    }
+
+    /**
+     * Determines if there is no closing time at all.
+     * 
+     * @return {@literal true} if open all week.
+     */
+    public final boolean isAlwaysOpen() {
+        return alwaysOpen;
+    }
+
+    /**
+     * Determines if there is no opening time at all.
+     * 
+     * @return {@literal true} if closed all week.
+     */
+    public final boolean isAlwaysClosed() {
+        return openings.length == 0 && !alwaysOpen;
+    }
+
+    /**
+     * Determines if open at the given date and time. Seconds are ignored.
+     * 
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public final boolean isOpenAt(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        if (openings.length == 0) {
+            return alwaysOpen;
+        }
+        final int minute = WeeklyOpeningHours.minuteOfWeek(dateTime);
+        final int lastOpening = previous(openings, minute);
+        final int lastClosing = previous(closings, minute);
+        // Open if the latest transition at or before the minute was an opening
+        return distance(lastOpening, minute) < distance(lastClosing, minute);
+    }
+
+    /**
+     * Returns the next point in time when the state changes from 'closed' to 'open'. If the given date and time is exactly the opening time,
+     * it is returned unchanged.
+     * 
+     * @param dateTime
+     *            Date and time to start the search at.
+     * 
+     * @return Next opening time or {@literal null} if it is always open or always closed.
+     */
+    @Nullable
+    public final LocalDateTime nextOpening(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        return next(openings, dateTime);
+    }
+
+    /**
+     * Returns the next point in time when the state changes from 'open' to 'closed'. If the given date and time is exactly the closing time,
+     * it is returned unchanged.
+     * 
+     * @param dateTime
+     *            Date and time to start the search at.
+     * 
+     * @return Next closing time or {@literal null} if it is always open or always closed.
+     */
+    @Nullable
+    public final LocalDateTime nextClosing(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        return next(closings, dateTime);
+    }
+
+    /**
+     * Returns the end of the opening interval that contains the given date and time.
+     * 
+     * @param dateTime
+     *            Date and time inside the interval.
+     * 
+     * @return End of the interval (exclusive) or {@literal null} if it is closed at the given time or never closes.
+     */
+    @Nullable
+    public final LocalDateTime currentIntervalEnd(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        if (!isOpenAt(dateTime)) {
+            return null;
+        }
+        return next(closings, dateTime);
+    }
+
+    @Override
+    public final String toString() {
+        return "openings=" + Arrays.toString(openings) + ", closings=" + Arrays.toString(closings);
+    }
+
+    @Nullable
+    private static LocalDateTime next(final int[] transitions, final LocalDateTime dateTime) {
+        if (transitions.length == 0) {
+            return null;
+        }
+        final LocalDateTime start = dateTime.truncatedTo(ChronoUnit.MINUTES);
+        final int minute = WeeklyOpeningHours.minuteOfWeek(start);
+        final int from;
+        if (start.equals(dateTime)) {
+            from = minute;
+        } else {
+            from = minute + 1;
+        }
+        int idx = Arrays.binarySearch(transitions, from);
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        if (idx == transitions.length) {
+            return start.plusMinutes(transitions[0] + MINUTES_PER_WEEK - minute);
+        }
+        return start.plusMinutes(transitions[idx] - minute);
+    }
+
+    private static int previous(final int[] transitions, final int minute) {
+        int idx = Arrays.binarySearch(transitions, minute);
+        if (idx >= 0) {
+            return transitions[idx];
+        }
+        idx = -idx - 2;
+        if (idx < 0) {
+            return transitions[transitions.length - 1];
+        }
+        return transitions[idx];
+    }
+
+    private static int distance(final int from, final int to) {
+        return (to - from + MINUTES_PER_WEEK) % MINUTES_PER_WEEK;
+    }
+
+}
@@ -0,0 +1,248 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size limited cache for immutable value objects created from a string. Reading a cached value does not lock. Only a miss needs a lock to
+ * add the new value and, if the cache is full, to evict another one.<br>
+ * <br>
+ * Eviction uses a clock with a usage counter per entry: Every hit increments the counter of the entry (up to {@value #MAX_FREQUENCY}).
+ * When the cache is full, the clock hand moves over the entries and decrements their counters. The first entry with no usage left is
+ * replaced by the new one. This way values that are used often stay in the cache even if many values that are used only once pass through
+ * it.
+ *
+ * @param <T>
+ *            Type of the cached values.
+ */
+@ThreadSafe
+public final class ParseCache<T> {
+
+    /** Maximum usage counter of an entry. */
+    static final int MAX_FREQUENCY = 15;
+
+    private final int maxSize;
+
+    private final Function<String, T> parser;
+
+    private final Map<String, Entry<T>> map;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder evictions;
+
+    /** Guards {@link #ring}, {@link #count} and {@link #hand}. */
+    private final Object lock;
+
+    private final Entry<T>[] ring;
+
+    private int count;
+
+    private int hand;
+
+    /**
+     * Constructor with mandatory data.
+     *
+     * @param maxSize
+     *            Maximum number of cached values.
+     * @param parser
+     *            Function that creates the value for a string that is not in the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public ParseCache(final int maxSize, @NotNull final Function<String, T> parser) {
+        super();
+        Contract.requireArgMin("maxSize", maxSize, 1);
+        Contract.requireArgNotNull("parser", parser);
+        this.maxSize = maxSize;
+        this.parser = parser;
+        this.map = new ConcurrentHashMap<>(maxSize);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.lock = new Object();
+        this.ring = new Entry[maxSize];
+    }
+
+    /**
+     * Returns the value for a string. The value is created with the parser if it is not already in the cache. Strings that cannot be
+     * parsed are not cached, the exception of the parser is simply passed to the caller.
+     *
+     * @param str
+     *            String to convert.
+     *
+     * @return Cached or new value.
+     */
+    @Nullable
+    public T get(@Nullable final String str) {
+        if (str == null) {
+            return null;
+        }
+        final Entry<T> entry = map.get(str);
+        if (entry != null) {
+            entry.hit();
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return add(str, parser.apply(str));
+    }
+
+    private T add(final String key, final T value) {
+        synchronized (lock) {
+            final Entry<T> existing = map.get(key);
+            if (existing != null) {
+                // Added by another thread in the meantime
+                return existing.value;
+            }
+            final Entry<T> entry = new Entry<>(key, value);
+            if (count < ring.length) {
+                ring[count++] = entry;
+            } else {
+                while (ring[hand].cool()) {
+                    hand = (hand + 1) % ring.length;
+                }
+                map.remove(ring[hand].key);
+                evictions.increment();
+                ring[hand] = entry;
+                hand = (hand + 1) % ring.length;
+            }
+            map.put(key, entry);
+            return value;
+        }
+    }
+
+    /**
+     * Removes all values from the cache. The counters are not changed.
+     */
+    public void clear() {
+        synchronized (lock) {
+            map.clear();
+            Arrays.fill(ring, null);
+            count = 0;
+            hand = 0;
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached values.
+     *
+     * @return Maximum size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of cached values.
+     *
+     * @return Current size.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the number of calls that found the value in the cache.
+     *
+     * @return Number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of calls that had to create a new value.
+     *
+     * @return Number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of values that were removed to free space for a new one.
+     *
+     * @return Number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ParseCache [maxSize=" + maxSize + ", size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions="
+                + getEvictions() + "]";
+    }
+
+    /**
+     * Cached value with usage counter.
+     *
+     * @param <T>
+     *            Type of the value.
+     */
+    private static final class Entry<T> {
+
+        private final String key;
+
+        private final T value;
+
+        /** Usage counter - Concurrent updates may get lost, which is fine for an estimate. */
+        private volatile int frequency;
+
+        Entry(final String key, final T value) {
+            super();
+            this.key = key;
+            this.value = value;
+        }
+
+        void hit() {
+            final int f = frequency;
+            if (f < MAX_FREQUENCY) {
+                frequency = f + 1;
+            }
+        }
+
+        /**
+         * Decrements the usage counter.
+         *
+         * @return {@literal true} if the entry was still in use, {@literal false} if it can be evicted.
+         */
+        boolean cool() {
+            final int f = frequency;
+            if (f == 0) {
+                return false;
+            }
+            frequency = f - 1;
+            return true;
+        }
+
+    }
+
+}
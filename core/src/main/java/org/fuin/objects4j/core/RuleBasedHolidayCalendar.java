@@ -0,0 +1,428 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holiday calendar with rules for fixed dates like '12-25' and for dates relative to Easter Sunday like 'EASTER+1'. The holidays of a
+ * region are calculated once per year and stored with one bit per day of the year, so looking up a date is a single bit test.<br>
+ * <br>
+ * The rules can be loaded from a text file with one rule per line in the form 'REGION RULE [DESCRIPTION]'. Empty lines and lines starting
+ * with '#' are ignored. Rules of the region '*' apply to all regions. Example:
+ * 
+ * <pre>
+ * *      01-01     New Year's Day
+ * *      EASTER-2  Good Friday
+ * *      EASTER+1  Easter Monday
+ * DE-BY  01-06     Epiphany
+ * </pre>
+ */
+@ThreadSafe
+public final class RuleBasedHolidayCalendar implements HolidayCalendar {
+
+    /** Region with rules that apply to all regions. */
+    public static final String ALL_REGIONS = "*";
+
+    private static final int YEAR_WORDS = (366 + 63) >>> 6;
+
+    private final Map<String, Region> regions;
+
+    private final Region allRegions;
+
+    /**
+     * Constructor with rules per region.
+     * 
+     * @param rules
+     *            Rules per region - The rules of region {@link #ALL_REGIONS} apply to all regions.
+     */
+    public RuleBasedHolidayCalendar(@NotNull final Map<String, ? extends Collection<Rule>> rules) {
+        super();
+        Contract.requireArgNotNull("rules", rules);
+        final List<Rule> common = copy(ALL_REGIONS, rules.get(ALL_REGIONS));
+        this.allRegions = new Region(common);
+        this.regions = new HashMap<>();
+        for (final Map.Entry<String, ? extends Collection<Rule>> entry : rules.entrySet()) {
+            Contract.requireArgNotNull("rules.key", entry.getKey());
+            if (!ALL_REGIONS.equals(entry.getKey())) {
+                final List<Rule> list = new ArrayList<>(common);
+                list.addAll(copy(entry.getKey(), entry.getValue()));
+                this.regions.put(entry.getKey(), new Region(list));
+            }
+        }
+    }
+
+    private static List<Rule> copy(final String region, @Nullable final Collection<Rule> rules) {
+        if (rules == null) {
+            return Collections.emptyList();
+        }
+        for (final Rule rule : rules) {
+            if (rule == null) {
+                throw new ConstraintViolationException("The rules of region '" + region + "' cannot contain null");
+            }
+        }
+        return List.copyOf(rules);
+    }
+
+    @Override
+    public boolean isHoliday(@NotNull final LocalDate date, @NotNull final String region) {
+        Contract.requireArgNotNull("date", date);
+        Contract.requireArgNotNull("region", region);
+        final long[] bits = region(region).year(date.getYear());
+        return MinuteMask.get(bits, date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Returns the regions with own rules.
+     * 
+     * @return Unmodifiable set of region names without {@link #ALL_REGIONS}.
+     */
+    @NotNull
+    public Set<String> getRegions() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /**
+     * Returns the holidays of a year in a region. The returned array is shared and must not be changed.
+     * 
+     * @param region
+     *            Region - Unknown regions only have the holidays of {@link #ALL_REGIONS}.
+     * @param year
+     *            Year.
+     * 
+     * @return One bit per day of the year (0 = January 1st).
+     */
+    long[] holidays(final String region, final int year) {
+        return region(region).year(year);
+    }
+
+    private Region region(final String name) {
+        final Region region = regions.get(name);
+        if (region == null) {
+            return allRegions;
+        }
+        return region;
+    }
+
+    /**
+     * Loads the rules from a UTF-8 encoded file.
+     * 
+     * @param file
+     *            File with one rule per line.
+     * 
+     * @return New calendar.
+     * 
+     * @throws IOException
+     *             Error reading the file.
+     */
+    @NotNull
+    public static RuleBasedHolidayCalendar load(@NotNull final File file) throws IOException {
+        Contract.requireArgNotNull("file", file);
+        try (final Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads the rules from a reader. The reader is not closed.
+     * 
+     * @param reader
+     *            Reader with one rule per line.
+     * 
+     * @return New calendar.
+     * 
+     * @throws IOException
+     *             Error reading the rules.
+     */
+    @NotNull
+    public static RuleBasedHolidayCalendar load(@NotNull final Reader reader) throws IOException {
+        Contract.requireArgNotNull("reader", reader);
+        final Map<String, List<Rule>> rules = new LinkedHashMap<>();
+        final BufferedReader in = new BufferedReader(reader);
+        int lineNo = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            final String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            final String[] parts = trimmed.split("\\s+", 3);
+            if (parts.length < 2) {
+                throw new ConstraintViolationException("Expected 'REGION RULE' in line " + lineNo + ", but was: '" + trimmed + "'");
+            }
+            final Rule rule;
+            try {
+                rule = Rule.valueOf(parts[1]);
+            } catch (final ConstraintViolationException ex) {
+                throw new ConstraintViolationException("Invalid rule in line " + lineNo + ": " + ex.getMessage());
+            }
+            rules.computeIfAbsent(parts[0], k -> new ArrayList<>()).add(rule);
+        }
+        return new RuleBasedHolidayCalendar(rules);
+    }
+
+    /**
+     * Calculates the date of Easter Sunday in the Gregorian calendar.
+     * 
+     * @param year
+     *            Year.
+     * 
+     * @return Easter Sunday.
+     */
+    static LocalDate easterSunday(final int year) {
+        // Anonymous Gregorian algorithm (Meeus/Jones/Butcher)
+        final int a = year % 19;
+        final int b = year / 100;
+        final int c = year % 100;
+        final int d = b / 4;
+        final int e = b % 4;
+        final int f = (b + 8) / 25;
+        final int g = (b - f + 1) / 3;
+        final int h = (19 * a + b - d - g + 15) % 30;
+        final int i = c / 4;
+        final int k = c % 4;
+        final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        final int m = (a + 11 * h + 22 * l) / 451;
+        final int n = h + l - 7 * m + 114;
+        return LocalDate.of(year, n / 31, (n % 31) + 1);
+    }
+
+    /**
+     * Rules of a region and the holidays calculated from them.
+     */
+    private static final class Region {
+
+        private final List<Rule> rules;
+
+        private final Map<Integer, Year> years;
+
+        /** Year used last - Reading a stale value is harmless as instances are immutable. */
+        private Year last;
+
+        Region(final List<Rule> rules) {
+            super();
+            this.rules = rules;
+            this.years = new ConcurrentHashMap<>();
+        }
+
+        long[] year(final int year) {
+            final Year y = last;
+            if (y != null && y.year == year) {
+                return y.bits;
+            }
+            final Year found = years.computeIfAbsent(year, this::load);
+            last = found;
+            return found.bits;
+        }
+
+        private Year load(final int year) {
+            final long[] bits = new long[YEAR_WORDS];
+            for (final Rule rule : rules) {
+                final LocalDate date = rule.dateIn(year);
+                if (date != null && date.getYear() == year) {
+                    final int day = date.getDayOfYear() - 1;
+                    bits[day >>> 6] |= 1L << day;
+                }
+            }
+            return new Year(year, bits);
+        }
+
+    }
+
+    /**
+     * Holidays of a single year.
+     */
+    private static final class Year {
+
+        private final int year;
+
+        private final long[] bits;
+
+        Year(final int year, final long[] bits) {
+            super();
+            this.year = year;
+            this.bits = bits;
+        }
+
+    }
+
+    /**
+     * Rule that defines a holiday in every year.
+     */
+    @Immutable
+    public static final class Rule {
+
+        private static final String EASTER = "EASTER";
+
+        @Nullable
+        private final MonthDay monthDay;
+
+        private final int easterOffset;
+
+        private Rule(@Nullable final MonthDay monthDay, final int easterOffset) {
+            super();
+            this.monthDay = monthDay;
+            this.easterOffset = easterOffset;
+        }
+
+        /**
+         * Creates a rule for a holiday with the same date every year. The rule is ignored in years where the date does not exist (February
+         * 29th).
+         * 
+         * @param month
+         *            Month (1-12).
+         * @param day
+         *            Day of the month (1-31).
+         * 
+         * @return New rule.
+         */
+        @NotNull
+        public static Rule fixed(final int month, final int day) {
+            try {
+                return new Rule(MonthDay.of(month, day), 0);
+            } catch (final DateTimeException ex) {
+                throw new ConstraintViolationException("The month (" + month + ") and day (" + day + ") are not a valid date");
+            }
+        }
+
+        /**
+         * Creates a rule for a holiday relative to Easter Sunday.
+         * 
+         * @param offsetDays
+         *            Number of days after (positive) or before (negative) Easter Sunday. Example: -2 = Good Friday, 1 = Easter Monday.
+         * 
+         * @return New rule.
+         */
+        @NotNull
+        public static Rule easter(final int offsetDays) {
+            return new Rule(null, offsetDays);
+        }
+
+        /**
+         * Parses a rule. Fixed dates use the format 'MM-DD' and dates relative to Easter Sunday the format 'EASTER', 'EASTER+N' or
+         * 'EASTER-N'.
+         * 
+         * @param str
+         *            Text to parse.
+         * 
+         * @return New rule.
+         */
+        @NotNull
+        public static Rule valueOf(@NotNull final String str) {
+            Contract.requireArgNotNull("str", str);
+            final String upper = str.trim().toUpperCase();
+            try {
+                if (upper.startsWith(EASTER)) {
+                    final String offset = upper.substring(EASTER.length());
+                    if (offset.isEmpty()) {
+                        return easter(0);
+                    }
+                    if (offset.charAt(0) != '+' && offset.charAt(0) != '-') {
+                        throw new NumberFormatException(offset);
+                    }
+                    return easter(Integer.parseInt(offset));
+                }
+                if (upper.length() == 5 && upper.charAt(2) == '-') {
+                    return fixed(Integer.parseInt(upper.substring(0, 2)), Integer.parseInt(upper.substring(3)));
+                }
+            } catch (final NumberFormatException ex) {
+                // Handled below
+            }
+            throw new ConstraintViolationException("Expected 'MM-DD' or 'EASTER[+-N]', but was: '" + str + "'");
+        }
+
+        /**
+         * Returns the date of the holiday in a year.
+         * 
+         * @param year
+         *            Year.
+         * 
+         * @return Date or {@literal null} if the holiday does not exist in the year. A date relative to Easter may be in another year for
+         *         very large offsets.
+         */
+        @Nullable
+        public LocalDate dateIn(final int year) {
+            if (monthDay == null) {
+                return easterSunday(year).plusDays(easterOffset);
+            }
+            if (!monthDay.isValidYear(year)) {
+                return null;
+            }
+            return monthDay.atYear(year);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(monthDay, easterOffset);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Rule)) {
+                return false;
+            }
+            final Rule other = (Rule) obj;
+            return Objects.equals(monthDay, other.monthDay) && easterOffset == other.easterOffset;
+        }
+
+        @Override
+        public String toString() {
+            if (monthDay == null) {
+                if (easterOffset == 0) {
+                    return EASTER;
+                }
+                if (easterOffset > 0) {
+                    return EASTER + "+" + easterOffset;
+                }
+                return EASTER + easterOffset;
+            }
+            return String.format("%02d-%02d", monthDay.getMonthValue(), monthDay.getDayOfMonth());
+        }
+
+    }
+
+}
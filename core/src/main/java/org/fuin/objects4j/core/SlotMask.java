@@ -0,0 +1,269 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compact bitmap of open times where each bit stands for a slot of some minutes. Most opening hours start and end on quarter hours, so a
+ * week including the public holiday needs only 768 bits (12 longs) with a resolution of 15 minutes instead of 11520 bits with one bit per
+ * minute. If a range does not start or end on a slot boundary, the mask falls back to a resolution of one minute, so it is always exact.
+ * Use {@link #getResolution()} to find out the resolution that was really used.
+ */
+@Immutable
+public final class SlotMask implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    private final Resolution resolution;
+
+    private final int length;
+
+    private final long[] slots;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param resolution
+     *            Minutes per slot.
+     * @param length
+     *            Number of minutes covered by the mask.
+     * @param slots
+     *            Bits of the slots (will not be copied).
+     */
+    SlotMask(final Resolution resolution, final int length, final long[] slots) {
+        super();
+        this.resolution = resolution;
+        this.length = length;
+        this.slots = slots;
+    }
+
+    /**
+     * Returns the resolution of the mask. This may be {@link Resolution#MINUTE} even if another one was requested.
+     *
+     * @return Minutes per slot.
+     */
+    @NotNull
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Returns the number of minutes covered by the mask.
+     *
+     * @return Length in minutes (1440 per day).
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the number of long values used to store the slots.
+     *
+     * @return Number of words.
+     */
+    public int getWords() {
+        return slots.length;
+    }
+
+    /**
+     * Determines if open at the given minute.
+     *
+     * @param minute
+     *            Minute relative to the start of the mask (0 = 00:00 of the first day).
+     *
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(final int minute) {
+        Contract.requireArgMin("minute", minute, 0);
+        Contract.requireArgMax("minute", minute, length - 1);
+        return MinuteMask.get(slots, minute / resolution.minutes);
+    }
+
+    /**
+     * Determines if open at the given date and time. Seconds and public holidays are ignored. Only a mask created from
+     * {@link WeeklyOpeningHours} can answer this.
+     *
+     * @param dateTime
+     *            Date and time to verify.
+     *
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        requireWeek("Only a mask of a week can be used with a date and time");
+        return isOpenAt(WeeklyOpeningHours.minuteOfWeek(dateTime));
+    }
+
+    /**
+     * Converts a mask created with {@link WeeklyOpeningHours#toSlotMask(Resolution)} back into opening hours. The result is compressed, so
+     * days with the same hours are grouped.
+     *
+     * @return New instance.
+     */
+    @NotNull
+    public WeeklyOpeningHours toWeeklyOpeningHours() {
+        requireWeek("Only a mask of a week can be converted into weekly opening hours");
+        final long[] minutes = toMinutes();
+        return WeeklyOpeningHours.compressed(minutes, MinuteMask.fingerprint(minutes));
+    }
+
+    /**
+     * Returns the bits of the slots. The returned array is the internal state of this instance and must not be changed.
+     *
+     * @return Slots with one bit per slot.
+     */
+    final long[] slots() {
+        return slots;
+    }
+
+    private void requireWeek(final String message) {
+        if (length != MinuteMask.DAYS * MinuteMask.MINUTES_PER_DAY) {
+            throw new ConstraintViolationException(message + ", but length was: " + length);
+        }
+    }
+
+    /**
+     * Returns the open minutes with one bit per minute.
+     *
+     * @return New minute mask.
+     */
+    final long[] toMinutes() {
+        if (resolution == Resolution.MINUTE) {
+            return slots.clone();
+        }
+        final int size = resolution.minutes;
+        final long[] minutes = new long[(length + 63) >>> 6];
+        int from = MinuteMask.nextSetBit(slots, 0);
+        while (from >= 0) {
+            final int to = MinuteMask.nextClearBit(slots, from);
+            MinuteMask.set(minutes, from * size, to * size);
+            from = MinuteMask.nextSetBit(slots, to);
+        }
+        return minutes;
+    }
+
+    /**
+     * Creates a mask from minutes.
+     *
+     * @param minutes
+     *            Mask with one bit per minute (will not be changed).
+     * @param length
+     *            Number of minutes to use - Must be a multiple of 1440.
+     * @param resolution
+     *            Preferred resolution.
+     *
+     * @return Mask with the preferred resolution or with a resolution of one minute if a range does not fit into the slots.
+     */
+    static SlotMask valueOf(final long[] minutes, final int length, final Resolution resolution) {
+        final int size = resolution.minutes;
+        if (size == 1 || !isAligned(minutes, length, size)) {
+            return new SlotMask(Resolution.MINUTE, length, MinuteMask.copy(minutes, length));
+        }
+        final long[] slots = new long[(length / size + 63) >>> 6];
+        int from = MinuteMask.nextSetBit(minutes, 0);
+        while (from >= 0 && from < length) {
+            final int to = Math.min(MinuteMask.nextClearBit(minutes, from), length);
+            MinuteMask.set(slots, from / size, to / size);
+            from = MinuteMask.nextSetBit(minutes, to);
+        }
+        return new SlotMask(resolution, length, slots);
+    }
+
+    private static boolean isAligned(final long[] minutes, final int length, final int size) {
+        int from = MinuteMask.nextSetBit(minutes, 0);
+        while (from >= 0 && from < length) {
+            final int to = Math.min(MinuteMask.nextClearBit(minutes, from), length);
+            if (from % size != 0 || to % size != 0) {
+                return false;
+            }
+            from = MinuteMask.nextSetBit(minutes, to);
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resolution, length, Arrays.hashCode(slots));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SlotMask other = (SlotMask) obj;
+        return resolution == other.resolution && length == other.length && Arrays.equals(slots, other.slots);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotMask [resolution=" + resolution + ", length=" + length + ", words=" + slots.length + "]";
+    }
+
+    /**
+     * Number of minutes that is represented by one bit of the mask.
+     */
+    public enum Resolution {
+
+        /** One bit per minute. */
+        MINUTE(1),
+
+        /** One bit per five minutes. */
+        FIVE_MINUTES(5),
+
+        /** One bit per quarter of an hour. */
+        FIFTEEN_MINUTES(15),
+
+        /** One bit per half an hour. */
+        THIRTY_MINUTES(30);
+
+        private final int minutes;
+
+        Resolution(final int minutes) {
+            this.minutes = minutes;
+        }
+
+        /**
+         * Returns the number of minutes per slot.
+         *
+         * @return Minutes.
+         */
+        public int getMinutes() {
+            return minutes;
+        }
+
+    }
+
+}
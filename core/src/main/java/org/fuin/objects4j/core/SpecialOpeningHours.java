@@ -0,0 +1,574 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.common.Contract;
+import org.fuin.objects4j.common.HasPublicStaticIsValidMethod;
+import org.fuin.objects4j.common.HasPublicStaticValueOfMethod;
+import org.fuin.objects4j.common.ValueObject;
+import org.fuin.objects4j.ui.Prompt;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Weekly opening hours with special hours for single dates or date ranges separated by a semicolon ';'.<br>
+ * Example: 'Mon-Fri 09:00-18:00;2025-12-01/2025-12-23 09:00-20:00;2025-12-24 CLOSED'.<br>
+ * <br>
+ * If the dates of two special hours overlap, the one that comes later wins. The special hours of a date are found with a binary search, so
+ * the time to evaluate a date does not grow linear with the number of special hours. Special hours replace the weekly hours of their dates.
+ * Hours that span midnight are open after midnight unless the next date has other special hours. In the same way the weekly hours after
+ * midnight do not apply to the date after a date with special hours. Compressed or decoded weekly hours (like the result of
+ * {@link WeeklyOpeningHours#compress()}) store these hours as hours of the next day, so they are not removed in this case.
+ */
+@Immutable
+@Prompt("Mon-Fri 09:00-18:00;2025-12-24 CLOSED")
+@HasPublicStaticIsValidMethod
+@HasPublicStaticValueOfMethod
+public final class SpecialOpeningHours extends AbstractStringValueObject {
+
+    @Serial
+    private static final long serialVersionUID = 1000L;
+
+    /** Separates the weekly hours and the special hours. */
+    private static final String SEPARATOR = ";";
+
+    @NotNull
+    private final WeeklyOpeningHours weeklyOpeningHours;
+
+    @NotNull
+    private final List<DateOverride> overrides;
+
+    private final String value;
+
+    /** First day (epoch day) of each non-overlapping segment in ascending order. */
+    private final long[] starts;
+
+    /** Last day (epoch day) of each segment. */
+    private final long[] ends;
+
+    /** Special hours of each segment. */
+    private final DateOverride[] segments;
+
+    /**
+     * Constructor with string.
+     * 
+     * @param specialOpeningHours
+     *            Opening hours like 'Mon-Fri 09:00-18:00;2025-12-24 CLOSED'.
+     */
+    public SpecialOpeningHours(@NotNull @SpecialOpeningHoursStr final String specialOpeningHours) {
+        this(parseWeekly(specialOpeningHours), parseOverrides(specialOpeningHours));
+    }
+
+    /**
+     * Constructor with weekly hours and special hours.
+     * 
+     * @param weeklyOpeningHours
+     *            Hours used for all dates without special hours.
+     * @param overrides
+     *            Special hours - A later one wins if the dates overlap.
+     */
+    public SpecialOpeningHours(@NotNull final WeeklyOpeningHours weeklyOpeningHours, @NotNull final DateOverride... overrides) {
+        super();
+        Contract.requireArgNotNull("weeklyOpeningHours", weeklyOpeningHours);
+        Contract.requireArgNotNull("overrides", overrides);
+        this.weeklyOpeningHours = weeklyOpeningHours;
+        final List<DateOverride> list = new ArrayList<>();
+        final StringBuilder sb = new StringBuilder(weeklyOpeningHours.asBaseType());
+        for (final DateOverride override : overrides) {
+            if (override != null) {
+                list.add(override);
+                sb.append(SEPARATOR).append(override);
+            }
+        }
+        this.overrides = Collections.unmodifiableList(list);
+        this.value = sb.toString();
+
+        final List<Segment> flat = flatten(list);
+        this.starts = new long[flat.size()];
+        this.ends = new long[flat.size()];
+        this.segments = new DateOverride[flat.size()];
+        for (int i = 0; i < flat.size(); i++) {
+            final Segment segment = flat.get(i);
+            starts[i] = segment.from;
+            ends[i] = segment.to;
+            segments[i] = segment.override;
+        }
+    }
+
+    /**
+     * Splits the special hours into segments that do not overlap.
+     * 
+     * @param overrides
+     *            Special hours in the order of precedence (last wins).
+     * 
+     * @return Segments ordered by start.
+     */
+    private static List<Segment> flatten(final List<DateOverride> overrides) {
+        List<Segment> segments = new ArrayList<>();
+        for (final DateOverride override : overrides) {
+            final long from = override.getFrom().toEpochDay();
+            final long to = override.getTo().toEpochDay();
+            final List<Segment> result = new ArrayList<>();
+            for (final Segment segment : segments) {
+                if (segment.to < from || segment.from > to) {
+                    result.add(segment);
+                } else {
+                    if (segment.from < from) {
+                        result.add(new Segment(segment.from, from - 1, segment.override));
+                    }
+                    if (segment.to > to) {
+                        result.add(new Segment(to + 1, segment.to, segment.override));
+                    }
+                }
+            }
+            result.add(new Segment(from, to, override));
+            segments = result;
+        }
+        segments.sort(Comparator.comparingLong(segment -> segment.from));
+        return segments;
+    }
+
+    @Override
+    @NotEmpty
+    public String asBaseType() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    /**
+     * Returns the hours used for all dates without special hours.
+     * 
+     * @return Weekly opening hours.
+     */
+    @NotNull
+    public WeeklyOpeningHours getWeeklyOpeningHours() {
+        return weeklyOpeningHours;
+    }
+
+    /**
+     * Returns the special hours in the order they were defined.
+     * 
+     * @return Unmodifiable list.
+     */
+    @NotNull
+    public List<DateOverride> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * Returns the special hours that apply to a date.
+     * 
+     * @param date
+     *            Date to find.
+     * 
+     * @return Special hours or {@literal null} if the weekly hours apply.
+     */
+    @Nullable
+    public DateOverride getOverride(@NotNull final LocalDate date) {
+        Contract.requireArgNotNull("date", date);
+        return find(date.toEpochDay());
+    }
+
+    /**
+     * Returns the hours that apply to a date. These are either the special hours of the date or the hours of the day of the week.
+     * 
+     * @param date
+     *            Date to find.
+     * 
+     * @return Hour ranges or {@literal null} if closed the whole day.
+     */
+    @Nullable
+    public HourRanges getHourRanges(@NotNull final LocalDate date) {
+        Contract.requireArgNotNull("date", date);
+        final long epochDay = date.toEpochDay();
+        final DateOverride override = find(epochDay);
+        if (override != null) {
+            return override.getHourRanges();
+        }
+        final int offset = (date.getDayOfWeek().getValue() - 1) * MinuteMask.MINUTES_PER_DAY;
+        final long[] week = find(epochDay - 1) == null ? weeklyOpeningHours.minutesMask() : weeklyOpeningHours.sameDayMinutesMask();
+        final long[] day = MinuteMask.day(week, offset);
+        if (MinuteMask.isEmpty(day)) {
+            return null;
+        }
+        return HourRanges.valueOf(day);
+    }
+
+    /**
+     * Determines if open at the given date and time. Seconds are ignored.
+     * 
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        final long day = dateTime.toLocalDate().toEpochDay();
+        final int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+        final DateOverride today = find(day);
+        final DateOverride yesterday = find(day - 1);
+        if (yesterday != null && (today == null || today == yesterday) && yesterday.isOpenAfterMidnight(minute)) {
+            return true;
+        }
+        if (today != null) {
+            return today.isOpenAt(minute);
+        }
+        if (yesterday != null) {
+            // Special hours replace the whole date, including the weekly hours after midnight
+            return MinuteMask.get(weeklyOpeningHours.sameDayMinutesMask(), WeeklyOpeningHours.minuteOfWeek(dateTime));
+        }
+        return weeklyOpeningHours.isOpenAt(dateTime);
+    }
+
+    @Nullable
+    private DateOverride find(final long epochDay) {
+        int idx = Arrays.binarySearch(starts, epochDay);
+        if (idx < 0) {
+            idx = -idx - 2;
+        }
+        if (idx >= 0 && epochDay <= ends[idx]) {
+            return segments[idx];
+        }
+        return null;
+    }
+
+    private static WeeklyOpeningHours parseWeekly(final String specialOpeningHours) {
+        Contract.requireArgNotEmpty("specialOpeningHours", specialOpeningHours);
+        final int p = specialOpeningHours.indexOf(SEPARATOR);
+        final String weekly = p < 0 ? specialOpeningHours : specialOpeningHours.substring(0, p);
+        if (!WeeklyOpeningHours.isValid(weekly)) {
+            throw new ConstraintViolationException(invalidMessage("specialOpeningHours", specialOpeningHours));
+        }
+        return new WeeklyOpeningHours(weekly);
+    }
+
+    private static DateOverride[] parseOverrides(final String specialOpeningHours) {
+        final String[] parts = specialOpeningHours.split(SEPARATOR, -1);
+        final DateOverride[] overrides = new DateOverride[parts.length - 1];
+        for (int i = 1; i < parts.length; i++) {
+            final DateOverride override = DateOverride.parse(parts[i]);
+            if (override == null) {
+                throw new ConstraintViolationException(invalidMessage("specialOpeningHours", specialOpeningHours));
+            }
+            overrides[i - 1] = override;
+        }
+        return overrides;
+    }
+
+    /**
+     * Verifies if the string is valid and could be converted into an object.
+     * 
+     * @param specialOpeningHours
+     *            String to test.
+     * 
+     * @return {@literal true} if the string is a valid string, else {@literal false}.
+     */
+    public static boolean isValid(@Nullable final String specialOpeningHours) {
+        if (specialOpeningHours == null) {
+            return true;
+        }
+        final String[] parts = specialOpeningHours.split(SEPARATOR, -1);
+        if (!WeeklyOpeningHours.isValid(parts[0])) {
+            return false;
+        }
+        for (int i = 1; i < parts.length; i++) {
+            if (DateOverride.parse(parts[i]) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a given string into an instance of this class.
+     * 
+     * @param str
+     *            String to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static SpecialOpeningHours valueOf(@Nullable final String str) {
+        if (str == null) {
+            return null;
+        }
+        return new SpecialOpeningHours(str);
+    }
+
+    /**
+     * Checks if the argument is valid and throws an exception if this is not the case.
+     * 
+     * @param name
+     *            Name of the value for a possible error message.
+     * @param value
+     *            Value to check.
+     * 
+     * @throws ConstraintViolationException
+     *             The value was not valid.
+     */
+    // CHECKSTYLE:OFF:RedundantThrows
+    public static void requireArgValid(@NotNull final String name, @NotNull final String value) throws ConstraintViolationException {
+        // CHECKSTYLE:ON
+
+        if (!isValid(value)) {
+            throw new ConstraintViolationException(invalidMessage(name, value));
+        }
+
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name + "' does not represent valid special opening hours like 'Mon-Fri 09:00-18:00;2025-12-24 CLOSED': '"
+                + value + "'";
+    }
+
+    /**
+     * Part of the special hours that does not overlap with others.
+     */
+    private static final class Segment {
+
+        private final long from;
+
+        private final long to;
+
+        private final DateOverride override;
+
+        Segment(final long from, final long to, final DateOverride override) {
+            super();
+            this.from = from;
+            this.to = to;
+            this.override = override;
+        }
+
+    }
+
+    /**
+     * Special hours for a single date or a range of dates like '2025-12-24 CLOSED' or '2025-12-01/2025-12-23 09:00-20:00'.
+     */
+    @Immutable
+    public static final class DateOverride implements ValueObject, Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1000L;
+
+        private static final String CLOSED = "CLOSED";
+
+        @NotNull
+        private final LocalDate from;
+
+        @NotNull
+        private final LocalDate to;
+
+        @Nullable
+        private final HourRanges hourRanges;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param from
+         *            First date (inclusive).
+         * @param to
+         *            Last date (inclusive).
+         * @param hourRanges
+         *            Hours for all dates of the range or {@literal null} if closed.
+         */
+        public DateOverride(@NotNull final LocalDate from, @NotNull final LocalDate to, @Nullable final HourRanges hourRanges) {
+            super();
+            Contract.requireArgNotNull("from", from);
+            Contract.requireArgNotNull("to", to);
+            if (to.isBefore(from)) {
+                throw new ConstraintViolationException("The argument 'to' (" + to + ") cannot be before 'from' (" + from + ")");
+            }
+            this.from = from;
+            this.to = to;
+            this.hourRanges = hourRanges;
+        }
+
+        /**
+         * Constructor for a single date.
+         * 
+         * @param date
+         *            Date.
+         * @param hourRanges
+         *            Hours of the date or {@literal null} if closed.
+         */
+        public DateOverride(@NotNull final LocalDate date, @Nullable final HourRanges hourRanges) {
+            this(date, date, hourRanges);
+        }
+
+        /**
+         * Returns the first date.
+         * 
+         * @return First date (inclusive).
+         */
+        @NotNull
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        /**
+         * Returns the last date.
+         * 
+         * @return Last date (inclusive).
+         */
+        @NotNull
+        public LocalDate getTo() {
+            return to;
+        }
+
+        /**
+         * Returns the hours for all dates of the range.
+         * 
+         * @return Hour ranges or {@literal null} if closed.
+         */
+        @Nullable
+        public HourRanges getHourRanges() {
+            return hourRanges;
+        }
+
+        /**
+         * Returns the information if closed the whole day.
+         * 
+         * @return {@literal true} if there are no hours.
+         */
+        public boolean isClosed() {
+            return hourRanges == null;
+        }
+
+        /**
+         * Determines if the date is inside the range.
+         * 
+         * @param date
+         *            Date to verify.
+         * 
+         * @return {@literal true} if the date is between the first and the last date (both inclusive).
+         */
+        public boolean contains(@NotNull final LocalDate date) {
+            Contract.requireArgNotNull("date", date);
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+
+        boolean isOpenAt(final int minuteOfDay) {
+            return hourRanges != null && MinuteMask.get(hourRanges.minutesMask(), minuteOfDay);
+        }
+
+        boolean isOpenAfterMidnight(final int minuteOfDay) {
+            return hourRanges != null && hourRanges.nextDayMinutesMask() != null
+                    && MinuteMask.get(hourRanges.nextDayMinutesMask(), minuteOfDay);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to, hourRanges);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DateOverride)) {
+                return false;
+            }
+            final DateOverride other = (DateOverride) obj;
+            return from.equals(other.from) && to.equals(other.to) && Objects.equals(hourRanges, other.hourRanges);
+        }
+
+        @Override
+        public String toString() {
+            final String dates;
+            if (from.equals(to)) {
+                dates = from.toString();
+            } else {
+                dates = from + "/" + to;
+            }
+            if (hourRanges == null) {
+                return dates + " " + CLOSED;
+            }
+            return dates + " " + hourRanges;
+        }
+
+        /**
+         * Converts a given string into an instance of this class.
+         * 
+         * @param str
+         *            String like '2025-12-24 CLOSED' or '2025-12-01/2025-12-23 09:00-20:00'.
+         * 
+         * @return New instance.
+         */
+        @Nullable
+        public static DateOverride valueOf(@Nullable final String str) {
+            if (str == null) {
+                return null;
+            }
+            final DateOverride override = parse(str);
+            if (override == null) {
+                throw new ConstraintViolationException(
+                        "The argument 'str' does not represent valid special hours like '2025-12-24 CLOSED': '" + str + "'");
+            }
+            return override;
+        }
+
+        @Nullable
+        private static DateOverride parse(final String str) {
+            final String trimmed = str.trim();
+            final int p = trimmed.indexOf(' ');
+            if (p < 0) {
+                return null;
+            }
+            final String dates = trimmed.substring(0, p);
+            final String hours = trimmed.substring(p + 1).trim();
+            try {
+                final HourRanges ranges;
+                if (CLOSED.equalsIgnoreCase(hours)) {
+                    ranges = null;
+                } else {
+                    ranges = new HourRanges(hours);
+                }
+                final int slash = dates.indexOf('/');
+                if (slash < 0) {
+                    return new DateOverride(LocalDate.parse(dates), ranges);
+                }
+                return new DateOverride(LocalDate.parse(dates.substring(0, slash)), LocalDate.parse(dates.substring(slash + 1)), ranges);
+            } catch (final DateTimeException | ConstraintViolationException ex) {
+                return null;
+            }
+        }
+
+    }
+
+}
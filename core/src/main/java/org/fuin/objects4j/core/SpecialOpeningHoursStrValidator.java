@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved. 
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Verifies if this represents weekly opening hours with special hours for dates separated by a semicolon ';'.<br>
+ * Example: 'Mon-Fri 09:00-18:00;2025-12-24 CLOSED'.
+ */
+public final class SpecialOpeningHoursStrValidator implements ConstraintValidator<SpecialOpeningHoursStr, String> {
+
+    @Override
+    public final void initialize(final SpecialOpeningHoursStr constraintAnnotation) {
+        // No initialization required
+    }
+
+    @Override
+    public final boolean isValid(final String value, final ConstraintValidatorContext context) {
+        return isValid(value);
+    }
+
+    /**
+     * Check that a given string is a valid {@link org.fuin.objects4j.core.SpecialOpeningHours}.
+     * 
+     * @param value
+     *            Value to check.
+     * 
+     * @return Returns {@literal true} if it's a valid string representation else {@literal false} is returned.
+     */
+    public static boolean isValid(final String value) {
+        return SpecialOpeningHours.isValid(value);
+    }
+
+}
@@ -29,13 +29,23 @@ import org.fuin.objects4j.ui.Prompt;
 
 import javax.annotation.concurrent.Immutable;
 import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents weekly opening hours separated by a comma ','.<br>
@@ -46,16 +56,29 @@ import java.util.StringTokenizer;
 @Prompt("Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00")
 @HasPublicStaticIsValidMethod
 @HasPublicStaticValueOfMethod
+@HasPublicStaticValueOfMethod(method = "valueOf", param = CharSequence.class)
 public final class WeeklyOpeningHours extends AbstractStringValueObject implements Iterable<DayOpeningHours> {
 
     @Serial
     private static final long serialVersionUID = 1000L;
 
+    /** Optional cache used by {@link #valueOf(String)}. */
+    private static volatile ParseCache<WeeklyOpeningHours> cache;
+
     @NotEmpty
     private final List<DayOpeningHours> openingHours;
 
     private final String value;
 
+    /** Open minutes of all days in the order 'Mon'-'Sun' plus 'PH'. Hours spanning midnight are stored at the next day. */
+    private final long[] minutes;
+
+    /** Open minutes without the hours that continue after midnight from the day before - Same array as 'minutes' if there are none. */
+    private final long[] sameDayMinutes;
+
+    /** Hash of the open minutes. */
+    private final long fingerprint;
+
     /**
      * Constructor with string.
      * 
@@ -63,32 +86,34 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
      *            Opening hours like 'Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00'.
      */
     public WeeklyOpeningHours(@NotNull @WeeklyOpeningHoursStr final String openingHours) {
+        this(parserFor(openingHours));
+    }
+
+    /**
+     * Constructor with a parser for the input.
+     * 
+     * @param parser
+     *            Parser with opening hours like 'Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00'.
+     */
+    private WeeklyOpeningHours(final OpeningHoursParser parser) {
         super();
-        Contract.requireArgNotEmpty("weeklyOpeningHours", openingHours);
-        requireArgValid("weeklyOpeningHours", openingHours);
+        final List<DayOpeningHours> days = parser.weeklyOpeningHours();
+        if (days == null) {
+            throw parser.exception(invalidMessage("weeklyOpeningHours", parser.text()));
+        }
 
         this.openingHours = new ArrayList<>();
-
-        final StringTokenizer tok = new StringTokenizer(openingHours, ",");
-        while (tok.hasMoreTokens()) {
-            final String part = tok.nextToken();
-            final int p = part.indexOf(' ');
-            final MultiDayOfTheWeek dayPart = MultiDayOfTheWeek.valueOf(part.substring(0, p));
-            final HourRanges hourPart = new HourRanges(part.substring(p + 1));
-            for (DayOfTheWeek dow : dayPart) {
-                final DayOpeningHours doh = new DayOpeningHours(dow, hourPart);
-                final List<DayOpeningHours> normalized = doh.normalize();
-                if (normalized.size() == 1) {
-                    addOrUpdate(normalized.get(0));
-                } else {
-                    addOrUpdate(normalized.get(0));
-                    addOrUpdate(normalized.get(1));
-                }
+        for (final DayOpeningHours doh : days) {
+            for (final DayOpeningHours normalized : doh.normalize()) {
+                addOrUpdate(normalized);
             }
         }
 
         Collections.sort(this.openingHours);
-        this.value = openingHours.toUpperCase();
+        this.value = parser.upperCaseText();
+        this.minutes = weekMinutes(this.openingHours);
+        this.sameDayMinutes = sameDayMinutes(days, this.minutes);
+        this.fingerprint = MinuteMask.fingerprint(this.minutes);
 
     }
 
@@ -116,9 +141,33 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
 
         Collections.sort(this.openingHours);
         this.value = asString(this.openingHours);
+        this.minutes = weekMinutes(this.openingHours);
+        this.sameDayMinutes = sameDayMinutes(this.openingHours, this.minutes);
+        this.fingerprint = MinuteMask.fingerprint(this.minutes);
 
     }
 
+    /**
+     * Constructor with already normalized data.
+     * 
+     * @param openingHours
+     *            Sorted opening hours per day.
+     * @param value
+     *            Text for the opening hours.
+     * @param minutes
+     *            Open minutes of the week (will not be copied).
+     * @param fingerprint
+     *            Hash of the open minutes.
+     */
+    private WeeklyOpeningHours(final List<DayOpeningHours> openingHours, final String value, final long[] minutes, final long fingerprint) {
+        super();
+        this.openingHours = openingHours;
+        this.value = value;
+        this.minutes = minutes;
+        this.sameDayMinutes = minutes;
+        this.fingerprint = fingerprint;
+    }
+
     private void addOrUpdate(final DayOpeningHours doh) {
         final int idx = this.openingHours.indexOf(doh);
         if (idx < 0) {
@@ -181,33 +230,75 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
 
         Contract.requireArgNotNull("toOther", toOther);
 
-        final WeeklyOpeningHours thisNormalized = this.normalize();
-        final WeeklyOpeningHours otherNormalized = toOther.normalize();
-
+        // Hours spanning midnight are already part of the next day in the week masks
         final List<Change> changes = new ArrayList<>();
-
-        for (final DayOpeningHours thisDoh : thisNormalized) {
-            final DayOpeningHours otherDoh = otherNormalized.findDay(thisDoh);
-            if (otherDoh == null) {
-                // A day was completely deleted
-                changes.addAll(thisDoh.asRemovedChanges());
-            } else {
-                // Day exists, but hours may have changed
-                changes.addAll(thisDoh.diff(otherDoh));
-            }
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            DayOpeningHours.addChanges(changes, DayOfTheWeek.ofIndex(i), this.minutes, toOther.minutes, i * MinuteMask.MINUTES_PER_DAY);
         }
-        for (final DayOpeningHours otherDoh : otherNormalized) {
-            final DayOpeningHours thisDoh = thisNormalized.findDay(otherDoh);
-            if (thisDoh == null) {
-                // A new day was added
-                changes.addAll(otherDoh.asAddedChanges());
-            }
-        }
-
         return changes;
 
     }
 
+    /**
+     * Returns the added/removed opening hours from this week to the other one as a lazy stream. The changes are computed day by day when
+     * the stream is consumed, so short-circuiting operations like {@link Stream#findAny()} stop comparing as soon as possible.
+     * 
+     * @param toOther
+     *            New weekly information to compare with.
+     * 
+     * @return Changes from this week to the new one ordered by day.
+     */
+    @NotNull
+    public Stream<Change> diffStream(@NotNull final WeeklyOpeningHours toOther) {
+        Contract.requireArgNotNull("toOther", toOther);
+        return StreamSupport.stream(new DiffSpliterator(this.minutes, toOther.minutes, 0, MinuteMask.DAYS), false);
+    }
+
+    /**
+     * Determines if there is any difference between the opening hours of this week and the other one. The result is the same as
+     * {@code !diff(toOther).isEmpty()} but no changes are created.
+     * 
+     * @param toOther
+     *            New weekly information to compare with.
+     * 
+     * @return {@literal true} if at least one minute of a day is different.
+     */
+    public boolean hasChanges(@NotNull final WeeklyOpeningHours toOther) {
+        Contract.requireArgNotNull("toOther", toOther);
+        return !Arrays.equals(this.minutes, toOther.minutes);
+    }
+
+    /**
+     * Returns the changes between two snapshots of keyed weekly opening hours. Keys only contained in the first map are reported with
+     * removed changes and keys only contained in the second map with added changes. Keys are compared in parallel and unchanged entries are
+     * skipped without creating any changes.
+     * 
+     * @param from
+     *            Snapshot before the change.
+     * @param to
+     *            Snapshot after the change.
+     * @param <K>
+     *            Type of the key.
+     * 
+     * @return Parallel stream of key and change pairs - The order is undefined.
+     */
+    @NotNull
+    public static <K> Stream<Map.Entry<K, Change>> diffAll(@NotNull final Map<K, WeeklyOpeningHours> from,
+            @NotNull final Map<K, WeeklyOpeningHours> to) {
+        Contract.requireArgNotNull("from", from);
+        Contract.requireArgNotNull("to", to);
+        final Stream<K> keys = Stream.concat(from.keySet().stream(), to.keySet().stream().filter(key -> !from.containsKey(key)));
+        return keys.parallel().flatMap(key -> {
+            final long[] fromMinutes = minutesOf(from.get(key));
+            final long[] toMinutes = minutesOf(to.get(key));
+            if (Arrays.equals(fromMinutes, toMinutes)) {
+                return Stream.empty();
+            }
+            return StreamSupport.stream(new DiffSpliterator(fromMinutes, toMinutes, 0, MinuteMask.DAYS), false)
+                    .map(change -> Map.entry(key, change));
+        });
+    }
+
     /**
      * Returns all days and hour ranges as if they were removed.
      * 
@@ -236,14 +327,6 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
         return changes;
     }
 
-    private DayOpeningHours findDay(final DayOpeningHours toFind) {
-        final int idx = openingHours.indexOf(toFind);
-        if (idx < 0) {
-            return null;
-        }
-        return openingHours.get(idx);
-    }
-
     /**
      * Determines if this instance if "open" at the given day and time ranges. It is only allowed to call this method if the parameter
      * 'dayOpeningHours' represents only one day. This means a value like 'Fri 18:00-03:00' will lead to an error. To avoid this, call the
@@ -262,61 +345,430 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
                     "The argument 'dayOpeningHours' is expected to have only hours of a single day, but was: " + dayOpeningHours);
         }
 
-        final int idx = openingHours.indexOf(dayOpeningHours);
-        if (idx < 0) {
-            return false;
+        final int offset = offset(dayOpeningHours.getDayOfTheWeek());
+        for (final HourRange range : dayOpeningHours.getHourRanges()) {
+            if (!MinuteMask.containsRange(minutes, offset + range.getFrom().toMinutes(), offset + range.getTo().toMinutes())) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * Determines if this instance is "open" at the given minute of a day. Hours of the previous day that span midnight are taken into
+     * account. For example 'Fri 18:00-03:00' is open on Saturday at 02:59 (minute 179).
+     * 
+     * @param dayOfTheWeek
+     *            Day to verify.
+     * @param minuteOfDay
+     *            Minute of the day (0 = 00:00 - 1439 = 23:59).
+     * 
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public final boolean isOpenAt(@NotNull final DayOfTheWeek dayOfTheWeek, final int minuteOfDay) {
+        Contract.requireArgNotNull("dayOfTheWeek", dayOfTheWeek);
+        Contract.requireArgMin("minuteOfDay", minuteOfDay, 0);
+        Contract.requireArgMax("minuteOfDay", minuteOfDay, MinuteMask.MINUTES_PER_DAY - 1);
+        return MinuteMask.get(minutes, offset(dayOfTheWeek) + minuteOfDay);
+    }
+
+    /**
+     * Determines if this instance is "open" at the given date and time. Seconds are ignored and public holidays are not taken into
+     * account, so the result only depends on the day of the week and the minute of the day.
+     * 
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public final boolean isOpenAt(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        return MinuteMask.get(minutes, minuteOfWeek(dateTime));
+    }
+
+    /**
+     * Returns the intervals of a period in which it is open as a lazy stream. The intervals are created from the minutes of the week when
+     * the stream is consumed, so no list per day is needed. An interval that spans midnight is returned as one interval and intervals are
+     * cut at the start and end of the period. A parallel stream splits the period by days. Public holidays are not taken into account.
+     *
+     * @param from
+     *            First day of the period (inclusive).
+     * @param to
+     *            Last day of the period (exclusive).
+     *
+     * @return Intervals ordered by start - Never {@literal null}, but may be empty.
+     */
+    @NotNull
+    public final Stream<OpenInterval<LocalDateTime>> openIntervals(@NotNull final LocalDate from, @NotNull final LocalDate to) {
+        Contract.requireArgNotNull("from", from);
+        Contract.requireArgNotNull("to", to);
+        if (to.isBefore(from)) {
+            throw new ConstraintViolationException("The argument 'to' (" + to + ") cannot be before 'from' (" + from + ")");
+        }
+        return StreamSupport.stream(new OpenIntervalSpliterator(minutes, from, to), false);
+    }
+
+    /**
+     * Counts the number of schedules that are open for every minute of the week. Public holidays are not taken into account. Large
+     * collections are split into chunks that are counted in parallel.
+     * 
+     * @param weeks
+     *            Schedules to count - Null entries are ignored.
+     * 
+     * @return Number of open schedules per minute of the week (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     */
+    @NotNull
+    public static int[] occupancy(@NotNull final Collection<WeeklyOpeningHours> weeks) {
+        Contract.requireArgNotNull("weeks", weeks);
+        final WeeklyOpeningHours[] array = weeks.toArray(new WeeklyOpeningHours[0]);
+        final OccupancyTask task = new OccupancyTask(array, 0, array.length, OccupancyTask.DEFAULT_THRESHOLD);
+        return OccupancyTask.toHistogram(ForkJoinPool.commonPool().invoke(task));
+    }
+
+    /**
+     * Returns the hours in which all schedules are open. The open minutes are combined in parallel and the result is compressed. The hours
+     * of the public holiday are combined the same way.
+     * 
+     * @param weeks
+     *            Schedules to combine - Null entries are ignored.
+     * 
+     * @return Opening hours or {@literal null} if there is no minute in which all schedules are open or if there is no schedule.
+     */
+    @Nullable
+    public static WeeklyOpeningHours intersectAll(@NotNull final Collection<WeeklyOpeningHours> weeks) {
+        return combineAll(weeks, true);
+    }
+
+    /**
+     * Returns the hours in which at least one schedule is open. The open minutes are combined in parallel and the result is compressed. The
+     * hours of the public holiday are combined the same way.
+     * 
+     * @param weeks
+     *            Schedules to combine - Null entries are ignored.
+     * 
+     * @return Opening hours or {@literal null} if there is no schedule.
+     */
+    @Nullable
+    public static WeeklyOpeningHours unionAll(@NotNull final Collection<WeeklyOpeningHours> weeks) {
+        return combineAll(weeks, false);
+    }
+
+    private static WeeklyOpeningHours combineAll(final Collection<WeeklyOpeningHours> weeks, final boolean intersect) {
+        Contract.requireArgNotNull("weeks", weeks);
+        final WeeklyOpeningHours[] array = weeks.toArray(new WeeklyOpeningHours[0]);
+        final CombineTask task = new CombineTask(array, intersect, 0, array.length, CombineTask.DEFAULT_THRESHOLD);
+        final long[] result = ForkJoinPool.commonPool().invoke(task);
+        if (result == null || MinuteMask.isEmpty(result)) {
+            return null;
+        }
+        return compressed(result, MinuteMask.fingerprint(result));
+    }
+
+    /**
+     * Determines which schedules are open at the given date and time. The date and time is compiled once into a word and a bit mask of the
+     * week, so checking a schedule is a single array access and nothing is allocated per schedule. Large arrays are checked in parallel.
+     * Seconds and public holidays are ignored.
+     * 
+     * @param weeks
+     *            Schedules to check - Null entries are never open.
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return Bits with the index of the schedules that are open (bit {@code i % 64} of word {@code i / 64}) - Can be converted with
+     *         {@link java.util.BitSet#valueOf(long[])}.
+     */
+    @NotNull
+    public static long[] filterOpenAt(@NotNull final WeeklyOpeningHours[] weeks, @NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("weeks", weeks);
+        Contract.requireArgNotNull("dateTime", dateTime);
+        final long[] result = new long[(weeks.length + 63) >>> 6];
+        final OpenAtTask task = new OpenAtTask(weeks, minuteOfWeek(dateTime), result, 0, weeks.length, OpenAtTask.DEFAULT_THRESHOLD);
+        ForkJoinPool.commonPool().invoke(task);
+        return result;
+    }
+
+    /**
+     * Determines which schedules are open at the given date and time. See {@link #filterOpenAt(WeeklyOpeningHours[], LocalDateTime)}.
+     * 
+     * @param weeks
+     *            Schedules to check - Null entries are never open.
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return Bits with the index of the schedules in the iteration order of the collection that are open.
+     */
+    @NotNull
+    public static long[] filterOpenAt(@NotNull final Collection<WeeklyOpeningHours> weeks, @NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("weeks", weeks);
+        return filterOpenAt(weeks.toArray(new WeeklyOpeningHours[0]), dateTime);
+    }
+
+    /**
+     * Returns a predicate for streams that is {@literal true} for all schedules open at the given date and time. The date and time is
+     * compiled once, so the predicate does not allocate anything and can be used with parallel streams. Seconds and public holidays are
+     * ignored.
+     * 
+     * @param dateTime
+     *            Date and time to verify.
+     * 
+     * @return Predicate that is {@literal false} for {@literal null}.
+     */
+    @NotNull
+    public static Predicate<WeeklyOpeningHours> openAtFilter(@NotNull final LocalDateTime dateTime) {
+        Contract.requireArgNotNull("dateTime", dateTime);
+        final int minute = minuteOfWeek(dateTime);
+        final int word = minute >>> 6;
+        final long mask = 1L << minute;
+        return week -> week != null && (week.minutes[word] & mask) != 0;
+    }
+
+    /**
+     * Finds the first window of the given length that is completely open. The search wraps from Sunday to Monday, so the window may start
+     * in the following week. Public holidays are not taken into account.
+     * 
+     * @param lengthMinutes
+     *            Length of the window in minutes (1 - 10080).
+     * @param fromMinute
+     *            Earliest start of the window as minute of the week (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     * 
+     * @return Start of the window as minute of the week or {@literal -1} if there is no such window. A result before the given minute is
+     *         in the following week.
+     */
+    public final int findFreeSlot(final int lengthMinutes, final int fromMinute) {
+        Contract.requireArgMin("lengthMinutes", lengthMinutes, 1);
+        Contract.requireArgMax("lengthMinutes", lengthMinutes, MinuteMask.MINUTES_PER_WEEK);
+        Contract.requireArgMin("fromMinute", fromMinute, 0);
+        Contract.requireArgMax("fromMinute", fromMinute, MinuteMask.MINUTES_PER_WEEK - 1);
+        // Three weeks in a row cover all windows that start within one week after the given minute
+        final long[] weeks = MinuteMask.repeat(minutes, MinuteMask.MINUTES_PER_WEEK, 3);
+        final int start = MinuteMask.nextSetBit(MinuteMask.runStarts(weeks, lengthMinutes), fromMinute);
+        if (start < 0 || start >= fromMinute + MinuteMask.MINUTES_PER_WEEK) {
+            return -1;
         }
-        final DayOpeningHours found = openingHours.get(idx);
-        final List<DayOpeningHours> normalized = found.normalize();
-        final DayOpeningHours day = normalized.get(0);
+        return start % MinuteMask.MINUTES_PER_WEEK;
+    }
 
-        return day.openAt(dayOpeningHours);
+    /**
+     * Returns all open windows of the week with at least the given length. Windows that span midnight or the end of the week are returned
+     * as one window. Public holidays are not taken into account.
+     * 
+     * @param minLengthMinutes
+     *            Minimal length of a window in minutes (1 or more).
+     * 
+     * @return Windows as minutes of the week (0 = Monday 00:00 - 10079 = Sunday 23:59) ordered by start - The end is after 10080 if the
+     *         window wraps into the following week.
+     */
+    @NotNull
+    public final List<OpenInterval<Integer>> freeSlots(final int minLengthMinutes) {
+        Contract.requireArgMin("minLengthMinutes", minLengthMinutes, 1);
+        final int week = MinuteMask.MINUTES_PER_WEEK;
+        final List<OpenInterval<Integer>> slots = new ArrayList<>();
+        final int closed = MinuteMask.nextClearBit(minutes, 0);
+        if (closed >= week) {
+            // Always open
+            if (minLengthMinutes <= week) {
+                slots.add(new OpenInterval<>(0, week));
+            }
+            return slots;
+        }
+        // Start the search at a closed minute, so a window that wraps around is not split
+        MinuteMask.forEachRun(MinuteMask.repeat(minutes, week, 2), minLengthMinutes, closed, closed + week,
+                (from, to) -> slots.add(new OpenInterval<>(from % week, from % week + to - from)));
+        slots.sort(Comparator.comparing(OpenInterval::getFrom));
+        return slots;
+    }
+
+    /**
+     * Returns the open minutes of all days in the order 'Mon'-'Sun' plus 'PH'. The returned array is the internal state of this instance
+     * and must not be changed.
+     * 
+     * @return Minutes of the week (0 = Monday 00:00 - 10079 = Sunday 23:59) followed by the minutes of the public holiday.
+     */
+    final long[] minutesMask() {
+        return minutes;
+    }
 
+    /**
+     * Returns the open minutes of all days without the hours that continue after midnight from the day before. Example: 'Fri 18:00-03:00'
+     * is open on Friday from 18:00 to 24:00 only. The split is known only for instances created from text or days. Compressed or decoded
+     * instances (like the result of {@link #compress()} or {@link #fromBytes(byte[])}) store the hours after midnight as hours of the next
+     * day, so for them the result is equal to {@link #minutesMask()}. The returned array is the internal state of this instance and must
+     * not be changed.
+     *
+     * @return Minutes of the week followed by the minutes of the public holiday.
+     */
+    final long[] sameDayMinutesMask() {
+        return sameDayMinutes;
     }
 
     /**
-     * Returns the information if this instance is similar to the other one.<br>
-     * For example is 'Mon 00:00-24:00' similar to 'Fri 18:00-24:00,Sat 00:00-03:00'.
+     * Returns the minute of the week for a date and time. Seconds are ignored.
+     * 
+     * @param dateTime
+     *            Date and time to convert.
+     * 
+     * @return Minute of the week (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     */
+    static int minuteOfWeek(final LocalDateTime dateTime) {
+        return (dateTime.getDayOfWeek().getValue() - 1) * MinuteMask.MINUTES_PER_DAY + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    /**
+     * Returns the information if this instance is similar to the other one. Two instances are similar if they are open at exactly the
+     * same minutes of the week.<br>
+     * For example is 'Mon-Fri 09:00-17:00' similar to 'Mon/Tue/Wed/Thu/Fri 09:00-17:00' and 'Fri 18:00-03:00' is similar to 'Fri
+     * 18:00-24:00,Sat 00:00-03:00'.
      * 
      * @param other
      *            Instance to compare with.
      * 
      * @return {@literal true} if the instance is simlar.
      */
-    public boolean isSimilarTo(final WeeklyOpeningHours other) {
+    public boolean isSimilarTo(@NotNull final WeeklyOpeningHours other) {
+        Contract.requireArgNotNull("other", other);
+        return fingerprint == other.fingerprint && Arrays.equals(minutes, other.minutes);
+    }
 
-        return compress().equals(other.compress());
+    /**
+     * Returns a 64-bit hash of the open minutes of the week. Similar instances (see {@link #isSimilarTo(WeeklyOpeningHours)}) always have
+     * the same fingerprint, no matter how the opening hours were written.
+     * 
+     * @return Fingerprint calculated on construction.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the canonical identity of this instance. Templates of similar instances are equal and have the same hash code, so they can be
+     * used as key of a hash map.
+     * 
+     * @return Template based on the open minutes of the week.
+     */
+    public Template toTemplate() {
+        return new Template(this);
+    }
 
+    /**
+     * Groups items by the similarity of their opening hours. This requires only a single pass and one hash lookup per item.
+     * 
+     * @param items
+     *            Items to group.
+     * @param hoursOf
+     *            Function that returns the opening hours of an item.
+     * @param <T>
+     *            Type of the items.
+     * 
+     * @return Items per template in the order of the first occurrence. Each template uses the opening hours of the first item of the group.
+     */
+    public static <T> Map<Template, List<T>> groupBySimilarity(@NotNull final Collection<T> items,
+            @NotNull final Function<? super T, WeeklyOpeningHours> hoursOf) {
+        Contract.requireArgNotNull("items", items);
+        Contract.requireArgNotNull("hoursOf", hoursOf);
+        final Map<Template, List<T>> groups = new LinkedHashMap<>();
+        for (final T item : items) {
+            groups.computeIfAbsent(hoursOf.apply(item).toTemplate(), k -> new ArrayList<>()).add(item);
+        }
+        return groups;
     }
 
     /**
      * Creates a compressed version of this instance. The string representing this instance will be shortened.<br>
-     * For example 'Mon 09:00-17:00,Tue 09:00-17:00' will become 'Mon/Tue 09:00-17:00'.
+     * For example 'Mon 09:00-17:00,Tue 09:00-17:00' will become 'Mon/Tue 09:00-17:00'. The result is built directly from the open minutes
+     * of each day without parsing a string again. Days with the same hours are grouped in the order of the first day of each group.
      * 
      * @return New shortened instance.
      */
     public final WeeklyOpeningHours compress() {
+        return compressed(minutes, fingerprint);
+    }
 
-        final Map<HourRanges, List<DayOfTheWeek>> map = new HashMap<>();
-        for (final DayOpeningHours doh : openingHours) {
-            final HourRanges ranges = doh.getHourRanges().compress();
-            List<DayOfTheWeek> dayList = map.computeIfAbsent(ranges, k -> new ArrayList<>());
-            dayList.add(doh.getDayOfTheWeek());
+    /**
+     * Compiles the opening hours into a compact bitmap. A week including the public holiday has 768 slots with a resolution of 15 minutes.
+     * 
+     * @param resolution
+     *            Preferred number of minutes per bit - If a range does not start and end on a slot boundary, one bit per minute is used.
+     * 
+     * @return Bitmap of all days in the order 'Mon'-'Sun' plus 'PH'.
+     */
+    @NotNull
+    public final SlotMask toSlotMask(@NotNull final SlotMask.Resolution resolution) {
+        Contract.requireArgNotNull("resolution", resolution);
+        return SlotMask.valueOf(minutes, MinuteMask.DAYS * MinuteMask.MINUTES_PER_DAY, resolution);
+    }
+
+    /**
+     * Writes the opening hours in a compact binary form: The number of distinct days followed by a bit mask of the days and the runs of
+     * open minutes of each distinct day. Typical opening hours need less than 20 bytes.
+     * 
+     * @param buffer
+     *            Buffer to write to.
+     */
+    public final void writeTo(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        OpeningHoursCodec.writeWeek(buffer, minutes);
+    }
+
+    /**
+     * Returns the opening hours in the compact binary form written by {@link #writeTo(ByteBuffer)}.
+     * 
+     * @return Bytes that can be converted back with {@link #fromBytes(byte[])}.
+     */
+    @NotNull
+    public final byte[] toBytes() {
+        return OpeningHoursCodec.toBytes(this::writeTo);
+    }
+
+    /**
+     * Creates the compressed opening hours from the open minutes of all days.
+     * 
+     * @param minutes
+     *            Open minutes of the week plus the public holiday with at least one minute set (will not be copied).
+     * @param fingerprint
+     *            Hash of the open minutes.
+     * 
+     * @return New instance with days of equal hours grouped in the order of the first day of each group.
+     */
+    static WeeklyOpeningHours compressed(final long[] minutes, final long fingerprint) {
+
+        final long[][] dayMinutes = new long[MinuteMask.DAYS][];
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            final long[] day = MinuteMask.day(minutes, i * MinuteMask.MINUTES_PER_DAY);
+            if (!MinuteMask.isEmpty(day)) {
+                dayMinutes[i] = day;
+            }
         }
 
+        final List<DayOpeningHours> days = new ArrayList<>();
         final StringBuilder sb = new StringBuilder();
-        for (final Map.Entry<HourRanges, List<DayOfTheWeek>> entry : map.entrySet()) {
-            final List<DayOfTheWeek> days = entry.getValue();
-            Collections.sort(days);
+        for (int i = 0; i < MinuteMask.DAYS; i++) {
+            if (dayMinutes[i] == null) {
+                continue;
+            }
+            final HourRanges ranges = HourRanges.valueOf(dayMinutes[i]);
+            final List<DayOfTheWeek> group = new ArrayList<>();
+            group.add(DayOfTheWeek.ofIndex(i));
+            for (int j = i + 1; j < MinuteMask.DAYS; j++) {
+                if (dayMinutes[j] != null && Arrays.equals(dayMinutes[i], dayMinutes[j])) {
+                    group.add(DayOfTheWeek.ofIndex(j));
+                    dayMinutes[j] = null;
+                }
+            }
+            for (final DayOfTheWeek dow : group) {
+                days.add(new DayOpeningHours(dow, ranges));
+            }
             if (!sb.isEmpty()) {
                 sb.append(",");
             }
-            sb.append(new MultiDayOfTheWeek(days.toArray(new DayOfTheWeek[0])).compress().asBaseType())
-                    .append(" ")
-                    .append(entry.getKey());
+            sb.append(MultiDayOfTheWeek.compressed(group)).append(" ").append(ranges);
+        }
+        if (days.isEmpty()) {
+            throw new ConstraintViolationException("The argument 'minutes' cannot be empty");
         }
+        Collections.sort(days);
 
-        return new WeeklyOpeningHours(sb.toString());
+        return new WeeklyOpeningHours(days, sb.toString(), minutes, fingerprint);
 
     }
 
@@ -325,6 +777,48 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
         return value;
     }
 
+    private static long[] minutesOf(@Nullable final WeeklyOpeningHours weeklyOpeningHours) {
+        if (weeklyOpeningHours == null) {
+            return null;
+        }
+        return weeklyOpeningHours.minutes;
+    }
+
+    private static int offset(final DayOfTheWeek dayOfTheWeek) {
+        return dayOfTheWeek.index() * MinuteMask.MINUTES_PER_DAY;
+    }
+
+    private static long[] weekMinutes(final List<DayOpeningHours> weeklyOpeningHours) {
+        final long[] week = MinuteMask.week();
+        for (final DayOpeningHours doh : weeklyOpeningHours) {
+            final DayOfTheWeek dow = doh.getDayOfTheWeek();
+            final HourRanges ranges = doh.getHourRanges();
+            MinuteMask.orDay(week, offset(dow), ranges.minutesMask());
+            final DayOfTheWeek next = dow.next();
+            if (next != null && ranges.nextDayMinutesMask() != null) {
+                MinuteMask.orDay(week, offset(next), ranges.nextDayMinutesMask());
+            }
+        }
+        return week;
+    }
+
+    private static long[] sameDayMinutes(final List<DayOpeningHours> weeklyOpeningHours, final long[] minutes) {
+        long[] week = null;
+        for (final DayOpeningHours doh : weeklyOpeningHours) {
+            if (doh.getHourRanges().nextDayMinutesMask() != null) {
+                week = MinuteMask.week();
+                break;
+            }
+        }
+        if (week == null) {
+            return minutes;
+        }
+        for (final DayOpeningHours doh : weeklyOpeningHours) {
+            MinuteMask.orDay(week, offset(doh.getDayOfTheWeek()), doh.getHourRanges().minutesMask());
+        }
+        return week;
+    }
+
     private static String asString(final List<DayOpeningHours> weeklyOpeningHours) {
         final StringBuilder sb = new StringBuilder();
         for (final DayOpeningHours dow : weeklyOpeningHours) {
@@ -344,67 +838,11 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
      * 
      * @return {@literal true} if the string is a valid string, else {@literal false}.
      */
-    @SuppressWarnings("java:S3776") // Complexity not nice, but OK here
     public static boolean isValid(@Nullable final String weeklyOpeningHours) {
         if (weeklyOpeningHours == null) {
             return true;
         }
-
-        final List<DayOpeningHours> all = new ArrayList<>();
-
-        final StringTokenizer tok = new StringTokenizer(weeklyOpeningHours, ",");
-        if (tok.countTokens() == 0) {
-            return false;
-        }
-        while (tok.hasMoreTokens()) {
-            final String part = tok.nextToken();
-
-            // Find divider between day(s) and hours
-            final int p = part.indexOf(' ');
-            if (p < 0) {
-                return false;
-            }
-
-            // Make sure first part is one or more days
-            final String dayPartStr = part.substring(0, p);
-            if (!MultiDayOfTheWeek.isValid(dayPartStr)) {
-                return false;
-            }
-            final MultiDayOfTheWeek dayPart = MultiDayOfTheWeek.valueOf(dayPartStr);
-
-            // Next part should be one or more hours
-            final String hourPartStr = part.substring(p + 1);
-            if (!HourRanges.isValid(hourPartStr)) {
-                return false;
-            }
-            final HourRanges hourPart = new HourRanges(hourPartStr);
-
-            // Avoid duplicate days
-            for (DayOfTheWeek dow : dayPart) {
-                final DayOpeningHours doh = new DayOpeningHours(dow, hourPart);
-                if (all.contains(doh)) {
-                    return false;
-                }
-                all.add(doh);
-            }
-
-            // Make sure the hours of the days do not overlap
-            for (final DayOpeningHours doh : all) {
-                final List<DayOpeningHours> normalized = doh.normalize();
-                if (normalized.size() == 2) {
-                    final DayOpeningHours secondDay = normalized.get(1);
-                    final int idx = all.indexOf(secondDay);
-                    if (idx > -1) {
-                        final DayOpeningHours day = all.get(idx);
-                        if (day.overlaps(secondDay)) {
-                            return false;
-                        }
-                    }
-                }
-            }
-
-        }
-        return true;
+        return new OpeningHoursParser(weeklyOpeningHours).weeklyOpeningHours() != null;
     }
 
     /**
@@ -420,9 +858,103 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
         if (str == null) {
             return null;
         }
+        final ParseCache<WeeklyOpeningHours> parseCache = cache;
+        if (parseCache != null) {
+            return parseCache.get(str);
+        }
         return new WeeklyOpeningHours(str);
     }
 
+    /**
+     * Enables a cache for {@link #valueOf(String)} that returns the same instance for equal strings. An already enabled cache is replaced.
+     * 
+     * @param maxSize
+     *            Maximum number of cached instances.
+     */
+    public static void enableCache(final int maxSize) {
+        cache = new ParseCache<>(maxSize, WeeklyOpeningHours::new);
+    }
+
+    /**
+     * Disables the cache for {@link #valueOf(String)}.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache used by {@link #valueOf(String)}.
+     * 
+     * @return Cache or {@literal null} if caching is not enabled.
+     */
+    @Nullable
+    public static ParseCache<WeeklyOpeningHours> getCache() {
+        return cache;
+    }
+
+    /**
+     * Converts a given character sequence into an instance of this class.
+     * 
+     * @param text
+     *            Text to convert.
+     * 
+     * @return New instance.
+     */
+    @Nullable
+    public static WeeklyOpeningHours valueOf(@Nullable final CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return new WeeklyOpeningHours(new OpeningHoursParser(text));
+    }
+
+    /**
+     * Converts ASCII encoded bytes into an instance of this class.
+     * 
+     * @param ascii
+     *            Array with the text to convert.
+     * @param offset
+     *            Index of the first byte.
+     * @param length
+     *            Number of bytes.
+     * 
+     * @return New instance.
+     */
+    public static WeeklyOpeningHours valueOf(@NotNull final byte[] ascii, final int offset, final int length) {
+        Contract.requireArgNotNull("ascii", ascii);
+        return new WeeklyOpeningHours(new OpeningHoursParser(ascii, offset, length));
+    }
+
+    /**
+     * Reads opening hours written by {@link #writeTo(ByteBuffer)}. The result is always compressed, so it is equal to the result of
+     * {@link #compress()} of the written instance.
+     * 
+     * @param buffer
+     *            Buffer to read from.
+     * 
+     * @return New instance.
+     */
+    @NotNull
+    public static WeeklyOpeningHours readFrom(@NotNull final ByteBuffer buffer) {
+        Contract.requireArgNotNull("buffer", buffer);
+        final long[] week = OpeningHoursCodec.readWeek(buffer);
+        return compressed(week, MinuteMask.fingerprint(week));
+    }
+
+    /**
+     * Converts bytes created with {@link #toBytes()} into an instance of this class.
+     * 
+     * @param bytes
+     *            Bytes to convert.
+     * 
+     * @return New instance.
+     */
+    @NotNull
+    public static WeeklyOpeningHours fromBytes(@NotNull final byte[] bytes) {
+        Contract.requireArgNotNull("bytes", bytes);
+        return OpeningHoursCodec.fromBytes(bytes, WeeklyOpeningHours::readFrom);
+    }
+
     /**
      * Checks if the argument is valid and throws an exception if this is not the case.
      * 
@@ -439,9 +971,75 @@ public final class WeeklyOpeningHours extends AbstractStringValueObject implemen
         // CHECKSTYLE:ON
 
         if (!isValid(value)) {
-            throw new ConstraintViolationException("The argument '" + name
-                    + "' does not represent valid weekly opening hours like 'Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00': '" + value
-                    + "'");
+            throw new ConstraintViolationException(invalidMessage(name, value));
+        }
+
+    }
+
+    private static OpeningHoursParser parserFor(final String openingHours) {
+        Contract.requireArgNotEmpty("weeklyOpeningHours", openingHours);
+        return new OpeningHoursParser(openingHours);
+    }
+
+    private static String invalidMessage(final String name, final String value) {
+        return "The argument '" + name
+                + "' does not represent valid weekly opening hours like 'Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00': '" + value + "'";
+    }
+
+    /**
+     * Canonical identity of weekly opening hours based on the open minutes of the week. Two templates are equal if their opening hours
+     * are similar, even if the text is different.
+     */
+    public static final class Template {
+
+        private final WeeklyOpeningHours openingHours;
+
+        private Template(final WeeklyOpeningHours openingHours) {
+            super();
+            this.openingHours = openingHours;
+        }
+
+        /**
+         * Returns the opening hours this template was created from.
+         * 
+         * @return Opening hours.
+         */
+        public WeeklyOpeningHours getOpeningHours() {
+            return openingHours;
+        }
+
+        /**
+         * Returns the fingerprint of the opening hours.
+         * 
+         * @return Hash of the open minutes.
+         */
+        public long getFingerprint() {
+            return openingHours.fingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(openingHours.fingerprint);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            final Template other = (Template) obj;
+            return openingHours.isSimilarTo(other.openingHours);
+        }
+
+        @Override
+        public String toString() {
+            return openingHours.toString();
         }
 
     }
@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offset changes of a time zone, cached per (UTC) year. Once a year is loaded, looking up the offset of a point in time is a binary search
+ * on a small array instead of a call to {@link ZoneRules}. Instances are shared for all users of the same zone.
+ */
+@ThreadSafe
+final class ZoneTransitions {
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private static final Map<ZoneId, ZoneTransitions> ZONES = new ConcurrentHashMap<>();
+
+    private final ZoneId zoneId;
+
+    private final Map<Integer, Year> years;
+
+    /** Year used last - Reading a stale value is harmless as instances are immutable. */
+    private Year last;
+
+    private ZoneTransitions(final ZoneId zoneId) {
+        super();
+        this.zoneId = zoneId;
+        this.years = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the shared instance for a time zone.
+     *
+     * @param zoneId
+     *            Time zone.
+     *
+     * @return Transitions of the zone.
+     */
+    static ZoneTransitions of(final ZoneId zoneId) {
+        return ZONES.computeIfAbsent(zoneId, ZoneTransitions::new);
+    }
+
+    /**
+     * Returns the offset that is valid at the given point in time.
+     *
+     * @param epochSecond
+     *            Seconds since 1970-01-01T00:00:00Z.
+     *
+     * @return Offset in seconds.
+     */
+    int offsetAt(final long epochSecond) {
+        return year(epochSecond).offsetAt(epochSecond);
+    }
+
+    /**
+     * Returns the next point in time after the given one where the offset may change. This is either a transition of the time zone or the
+     * start of the next year.
+     *
+     * @param epochSecond
+     *            Seconds since 1970-01-01T00:00:00Z.
+     *
+     * @return Seconds since 1970-01-01T00:00:00Z that is greater than the argument.
+     */
+    long nextChange(final long epochSecond) {
+        return year(epochSecond).nextChange(epochSecond);
+    }
+
+    private Year year(final long epochSecond) {
+        final Year year = last;
+        if (year != null && year.contains(epochSecond)) {
+            return year;
+        }
+        final int value = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY)).getYear();
+        final Year found = years.computeIfAbsent(value, this::load);
+        last = found;
+        return found;
+    }
+
+    private Year load(final int year) {
+        final ZoneRules rules = zoneId.getRules();
+        final long start = LocalDate.of(year, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        final long end = LocalDate.of(year + 1, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long[] transitions = new long[4];
+        int[] offsets = new int[5];
+        offsets[0] = rules.getOffset(Instant.ofEpochSecond(start)).getTotalSeconds();
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(start));
+        while (transition != null && transition.toEpochSecond() < end) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition.toEpochSecond();
+            offsets[count + 1] = transition.getOffsetAfter().getTotalSeconds();
+            count++;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return new Year(start, end, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    /**
+     * Transitions of a single year.
+     */
+    private static final class Year {
+
+        private final long start;
+
+        private final long end;
+
+        /** Sorted points in time where the offset changes. */
+        private final long[] transitions;
+
+        /** Offset at the start of the year followed by the offset after each transition. */
+        private final int[] offsets;
+
+        Year(final long start, final long end, final long[] transitions, final int[] offsets) {
+            this.start = start;
+            this.end = end;
+            this.transitions = transitions;
+            this.offsets = offsets;
+        }
+
+        boolean contains(final long epochSecond) {
+            return epochSecond >= start && epochSecond < end;
+        }
+
+        int offsetAt(final long epochSecond) {
+            final int idx = Arrays.binarySearch(transitions, epochSecond);
+            if (idx >= 0) {
+                return offsets[idx + 1];
+            }
+            return offsets[-idx - 1];
+        }
+
+        long nextChange(final long epochSecond) {
+            int idx = Arrays.binarySearch(transitions, epochSecond);
+            if (idx >= 0) {
+                idx++;
+            } else {
+                idx = -idx - 1;
+            }
+            if (idx < transitions.length) {
+                return transitions[idx];
+            }
+            return end;
+        }
+
+    }
+
+}
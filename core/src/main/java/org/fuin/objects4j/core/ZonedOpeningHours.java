@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.objects4j.common.Contract;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weekly opening hours in a given time zone. Points in time are converted into the local wall-clock time of the zone before they are
+ * evaluated. Local times that do not exist because of a daylight saving gap are never open, while local times that occur twice because of
+ * an overlap are evaluated twice. The offsets of the zone are cached per year and shared for all instances with the same zone. Public
+ * holidays are not taken into account.
+ */
+@Immutable
+public final class ZonedOpeningHours {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final int MINUTES_PER_WEEK = MinuteMask.MINUTES_PER_WEEK;
+
+    /** 1970-01-01 was a Thursday: Minute of the week at the start of the epoch. */
+    private static final int EPOCH_MINUTE_OF_WEEK = 3 * MinuteMask.MINUTES_PER_DAY;
+
+    private final WeeklyOpeningHours weeklyOpeningHours;
+
+    private final ZoneId zoneId;
+
+    private final long[] week;
+
+    private final ZoneTransitions transitions;
+
+    /**
+     * Constructor with all data.
+     *
+     * @param weeklyOpeningHours
+     *            Opening hours in local time.
+     * @param zoneId
+     *            Time zone of the opening hours.
+     */
+    public ZonedOpeningHours(@NotNull final WeeklyOpeningHours weeklyOpeningHours, @NotNull final ZoneId zoneId) {
+        super();
+        Contract.requireArgNotNull("weeklyOpeningHours", weeklyOpeningHours);
+        Contract.requireArgNotNull("zoneId", zoneId);
+        this.weeklyOpeningHours = weeklyOpeningHours;
+        this.zoneId = zoneId;
+        this.week = weeklyOpeningHours.minutesMask();
+        this.transitions = ZoneTransitions.of(zoneId);
+    }
+
+    /**
+     * Returns the opening hours.
+     *
+     * @return Opening hours in local time.
+     */
+    @NotNull
+    public WeeklyOpeningHours getWeeklyOpeningHours() {
+        return weeklyOpeningHours;
+    }
+
+    /**
+     * Returns the time zone.
+     *
+     * @return Time zone of the opening hours.
+     */
+    @NotNull
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Determines if open at the given point in time.
+     *
+     * @param instant
+     *            Point in time to verify.
+     *
+     * @return {@literal true} if open else {@literal false} if not open.
+     */
+    public boolean isOpenAt(@NotNull final Instant instant) {
+        Contract.requireArgNotNull("instant", instant);
+        final long epochSecond = instant.getEpochSecond();
+        final long localMinute = Math.floorDiv(epochSecond + transitions.offsetAt(epochSecond), SECONDS_PER_MINUTE);
+        return MinuteMask.get(week, minuteOfWeek(localMinute));
+    }
+
+    /**
+     * Returns all intervals inside the given period in which it is open. Intervals are cut at the start and end of the period. The
+     * precision is one second.
+     *
+     * @param from
+     *            Start of the period (inclusive).
+     * @param to
+     *            End of the period (exclusive).
+     *
+     * @return Sorted list of non-overlapping intervals - Never {@literal null}, but may be empty.
+     */
+    @NotNull
+    public List<OpenInterval<Instant>> openIntervals(@NotNull final Instant from, @NotNull final Instant to) {
+        Contract.requireArgNotNull("from", from);
+        Contract.requireArgNotNull("to", to);
+
+        final List<OpenInterval<Instant>> intervals = new ArrayList<>();
+        final long end = to.getEpochSecond();
+        long segmentStart = from.getEpochSecond();
+        long openStart = NONE;
+        long openEnd = NONE;
+        while (segmentStart < end) {
+            // The offset is constant inside a segment
+            final long segmentEnd = Math.min(transitions.nextChange(segmentStart), end);
+            final int offset = transitions.offsetAt(segmentStart);
+            long localMinute = Math.floorDiv(segmentStart + offset, SECONDS_PER_MINUTE);
+            long second = segmentStart;
+            while (second < segmentEnd) {
+                final int minuteOfWeek = minuteOfWeek(localMinute);
+                final boolean open = MinuteMask.get(week, minuteOfWeek);
+                final int next;
+                if (open) {
+                    next = Math.min(MinuteMask.nextClearBit(week, minuteOfWeek), MINUTES_PER_WEEK);
+                } else {
+                    final int set = MinuteMask.nextSetBit(week, minuteOfWeek);
+                    next = set < 0 || set >= MINUTES_PER_WEEK ? MINUTES_PER_WEEK : set;
+                }
+                localMinute = localMinute + (next - minuteOfWeek);
+                final long runEnd = Math.min(localMinute * SECONDS_PER_MINUTE - offset, segmentEnd);
+                if (open) {
+                    if (openEnd != second) {
+                        if (openStart != NONE) {
+                            intervals.add(interval(openStart, openEnd));
+                        }
+                        openStart = second;
+                    }
+                    openEnd = runEnd;
+                }
+                second = runEnd;
+            }
+            segmentStart = segmentEnd;
+        }
+        if (openStart != NONE) {
+            intervals.add(interval(openStart, openEnd));
+        }
+        return intervals;
+
+    }
+
+    @Override
+    public String toString() {
+        return weeklyOpeningHours + " " + zoneId;
+    }
+
+    private static int minuteOfWeek(final long localEpochMinute) {
+        return (int) Math.floorMod(localEpochMinute + EPOCH_MINUTE_OF_WEEK, MINUTES_PER_WEEK);
+    }
+
+    private static OpenInterval<Instant> interval(final long from, final long to) {
+        return new OpenInterval<>(Instant.ofEpochSecond(from), Instant.ofEpochSecond(to));
+    }
+
+}
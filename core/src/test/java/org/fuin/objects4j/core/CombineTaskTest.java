@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class CombineTaskTest {
+
+    @Test
+    void testCompute() {
+
+        final WeeklyOpeningHours[] weeks = ScheduleFixture.weeks(100);
+        final long[][] before = masks(weeks);
+        long[] or = null;
+        for (final WeeklyOpeningHours week : weeks) {
+            if (week != null) {
+                or = or == null ? week.minutesMask() : MinuteMask.or(or, week.minutesMask());
+            }
+        }
+
+        for (final int threshold : ScheduleFixture.THRESHOLDS) {
+            assertThat(ForkJoinPool.commonPool().invoke(new CombineTask(weeks, true, 0, weeks.length, threshold)))
+                    .isEqualTo(ScheduleFixture.COMMON.minutesMask());
+            assertThat(ForkJoinPool.commonPool().invoke(new CombineTask(weeks, false, 0, weeks.length, threshold))).isEqualTo(or);
+        }
+
+        // Input is not changed
+        final long[][] after = masks(weeks);
+        for (int i = 0; i < weeks.length; i++) {
+            assertThat(after[i]).isEqualTo(before[i]);
+        }
+
+    }
+
+    @Test
+    void testNoSchedules() {
+        assertThat(ForkJoinPool.commonPool().invoke(new CombineTask(new WeeklyOpeningHours[] { null, null }, true, 0, 2, 1))).isNull();
+        assertThat(ForkJoinPool.commonPool().invoke(new CombineTask(new WeeklyOpeningHours[0], false, 0, 0, 1))).isNull();
+    }
+
+    private static long[][] masks(final WeeklyOpeningHours[] weeks) {
+        final long[][] masks = new long[weeks.length][];
+        for (int i = 0; i < weeks.length; i++) {
+            if (weeks[i] != null) {
+                masks[i] = weeks[i].minutesMask().clone();
+            }
+        }
+        return masks;
+    }
+
+}
+// CHECKSTYLE:ON
@@ -24,6 +24,8 @@ import org.fuin.objects4j.core.DayOpeningHours.Change;
 import org.fuin.objects4j.core.HourRanges.ChangeType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.fuin.objects4j.core.DayOfTheWeek.*;
 import static org.fuin.objects4j.core.HourRanges.ChangeType.ADDED;
@@ -278,6 +280,30 @@ public class DayOpeningHoursTest {
 
     }
 
+    @Test
+    void testBinary() {
+
+        final DayOpeningHours testee = new DayOpeningHours("Fri 09:00-12:00+18:00-03:00");
+        final byte[] bytes = testee.toBytes();
+        assertThat(bytes.length).isEqualTo(10);
+        assertThat(DayOpeningHours.fromBytes(bytes)).isEqualTo(testee);
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        new DayOpeningHours("PH 10:00-14:00").writeTo(buffer);
+        testee.writeTo(buffer);
+        buffer.flip();
+        assertThat(DayOpeningHours.readFrom(buffer)).isEqualTo(new DayOpeningHours("PH 10:00-14:00"));
+        assertThat(DayOpeningHours.readFrom(buffer)).isEqualTo(testee);
+        assertThat(buffer.hasRemaining()).isFalse();
+
+        try {
+            DayOpeningHours.fromBytes(new byte[] { 8, 1, 0, 1 });
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid index of the day of the week: 8");
+        }
+
+    }
+
     private void test(DayOpeningHours from, DayOpeningHours to, Change... changes) {
         org.assertj.core.api.Assertions.assertThat(from.diff(to)).containsOnly(changes);
     }
@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.core.RuleBasedHolidayCalendar.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class HolidayOpeningHoursTest {
+
+    private static final HolidayCalendar CALENDAR = (date, region) -> "DE".equals(region) && date.equals(LocalDate.of(2025, 12, 25));
+
+    @Test
+    void testIsOpenAt() {
+
+        final HolidayOpeningHours testee = new HolidayOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-18:00,PH 10:00-14:00"), CALENDAR);
+
+        // Thursday, 2025-12-25 is a holiday in 'DE'
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 9, 30), "DE")).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 10, 0), "DE")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 14, 0), "DE")).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 9, 30), "FR")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 17, 0), "FR")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 24, 9, 30), "DE")).isTrue();
+
+    }
+
+    @Test
+    void testIsOpenAtAfterHoliday() {
+
+        final HolidayOpeningHours testee = new HolidayOpeningHours(new WeeklyOpeningHours("Thu 18:00-03:00,Fri 10:00-14:00,PH 10:00-14:00"),
+                CALENDAR);
+
+        // The 'PH' hours replace Thursday, 2025-12-25 including the hours after midnight
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 19, 0), "DE")).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 26, 1, 0), "DE")).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 26, 11, 0), "DE")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 26, 1, 0), "FR")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 2, 1, 0), "DE")).isTrue();
+
+    }
+
+    @Test
+    void testWithoutHolidayHours() {
+
+        final HolidayOpeningHours testee = new HolidayOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-18:00"), CALENDAR);
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 9, 30), "DE")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 27, 9, 30), "DE")).isFalse();
+
+    }
+
+    @Test
+    void testWithRuleBasedCalendar() {
+
+        final RuleBasedHolidayCalendar calendar = new RuleBasedHolidayCalendar(
+                Map.of("DE", List.of(Rule.easter(1))));
+        final HolidayOpeningHours testee = new HolidayOpeningHours(new WeeklyOpeningHours("Mon-Sat 08:00-20:00,PH 11:00-12:00"), calendar);
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 4, 21, 8, 0), "DE")).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 4, 21, 11, 30), "DE")).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 4, 28, 8, 0), "DE")).isTrue();
+
+    }
+
+    @Test
+    void testNullArguments() {
+
+        final HolidayOpeningHours testee = new HolidayOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-18:00"), CALENDAR);
+        try {
+            testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 9, 30), null);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'region' cannot be null");
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -25,7 +25,9 @@ import org.fuin.objects4j.core.HourRanges.Change;
 import org.fuin.objects4j.core.HourRanges.ChangeType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.fuin.objects4j.core.HourRanges.ChangeType.ADDED;
@@ -37,7 +39,7 @@ public class HourRangesTest {
     @Test
     void testEqualsHashCode() {
 
-        EqualsVerifier.forClass(HourRanges.class).withRedefinedSuperclass().withIgnoredFields("ranges").suppress(Warning.NULL_FIELDS)
+        EqualsVerifier.forClass(HourRanges.class).withRedefinedSuperclass().withIgnoredFields("ranges", "minutes", "nextDayMinutes").suppress(Warning.NULL_FIELDS)
                 .verify();
 
         assertThat(h("13:00-14:00")).isEqualTo(h(r("13:00-14:00")));
@@ -199,6 +201,19 @@ public class HourRangesTest {
 
         assertThat(h("00:00-24:00").isNormalized()).isTrue();
         assertThat(h("18:00-03:00").isNormalized()).isFalse();
+        assertThat(h("09:00-12:00+18:00-03:00").isNormalized()).isFalse();
+        assertThat(h("18:00-03:00").normalize().get(0).isNormalized()).isTrue();
+        assertThat(h("18:00-03:00").normalize().get(1).isNormalized()).isTrue();
+
+    }
+
+    @Test
+    void testNormalizeOvernightWithSameStart() {
+
+        org.assertj.core.api.Assertions.assertThat(h("18:00-03:00+18:00-20:00").normalize()).containsExactly(h("18:00-20:00+18:00-24:00"),
+                h("00:00-03:00"));
+        assertThat(h("18:00-03:00+18:00-20:00").normalize().get(1).toMinutes())
+                .isEqualTo(new MinutesBitSetBuilder().fromTo(0, 0, 3, 0).build());
 
     }
 
@@ -307,6 +322,70 @@ public class HourRangesTest {
 
     }
 
+    @Test
+    void testFindFreeSlot() {
+
+        final HourRanges testee = new HourRanges("09:00-12:00+13:00-17:00");
+        assertThat(testee.findFreeSlot(60, 0)).isEqualTo(540);
+        assertThat(testee.findFreeSlot(120, 660)).isEqualTo(780);
+        assertThat(testee.findFreeSlot(180, 600)).isEqualTo(780);
+        assertThat(testee.findFreeSlot(60, 960)).isEqualTo(960);
+        assertThat(testee.findFreeSlot(60, 961)).isEqualTo(-1);
+        assertThat(testee.findFreeSlot(241, 0)).isEqualTo(-1);
+
+        final HourRanges night = new HourRanges("22:00-03:00");
+        assertThat(night.findFreeSlot(300, 0)).isEqualTo(1320);
+        assertThat(night.findFreeSlot(60, 1430)).isEqualTo(1430);
+        assertThat(night.findFreeSlot(301, 0)).isEqualTo(-1);
+
+        try {
+            testee.findFreeSlot(0, 0);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Min value of argument 'lengthMinutes' is 1, but was: 0");
+        }
+
+    }
+
+    @Test
+    void testFreeSlots() {
+
+        final HourRanges testee = new HourRanges("09:00-12:00+12:00-13:00+14:00-15:00+20:00-02:00");
+        assertThat(testee.freeSlots(120)).isEqualTo(List.of(new OpenInterval<>(540, 780), new OpenInterval<>(1200, 1560)));
+        assertThat(testee.freeSlots(60)).isEqualTo(
+                List.of(new OpenInterval<>(540, 780), new OpenInterval<>(840, 900), new OpenInterval<>(1200, 1560)));
+        assertThat(testee.freeSlots(400)).isEqualTo(List.of());
+
+    }
+
+    @Test
+    void testBinary() {
+
+        for (final String str : new String[] { "09:00-12:00+13:00-17:00", "00:00-24:00", "00:00-03:00+18:00-24:00", "20:00-02:00",
+                "00:00-01:00+22:00-02:00" }) {
+            final HourRanges testee = new HourRanges(str);
+            final byte[] bytes = testee.toBytes();
+            assertThat(HourRanges.fromBytes(bytes)).isEqualTo(testee);
+            final ByteBuffer buffer = ByteBuffer.allocate(100);
+            testee.writeTo(buffer);
+            assertThat(buffer.position()).isEqualTo(bytes.length);
+            buffer.flip();
+            assertThat(HourRanges.readFrom(buffer)).isEqualTo(testee);
+        }
+        assertThat(new HourRanges("09:00-12:00+13:00-17:00").toBytes().length).isEqualTo(8);
+
+        // Ranges that touch each other are joined
+        assertThat(HourRanges.fromBytes(new HourRanges("09:00-12:00+12:00-13:00").toBytes())).isEqualTo(new HourRanges("09:00-13:00"));
+
+        try {
+            HourRanges.fromBytes(new byte[] { 0 });
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Expected at least one range, but there was none");
+        }
+
+    }
+
     private void test(HourRanges from, HourRanges to, Change... changes) {
         org.assertj.core.api.Assertions.assertThat(from.diff(to)).containsOnly(changes);
     }
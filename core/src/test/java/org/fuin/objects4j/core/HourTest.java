@@ -23,6 +23,8 @@ import org.fuin.objects4j.common.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.utils4j.Utils4J.deserialize;
+import static org.fuin.utils4j.Utils4J.serialize;
 
 // CHECKSTYLE:OFF
 public class HourTest {
@@ -100,6 +102,51 @@ public class HourTest {
 
     }
 
+    @Test
+    void testOf() {
+
+        assertThat(Hour.of(9, 30)).isSameAs(Hour.of(9, 30));
+        assertThat(Hour.of(9, 30)).isSameAs(Hour.ofMinutes(570));
+        assertThat(Hour.of(9, 30)).isEqualTo(new Hour("09:30"));
+        assertThat(Hour.of(24, 0).toMinutes()).isEqualTo(1440);
+        assertThat(Hour.ofMinutes(0).toString()).isEqualTo("00:00");
+        assertThat(Hour.valueOf("09:30")).isSameAs(Hour.of(9, 30));
+
+        try {
+            Hour.of(24, 1);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'minute' must be '0' if the hour is '24': '1'");
+        }
+
+        try {
+            Hour.ofMinutes(1441);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Max value of argument 'minutes' is 1440, but was: 1441");
+        }
+
+    }
+
+    @Test
+    void testCompareToAndHashCode() {
+
+        assertThat(Hour.of(9, 59).compareTo(Hour.of(10, 0))).isLessThan(0);
+        assertThat(Hour.of(24, 0).compareTo(Hour.of(23, 59))).isGreaterThan(0);
+        assertThat(new Hour("10:00").compareTo(Hour.of(10, 0))).isEqualTo(0);
+        assertThat(new Hour("10:00").hashCode()).isEqualTo(Hour.of(10, 0).hashCode());
+
+    }
+
+    @Test
+    void testSerialize() {
+
+        final Hour original = Hour.of(12, 15);
+        final Hour copy = deserialize(serialize(original));
+        assertThat(copy).isSameAs(original);
+
+    }
+
     @Test
     void testIsValidTRUE() {
 
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.objects4j.core.IntHourRangeList.pack;
+
+// CHECKSTYLE:OFF
+public class IntHourRangeListTest {
+
+    @Test
+    void testPack() {
+
+        final int range = pack(540, 1440);
+        assertThat(IntHourRangeList.fromOf(range)).isEqualTo(540);
+        assertThat(IntHourRangeList.toOf(range)).isEqualTo(1440);
+
+        try {
+            pack(600, 600);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'from' cannot be equal 'to': 600");
+        }
+
+        try {
+            pack(1440, 60);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'from' is not a valid minute (0-1439): 1440");
+        }
+
+        try {
+            pack(60, 0);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'to' is not a valid minute (1-1440): 0");
+        }
+
+    }
+
+    @Test
+    void testOfSortsRanges() {
+
+        final IntHourRangeList testee = IntHourRangeList.of(pack(780, 1020), pack(540, 720));
+        assertThat(testee.size()).isEqualTo(2);
+        assertThat(testee.getFrom(0)).isEqualTo(540);
+        assertThat(testee.getTo(1)).isEqualTo(1020);
+        assertThat(testee.toString()).isEqualTo("09:00-12:00+13:00-17:00");
+        assertThat(IntHourRangeList.EMPTY.isEmpty()).isTrue();
+
+    }
+
+    @Test
+    void testConvertHourRanges() {
+
+        for (final String str : new String[] { "09:00-12:00+13:00-17:00", "09:00-12:00+11:00-13:00", "00:00-24:00", "18:00-03:00",
+                "06:00-08:00+20:00-02:00" }) {
+            final HourRanges hourRanges = new HourRanges(str);
+            final IntHourRangeList testee = IntHourRangeList.valueOf(hourRanges);
+            assertThat(testee.toString()).isEqualTo(hourRanges.toString());
+            assertThat(testee.toHourRanges()).isEqualTo(hourRanges);
+        }
+        assertThat(IntHourRangeList.valueOf(null)).isNull();
+        assertThat(IntHourRangeList.EMPTY.toHourRanges()).isNull();
+
+    }
+
+    @Test
+    void testNormalize() {
+
+        final IntHourRangeList testee = IntHourRangeList.valueOf(new HourRanges("09:00-14:00+18:00-03:00"));
+        assertThat(testee.isNormalized()).isFalse();
+
+        final List<IntHourRangeList> normalized = testee.normalize();
+        assertThat(normalized).hasSize(2);
+        assertThat(normalized.get(0).toString()).isEqualTo("09:00-14:00+18:00-24:00");
+        assertThat(normalized.get(1).toString()).isEqualTo("00:00-03:00");
+
+        final IntHourRangeList single = IntHourRangeList.valueOf(new HourRanges("09:00-14:00"));
+        assertThat(single.isNormalized()).isTrue();
+        assertThat(single.normalize()).containsExactly(single);
+
+    }
+
+    @Test
+    void testMerge() {
+
+        assertThat(IntHourRangeList.valueOf(new HourRanges("09:00-12:00+11:00-13:00+13:00-14:00+15:00-16:00")).merge().toString())
+                .isEqualTo("09:00-14:00+15:00-16:00");
+        assertThat(IntHourRangeList.valueOf(new HourRanges("09:00-17:00+10:00-11:00")).merge().toString()).isEqualTo("09:00-17:00");
+
+        final IntHourRangeList unchanged = IntHourRangeList.valueOf(new HourRanges("09:00-12:00+13:00-17:00"));
+        assertThat(unchanged.merge()).isSameAs(unchanged);
+
+        try {
+            IntHourRangeList.valueOf(new HourRanges("18:00-03:00")).merge();
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo(
+                    "The given hour ranges spans two days (this=18:00-03:00) - Please use 'normalize()' method and pass then the hour ranges per day to this method!");
+        }
+
+    }
+
+    @Test
+    void testOverlaps() {
+
+        final IntHourRangeList testee = IntHourRangeList.valueOf(new HourRanges("09:00-12:00+13:00-17:00"));
+        assertThat(testee.overlaps(IntHourRangeList.valueOf(new HourRanges("12:00-13:00")))).isFalse();
+        assertThat(testee.overlaps(IntHourRangeList.valueOf(new HourRanges("11:59-13:00")))).isTrue();
+        assertThat(testee.overlaps(IntHourRangeList.valueOf(new HourRanges("16:59-18:00")))).isTrue();
+        assertThat(testee.overlaps(IntHourRangeList.valueOf(new HourRanges("06:00-09:00+17:00-20:00")))).isFalse();
+        assertThat(testee.overlaps(IntHourRangeList.valueOf(new HourRanges("06:00-07:00+10:00-11:00")))).isTrue();
+        assertThat(testee.overlaps(IntHourRangeList.EMPTY)).isFalse();
+
+        // Long range followed by a short one
+        final IntHourRangeList other = IntHourRangeList.valueOf(new HourRanges("00:00-20:00+01:00-02:00"));
+        assertThat(IntHourRangeList.valueOf(new HourRanges("18:00-19:00")).overlaps(other)).isTrue();
+        assertThat(other.overlaps(IntHourRangeList.valueOf(new HourRanges("18:00-19:00")))).isTrue();
+
+        // Result must be the same as for the object form
+        final HourRanges a = new HourRanges("08:00-10:00+14:00-16:00");
+        final HourRanges b = new HourRanges("10:00-14:00+16:00-18:00");
+        assertThat(IntHourRangeList.valueOf(a).overlaps(IntHourRangeList.valueOf(b))).isEqualTo(a.overlaps(b));
+
+    }
+
+    @Test
+    void testContains() {
+
+        final IntHourRangeList testee = IntHourRangeList.valueOf(new HourRanges("09:00-12:00+13:00-17:00+22:00-02:00"));
+        assertThat(testee.contains(0)).isFalse();
+        assertThat(testee.contains(540)).isTrue();
+        assertThat(testee.contains(719)).isTrue();
+        assertThat(testee.contains(720)).isFalse();
+        assertThat(testee.contains(780)).isTrue();
+        assertThat(testee.contains(1439)).isTrue();
+
+        final IntHourRangeList nested = IntHourRangeList.valueOf(new HourRanges("08:00-20:00+09:00-10:00"));
+        assertThat(nested.contains(900)).isTrue();
+        assertThat(nested.contains(1199)).isTrue();
+        assertThat(nested.contains(1200)).isFalse();
+
+        final IntHourRangeList adjacent = IntHourRangeList.valueOf(new HourRanges("09:00-12:00+12:00-13:00"));
+        assertThat(adjacent.contains(719)).isTrue();
+        assertThat(adjacent.contains(720)).isTrue();
+        assertThat(adjacent.contains(780)).isFalse();
+
+    }
+
+    @Test
+    void testContainsRange() {
+
+        final IntHourRangeList testee = IntHourRangeList.valueOf(new HourRanges("09:00-12:00+12:00-13:00+14:00-17:00"));
+        assertThat(testee.containsRange(540, 780)).isTrue();
+        assertThat(testee.containsRange(600, 660)).isTrue();
+        assertThat(testee.containsRange(540, 900)).isFalse();
+        assertThat(testee.containsRange(840, 1020)).isTrue();
+        assertThat(testee.containsRange(840, 1021)).isFalse();
+        assertThat(IntHourRangeList.EMPTY.containsRange(0, 1)).isFalse();
+
+    }
+
+    @Test
+    void testForEach() {
+
+        final List<String> list = new ArrayList<>();
+        IntHourRangeList.valueOf(new HourRanges("13:00-17:00+09:00-12:00")).forEach((from, to) -> list.add(from + "-" + to));
+        assertThat(list).containsExactly("540-720", "780-1020");
+        assertThat(IntHourRangeList.of(pack(60, 120)).stream().toArray()).isEqualTo(new int[] { pack(60, 120) });
+
+    }
+
+    @Test
+    void testEqualsHashCode() {
+
+        final IntHourRangeList a = IntHourRangeList.of(pack(60, 120), pack(0, 30));
+        final IntHourRangeList b = IntHourRangeList.of(pack(0, 30), pack(60, 120));
+        assertThat(a).isEqualTo(b);
+        assertThat(a.hashCode()).isEqualTo(b.hashCode());
+        assertThat(a).isNotEqualTo(IntHourRangeList.of(pack(0, 30)));
+
+    }
+
+}
+// CHECKSTYLE:ON
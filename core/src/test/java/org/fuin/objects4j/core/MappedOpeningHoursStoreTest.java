@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class MappedOpeningHoursStoreTest {
+
+    // 2025-01-06 is a monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    @Test
+    void testWriteAndOpen() throws IOException {
+
+        final Map<String, WeeklyOpeningHours> hours = new LinkedHashMap<>();
+        hours.put("store-b", new WeeklyOpeningHours("Mon-Fri 09:00-17:00"));
+        hours.put("store-a", new WeeklyOpeningHours("Sat 22:00-02:00,PH 10:00-12:00"));
+        hours.put("store-\u00e4", new WeeklyOpeningHours("Mon 08:07-09:13"));
+        hours.put("store", new WeeklyOpeningHours("Mon-Sun 00:00-24:00"));
+
+        final File file = File.createTempFile("opening-hours", ".bin");
+        try {
+            MappedOpeningHoursStore.write(file, hours);
+            final MappedOpeningHoursStore testee = MappedOpeningHoursStore.open(file);
+
+            assertThat(testee.size()).isEqualTo(4);
+            int ordinal = 0;
+            for (final Map.Entry<String, WeeklyOpeningHours> entry : hours.entrySet()) {
+                assertThat(testee.ordinalOf(entry.getKey())).isEqualTo(ordinal);
+                assertThat(testee.idOf(ordinal)).isEqualTo(entry.getKey());
+                assertThat(testee.get(ordinal)).isEqualTo(entry.getValue().compress());
+                for (int minute = 0; minute < 7 * 1440; minute++) {
+                    final LocalDateTime dateTime = MONDAY.plusMinutes(minute);
+                    assertThat(testee.isOpenAt(ordinal, dateTime)).isEqualTo(entry.getValue().isOpenAt(dateTime));
+                }
+                ordinal++;
+            }
+            assertThat(testee.ordinalOf("store-c")).isEqualTo(-1);
+            assertThat(testee.ordinalOf("")).isEqualTo(-1);
+            assertThat(testee.isOpenAt("store-b", MONDAY.plusHours(9))).isTrue();
+            assertThat(testee.isOpenAt("unknown", MONDAY.plusHours(9))).isFalse();
+        } finally {
+            file.delete();
+        }
+
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+
+        final File file = File.createTempFile("opening-hours", ".bin");
+        try {
+            MappedOpeningHoursStore.write(file, new LinkedHashMap<>());
+            final MappedOpeningHoursStore testee = MappedOpeningHoursStore.open(file);
+            assertThat(testee.size()).isEqualTo(0);
+            assertThat(testee.ordinalOf("a")).isEqualTo(-1);
+        } finally {
+            file.delete();
+        }
+
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+
+        final File file = File.createTempFile("opening-hours", ".bin");
+        try {
+            try (final FileOutputStream out = new FileOutputStream(file)) {
+                out.write(new byte[100]);
+            }
+            try {
+                MappedOpeningHoursStore.open(file);
+                Assertions.fail("");
+            } catch (final IOException ex) {
+                assertThat(ex.getMessage()).isEqualTo("Not an opening hours store: " + file);
+            }
+
+            final Map<String, WeeklyOpeningHours> hours = new LinkedHashMap<>();
+            hours.put("a", new WeeklyOpeningHours("Mon-Fri 09:00-17:00"));
+            MappedOpeningHoursStore.write(file, hours);
+            final MappedOpeningHoursStore testee = MappedOpeningHoursStore.open(file);
+            try {
+                testee.isOpenAt(1, MONDAY);
+                Assertions.fail("");
+            } catch (final ConstraintViolationException ex) {
+                assertThat(ex.getMessage()).contains("ordinal");
+            }
+        } finally {
+            file.delete();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
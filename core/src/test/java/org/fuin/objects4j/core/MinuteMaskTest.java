@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class MinuteMaskTest {
+
+    @Test
+    void testSet() {
+
+        assertThat(MinuteMask.toBitSet(mask(0, 1440))).isEqualTo(new MinutesBitSetBuilder().fromTo(0, 0, 24, 0).build());
+        assertThat(MinuteMask.toBitSet(mask(0, 1))).isEqualTo(new MinutesBitSetBuilder().minute(0).build());
+        assertThat(MinuteMask.toBitSet(mask(1439, 1440))).isEqualTo(new MinutesBitSetBuilder().minute(1439).build());
+        assertThat(MinuteMask.toBitSet(mask(63, 65))).isEqualTo(new MinutesBitSetBuilder().minute(63).minute(64).build());
+        assertThat(MinuteMask.toBitSet(mask(540, 1020))).isEqualTo(new MinutesBitSetBuilder().fromTo(9, 0, 17, 0).build());
+        assertThat(MinuteMask.isEmpty(mask(10, 10))).isTrue();
+
+    }
+
+    @Test
+    void testContainsRange() {
+
+        final long[] bits = mask(540, 1020);
+        assertThat(MinuteMask.containsRange(bits, 540, 1020)).isTrue();
+        assertThat(MinuteMask.containsRange(bits, 600, 601)).isTrue();
+        assertThat(MinuteMask.containsRange(bits, 539, 600)).isFalse();
+        assertThat(MinuteMask.containsRange(bits, 600, 1021)).isFalse();
+        assertThat(MinuteMask.containsRange(mask(0, 1440), 0, 1440)).isTrue();
+
+    }
+
+    @Test
+    void testNextSetAndClearBit() {
+
+        final long[] bits = MinuteMask.or(mask(60, 120), mask(1380, 1440));
+        assertThat(MinuteMask.nextSetBit(bits, 0)).isEqualTo(60);
+        assertThat(MinuteMask.nextClearBit(bits, 60)).isEqualTo(120);
+        assertThat(MinuteMask.nextSetBit(bits, 120)).isEqualTo(1380);
+        assertThat(MinuteMask.nextClearBit(bits, 1380)).isEqualTo(1440);
+        assertThat(MinuteMask.nextSetBit(bits, 1440)).isEqualTo(-1);
+        assertThat(MinuteMask.nextClearBit(bits, 0)).isEqualTo(0);
+
+    }
+
+    @Test
+    void testSetOperations() {
+
+        final long[] a = mask(540, 720);
+        final long[] b = mask(660, 1020);
+        assertThat(MinuteMask.toBitSet(MinuteMask.or(a, b))).isEqualTo(MinuteMask.toBitSet(mask(540, 1020)));
+        assertThat(MinuteMask.toBitSet(MinuteMask.and(a, b))).isEqualTo(MinuteMask.toBitSet(mask(660, 720)));
+        assertThat(MinuteMask.toBitSet(MinuteMask.andNot(a, b))).isEqualTo(MinuteMask.toBitSet(mask(540, 660)));
+        assertThat(MinuteMask.intersects(a, b)).isTrue();
+        assertThat(MinuteMask.intersects(a, mask(720, 1440))).isFalse();
+        assertThat(MinuteMask.cardinality(a)).isEqualTo(180);
+
+    }
+
+    @Test
+    void testValueOfBitSet() {
+
+        final BitSet bitSet = new MinutesBitSetBuilder().fromTo(8, 0, 12, 0).fromTo(13, 0, 17, 0).build();
+        assertThat(MinuteMask.toBitSet(MinuteMask.valueOf(bitSet, MinuteMask.DAY_WORDS))).isEqualTo(bitSet);
+        assertThat(MinuteMask.valueOf(new BitSet(), MinuteMask.DAY_WORDS).length).isEqualTo(MinuteMask.DAY_WORDS);
+
+    }
+
+    @Test
+    void testWeekDays() {
+
+        final long[] week = MinuteMask.week();
+        MinuteMask.orDay(week, 0, mask(0, 60));
+        MinuteMask.orDay(week, 1440, mask(540, 1020));
+        MinuteMask.orDay(week, 6 * 1440, mask(1380, 1440));
+        MinuteMask.orDay(week, 7 * 1440, mask(600, 720));
+
+        assertThat(MinuteMask.cardinality(week)).isEqualTo(60 + 480 + 60 + 120);
+        assertThat(MinuteMask.toBitSet(MinuteMask.day(week, 0))).isEqualTo(MinuteMask.toBitSet(mask(0, 60)));
+        assertThat(MinuteMask.toBitSet(MinuteMask.day(week, 1440))).isEqualTo(MinuteMask.toBitSet(mask(540, 1020)));
+        assertThat(MinuteMask.toBitSet(MinuteMask.day(week, 6 * 1440))).isEqualTo(MinuteMask.toBitSet(mask(1380, 1440)));
+        assertThat(MinuteMask.toBitSet(MinuteMask.day(week, 7 * 1440))).isEqualTo(MinuteMask.toBitSet(mask(600, 720)));
+        assertThat(MinuteMask.isEmpty(MinuteMask.day(week, 2 * 1440))).isTrue();
+        assertThat(MinuteMask.get(week, 1440 + 540)).isTrue();
+        assertThat(MinuteMask.get(week, 1440 + 539)).isFalse();
+
+    }
+
+    @Test
+    void testCopyAndChanges() {
+
+        final long[] week = MinuteMask.week();
+        MinuteMask.set(week, 0, 60);
+        MinuteMask.set(week, 10020, 10080);
+        MinuteMask.set(week, 10080, 10200);
+
+        final long[] copy = MinuteMask.copy(week, 10080);
+        assertThat(copy.length).isEqualTo(158);
+        assertThat(MinuteMask.cardinality(copy)).isEqualTo(120);
+
+        final long[] changes = new long[158];
+        MinuteMask.orChanges(copy, 10080, changes);
+        // Run from Sunday 23:00 to Monday 01:00 is a single interval
+        assertThat(MinuteMask.cardinality(changes)).isEqualTo(2);
+        assertThat(MinuteMask.get(changes, 60)).isTrue();
+        assertThat(MinuteMask.get(changes, 10020)).isTrue();
+
+    }
+
+    @Test
+    void testForEachRun() {
+
+        final long[] a = MinuteMask.or(mask(0, 10), MinuteMask.or(mask(60, 200), mask(1400, 1440)));
+        final long[] b = mask(100, 130);
+
+        final List<String> runs = new ArrayList<>();
+        MinuteMask.forEachRun(a, b, 0, 1440, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).containsExactly("0-10", "60-100", "130-200", "1400-1440");
+
+        runs.clear();
+        MinuteMask.forEachRun(a, null, 5, 1420, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).containsExactly("0-5", "55-195", "1395-1415");
+
+        runs.clear();
+        MinuteMask.forEachRun(null, a, 0, 1440, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).isEmpty();
+
+        // Day at a position that is not word aligned
+        final long[] week = MinuteMask.week();
+        MinuteMask.orDay(week, 1440, a);
+        runs.clear();
+        MinuteMask.forEachRun(week, null, 1440, 2880, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).containsExactly("0-10", "60-200", "1400-1440");
+
+    }
+
+    @Test
+    void testFingerprint() {
+
+        assertThat(MinuteMask.fingerprint(mask(540, 1020))).isEqualTo(MinuteMask.fingerprint(mask(540, 1020)));
+        assertThat(MinuteMask.fingerprint(mask(540, 1020))).isNotEqualTo(MinuteMask.fingerprint(mask(540, 1021)));
+        assertThat(MinuteMask.fingerprint(mask(0, 1))).isNotEqualTo(MinuteMask.fingerprint(mask(64, 65)));
+        assertThat(MinuteMask.fingerprint(MinuteMask.day())).isNotEqualTo(MinuteMask.fingerprint(MinuteMask.week()));
+
+    }
+
+    @Test
+    void testRunStarts() {
+
+        final long[] starts = MinuteMask.runStarts(mask(60, 200), 100);
+        assertThat(MinuteMask.nextSetBit(starts, 0)).isEqualTo(60);
+        assertThat(MinuteMask.cardinality(starts)).isEqualTo(41);
+        assertThat(MinuteMask.runStarts(mask(540, 1020), 480)).isEqualTo(mask(540, 541));
+        assertThat(MinuteMask.isEmpty(MinuteMask.runStarts(mask(540, 1020), 481))).isTrue();
+        assertThat(MinuteMask.runStarts(mask(540, 1020), 1)).isEqualTo(mask(540, 1020));
+
+    }
+
+    @Test
+    void testRepeat() {
+
+        final long[] bits = MinuteMask.repeat(mask(0, 10), 1440, 2);
+        assertThat(bits.length).isEqualTo(45);
+        assertThat(MinuteMask.cardinality(bits)).isEqualTo(20);
+        assertThat(MinuteMask.nextSetBit(bits, 10)).isEqualTo(1440);
+        assertThat(MinuteMask.nextClearBit(bits, 1440)).isEqualTo(1450);
+
+    }
+
+    @Test
+    void testForEachRunWithMinLength() {
+
+        final long[] bits = mask(60, 100);
+        MinuteMask.set(bits, 200, 400);
+        MinuteMask.set(bits, 500, 600);
+        final List<String> runs = new ArrayList<>();
+        MinuteMask.forEachRun(bits, 50, 0, 1440, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).containsExactly("200-400", "500-600");
+
+        runs.clear();
+        MinuteMask.forEachRun(bits, 50, 300, 500, (from, to) -> runs.add(from + "-" + to));
+        assertThat(runs).containsExactly("300-400");
+
+    }
+
+    private static long[] mask(final int from, final int to) {
+        final long[] bits = MinuteMask.day();
+        MinuteMask.set(bits, from, to);
+        return bits;
+    }
+
+}
+// CHECKSTYLE:ON
@@ -172,6 +172,11 @@ public class MultiDayOfTheWeekTest {
         assertThat(m("Mon/Tue/Wed/Fri/Sat/Sun").compress()).isEqualTo(m("Mon-Wed/Fri-Sun"));
         assertThat(m("Mon/Tue/Wed/Sat/Sun").compress()).isEqualTo(m("Mon-Wed/Sat/Sun"));
         assertThat(m("Mon-Wed/Thu-Sat/Sun").compress()).isEqualTo(m("Mon-Sun"));
+        assertThat(m("Mon/Wed").compress()).isEqualTo(m("Mon/Wed"));
+        assertThat(m("Mon/Wed/Fri").compress()).isEqualTo(m("Mon/Wed/Fri"));
+        assertThat(m("Mon/PH").compress()).isEqualTo(m("Mon/PH"));
+        assertThat(m("Fri-Sun/PH").compress()).isEqualTo(m("Fri-Sun/PH"));
+        assertThat(new MultiDayOfTheWeek(DayOfTheWeek.SUN, DayOfTheWeek.MON, DayOfTheWeek.TUE).compress()).isEqualTo(m("Mon/Tue/Sun"));
 
     }
 
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class OccupancyTaskTest {
+
+    @Test
+    void testCompute() {
+
+        final WeeklyOpeningHours[] weeks = ScheduleFixture.weeks(100);
+        final int[] expected = new int[MinuteMask.MINUTES_PER_WEEK];
+        for (int i = 0; i < expected.length; i++) {
+            for (final WeeklyOpeningHours week : weeks) {
+                if (week != null && week.isOpenAt(ScheduleFixture.dateTime(i))) {
+                    expected[i]++;
+                }
+            }
+        }
+
+        for (final int threshold : ScheduleFixture.THRESHOLDS) {
+            final int[] histogram = OccupancyTask
+                    .toHistogram(ForkJoinPool.commonPool().invoke(new OccupancyTask(weeks, 0, weeks.length, threshold)));
+            assertThat(histogram).isEqualTo(expected);
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
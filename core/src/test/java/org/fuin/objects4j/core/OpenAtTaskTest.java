@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class OpenAtTaskTest {
+
+    @Test
+    void testCompute() {
+
+        final WeeklyOpeningHours[] weeks = ScheduleFixture.weeks(1000);
+        for (final int threshold : ScheduleFixture.THRESHOLDS) {
+            for (int minute = 0; minute < MinuteMask.MINUTES_PER_WEEK; minute = minute + 7) {
+                final long[] result = new long[(weeks.length + 63) / 64];
+                ForkJoinPool.commonPool().invoke(new OpenAtTask(weeks, minute, result, 0, weeks.length, threshold));
+                final LocalDateTime dateTime = ScheduleFixture.dateTime(minute);
+                for (int i = 0; i < weeks.length; i++) {
+                    final boolean expected = weeks[i] != null && weeks[i].isOpenAt(dateTime);
+                    assertThat((result[i / 64] & (1L << i)) != 0).isEqualTo(expected);
+                }
+            }
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
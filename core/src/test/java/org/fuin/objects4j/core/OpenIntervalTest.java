@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class OpenIntervalTest {
+
+    @Test
+    void testConstruct() {
+
+        final OpenInterval<Instant> testee = new OpenInterval<>(Instant.parse("2024-01-01T08:00:00Z"), Instant.parse("2024-01-01T16:00:00Z"));
+        assertThat(testee.getFrom()).isEqualTo(Instant.parse("2024-01-01T08:00:00Z"));
+        assertThat(testee.getTo()).isEqualTo(Instant.parse("2024-01-01T16:00:00Z"));
+        assertThat(testee.toString()).isEqualTo("2024-01-01T08:00:00Z/2024-01-01T16:00:00Z");
+
+        try {
+            new OpenInterval<>(LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 9, 0));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'from' (2024-01-01T09:00) must be before 'to' (2024-01-01T09:00)");
+        }
+
+    }
+
+    @Test
+    void testContains() {
+
+        final OpenInterval<LocalDateTime> testee = new OpenInterval<>(LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 17, 0));
+        assertThat(testee.contains(LocalDateTime.of(2024, 1, 1, 9, 0))).isTrue();
+        assertThat(testee.contains(LocalDateTime.of(2024, 1, 1, 16, 59))).isTrue();
+        assertThat(testee.contains(LocalDateTime.of(2024, 1, 1, 17, 0))).isFalse();
+        assertThat(testee.contains(LocalDateTime.of(2024, 1, 1, 8, 59))).isFalse();
+
+    }
+
+    @Test
+    void testEqualsHashCode() {
+
+        final LocalDateTime a = LocalDateTime.of(2024, 1, 1, 9, 0);
+        final LocalDateTime b = LocalDateTime.of(2024, 1, 1, 17, 0);
+        final LocalDateTime c = LocalDateTime.of(2024, 1, 1, 18, 0);
+        assertThat(new OpenInterval<>(a, b)).isEqualTo(new OpenInterval<>(a, b));
+        assertThat(new OpenInterval<>(a, b).hashCode()).isEqualTo(new OpenInterval<>(a, b).hashCode());
+        assertThat(new OpenInterval<>(a, b)).isNotEqualTo(new OpenInterval<>(a, c));
+        assertThat(new OpenInterval<>(a, c)).isNotEqualTo(new OpenInterval<>(b, c));
+
+    }
+
+}
+// CHECKSTYLE:ON
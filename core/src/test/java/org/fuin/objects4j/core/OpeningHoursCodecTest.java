@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class OpeningHoursCodecTest {
+
+    @Test
+    void testVarint() {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        final int[] values = { 0, 1, 127, 128, 1439, 16383, 16384, Integer.MAX_VALUE };
+        for (final int value : values) {
+            OpeningHoursCodec.writeVarint(buffer, value);
+        }
+        assertThat(buffer.position()).isEqualTo(1 + 1 + 1 + 2 + 2 + 2 + 3 + 5);
+        buffer.flip();
+        for (final int value : values) {
+            assertThat(OpeningHoursCodec.readVarint(buffer)).isEqualTo(value);
+        }
+
+        try {
+            OpeningHoursCodec.readVarint(ByteBuffer.wrap(new byte[] { -1, -1, -1, -1, -1, 1 }));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid variable length integer");
+        }
+
+    }
+
+    @Test
+    void testRuns() {
+
+        final long[] minutes = MinuteMask.day();
+        MinuteMask.set(minutes, 540, 720);
+        MinuteMask.set(minutes, 780, 1440);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        OpeningHoursCodec.writeRuns(buffer, minutes, MinuteMask.MINUTES_PER_DAY);
+        assertThat(buffer.position()).isEqualTo(1 + 2 + 2 + 1 + 2);
+        buffer.flip();
+        assertThat(OpeningHoursCodec.readRuns(buffer, MinuteMask.MINUTES_PER_DAY)).isEqualTo(minutes);
+
+        // Run beyond the end
+        try {
+            OpeningHoursCodec.readRuns(ByteBuffer.wrap(new byte[] { 1, 0, 2 }), 1);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid run of open minutes: from=0, length=2");
+        }
+
+        // Second run touches the first one
+        try {
+            OpeningHoursCodec.readRuns(ByteBuffer.wrap(new byte[] { 2, 0, 1, 0, 1 }), 10);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid run of open minutes: from=1, length=1");
+        }
+
+    }
+
+    @Test
+    void testRunsCorrupt() {
+
+        // Gap that overflows an int when added to the end of the first run
+        final ByteBuffer gap = ByteBuffer.allocate(64);
+        OpeningHoursCodec.writeVarint(gap, 2);
+        OpeningHoursCodec.writeVarint(gap, 100);
+        OpeningHoursCodec.writeVarint(gap, 10);
+        OpeningHoursCodec.writeVarint(gap, Integer.MAX_VALUE - 100);
+        OpeningHoursCodec.writeVarint(gap, 10);
+        gap.flip();
+        try {
+            OpeningHoursCodec.readRuns(gap, MinuteMask.MINUTES_PER_DAY);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid run of open minutes: from=2147483657, length=10");
+        }
+
+        // Length that overflows an int when added to the start of the run
+        final ByteBuffer length = ByteBuffer.allocate(64);
+        OpeningHoursCodec.writeVarint(length, 1);
+        OpeningHoursCodec.writeVarint(length, 10);
+        OpeningHoursCodec.writeVarint(length, Integer.MAX_VALUE);
+        length.flip();
+        try {
+            HourRanges.readFrom(length);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid run of open minutes: from=10, length=2147483647");
+        }
+
+        // More runs than minutes
+        try {
+            OpeningHoursCodec.readRuns(ByteBuffer.wrap(new byte[] { 11 }), 10);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid number of runs: 11");
+        }
+
+    }
+
+    @Test
+    void testWeek() {
+
+        final WeeklyOpeningHours weeklyOpeningHours = new WeeklyOpeningHours("Mon-Fri 09:00-17:00");
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        OpeningHoursCodec.writeWeek(buffer, weeklyOpeningHours.minutesMask());
+        // Count + days + runs + 1 x (from + length)
+        assertThat(buffer.position()).isEqualTo(1 + 1 + 1 + 2 + 2);
+        buffer.flip();
+        assertThat(OpeningHoursCodec.readWeek(buffer)).isEqualTo(weeklyOpeningHours.minutesMask());
+
+        try {
+            OpeningHoursCodec.readWeek(ByteBuffer.wrap(new byte[] { 2, 1, 1, 0, 1, 3, 1, 0, 1 }));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid or duplicate days in mask: 11");
+        }
+
+    }
+
+    @Test
+    void testBytes() {
+
+        assertThat(OpeningHoursCodec.toBytes(buffer -> buffer.put(new byte[1000])).length).isEqualTo(1000);
+
+        try {
+            OpeningHoursCodec.fromBytes(new byte[] { 1, 2 }, ByteBuffer::get);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Expected 1 bytes, but was: 2");
+        }
+        try {
+            OpeningHoursCodec.fromBytes(new byte[] { 1 }, ByteBuffer::getInt);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Unexpected end of data after 1 bytes");
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
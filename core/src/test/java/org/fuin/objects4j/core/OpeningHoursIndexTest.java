@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.objects4j.core.DayOfTheWeek.*;
+
+// CHECKSTYLE:OFF
+public class OpeningHoursIndexTest {
+
+    private static final String[] HOURS = { "Mon-Fri 09:00-17:00", "Mon-Sat 08:00-12:00+13:00-20:00", "Fri 18:00-03:00,Sat 10:00-14:00",
+            "Mon-Sun 00:00-24:00", "Sun 22:00-02:00,Wed 10:00-11:00", "Mon-Fri 09:00-17:00", "PH 10:00-12:00" };
+
+    @Test
+    void testTemplates() {
+
+        final OpeningHoursIndex<String> testee = index();
+
+        assertThat(testee.size()).isEqualTo(HOURS.length);
+        // Same hours for "id0" and "id5" and no hours during the week for "id6"
+        assertThat(testee.getTemplateCount()).isEqualTo(6);
+        assertThat(testee.getId(2)).isEqualTo("id2");
+        assertThat(testee.getMemoryFootprint()).isGreaterThan(0L);
+
+    }
+
+    @Test
+    void testOpenAtMatchesWeeklyOpeningHours() {
+
+        final OpeningHoursIndex<String> testee = index();
+        final WeeklyOpeningHours[] weeks = weeks();
+
+        // 2024-01-01 is a Monday
+        LocalDateTime dateTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < MinuteMask.MINUTES_PER_WEEK; i++) {
+            final BitSet expected = new BitSet();
+            for (int j = 0; j < weeks.length; j++) {
+                if (weeks[j].isOpenAt(dateTime)) {
+                    expected.set(j);
+                }
+            }
+            assertThat(testee.openAt(dateTime)).describedAs(dateTime.toString()).isEqualTo(expected);
+            dateTime = dateTime.plusMinutes(1);
+        }
+
+    }
+
+    @Test
+    void testOpenAt() {
+
+        final OpeningHoursIndex<String> testee = index();
+
+        assertThat(testee.getIds(testee.openAt(FRI, 21 * 60 + 15))).containsExactly("id2", "id3");
+        assertThat(testee.getIds(testee.openAt(MON, 60))).containsExactly("id3", "id4");
+        assertThat(testee.getIds(testee.openAt(SAT, 60))).containsExactly("id2", "id3");
+
+        try {
+            testee.openAt(PH, 0);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'dayOfTheWeek' cannot be a public holiday (PH)");
+        }
+
+    }
+
+    @Test
+    void testOpenDuring() {
+
+        final OpeningHoursIndex<String> testee = index();
+
+        assertThat(testee.getIds(testee.openDuring(SAT, new HourRange("10:00-14:00")))).containsExactly("id2", "id3");
+        assertThat(testee.getIds(testee.openDuring(SAT, new HourRange("10:00-12:00")))).containsExactly("id1", "id2", "id3");
+        assertThat(testee.getIds(testee.openDuring(FRI, new HourRange("09:00-17:00")))).containsExactly("id0", "id3", "id5");
+        assertThat(testee.getIds(testee.openDuring(SUN, new HourRange("22:00-02:00")))).containsExactly("id3", "id4");
+        assertThat(testee.getIds(testee.openDuring(FRI, new HourRange("18:00-03:00")))).containsExactly("id2", "id3");
+        assertThat(testee.getIds(testee.openDuring(LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 15, 0, 0))))
+                .containsExactly("id3");
+
+        // Empty window
+        final LocalDateTime friday = LocalDateTime.of(2024, 1, 5, 21, 15);
+        assertThat(testee.openDuring(friday, friday)).isEqualTo(testee.openAt(friday));
+        assertThat(testee.openDuring(friday, friday.plusSeconds(30))).isEqualTo(testee.openAt(friday));
+
+        try {
+            testee.openDuring(friday, friday.minusMinutes(1));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'to' (2024-01-05T21:14) cannot be before 'from' (2024-01-05T21:15)");
+        }
+
+        try {
+            testee.openDuring(null, new HourRange("10:00-12:00"));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'dayOfTheWeek' cannot be null");
+        }
+
+    }
+
+    private static OpeningHoursIndex<String> index() {
+        final WeeklyOpeningHours[] weeks = weeks();
+        final List<Map.Entry<String, WeeklyOpeningHours>> locations = new ArrayList<>();
+        for (int i = 0; i < weeks.length; i++) {
+            locations.add(Map.entry("id" + i, weeks[i]));
+        }
+        return new OpeningHoursIndex<>(locations.iterator());
+    }
+
+    private static WeeklyOpeningHours[] weeks() {
+        final WeeklyOpeningHours[] weeks = new WeeklyOpeningHours[HOURS.length];
+        for (int i = 0; i < HOURS.length; i++) {
+            weeks[i] = new WeeklyOpeningHours(HOURS[i]);
+        }
+        return weeks;
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+// CHECKSTYLE:OFF
+public class OpeningHoursParserTest {
+
+    @Test
+    void testHour() {
+
+        assertThat(new OpeningHoursParser("00:00").hour()).isEqualTo(0);
+        assertThat(new OpeningHoursParser("09:30").hour()).isEqualTo(570);
+        assertThat(new OpeningHoursParser("0930").hour()).isEqualTo(570);
+        assertThat(new OpeningHoursParser("23:59").hour()).isEqualTo(1439);
+        assertThat(new OpeningHoursParser("24:00").hour()).isEqualTo(1440);
+
+        assertError(new OpeningHoursParser("2400"), p -> p.hour() < 0, 0);
+        assertError(new OpeningHoursParser("24:01"), p -> p.hour() < 0, 0);
+        assertError(new OpeningHoursParser("12:60"), p -> p.hour() < 0, 3);
+        assertError(new OpeningHoursParser("12.00"), p -> p.hour() < 0, 2);
+        assertError(new OpeningHoursParser("1x:00"), p -> p.hour() < 0, 1);
+        assertError(new OpeningHoursParser("1:00"), p -> p.hour() < 0, 1);
+        assertError(new OpeningHoursParser(""), p -> p.hour() < 0, 0);
+
+    }
+
+    @Test
+    void testHourRanges() {
+
+        final List<HourRange> ranges = new OpeningHoursParser("13:00-1700++09:00-12:00").hourRanges();
+        assertThat(ranges).containsExactly(new HourRange("13:00-17:00"), new HourRange("09:00-12:00"));
+
+        assertError(new OpeningHoursParser("09:00-12:00+13:00-1x:00"), p -> p.hourRanges() == null, 19);
+        assertError(new OpeningHoursParser("09:00-12:00+13:00"), p -> p.hourRanges() == null, 17);
+        assertError(new OpeningHoursParser("09:00-09:00"), p -> p.hourRanges() == null, 6);
+        assertError(new OpeningHoursParser("24:00-09:00"), p -> p.hourRanges() == null, 0);
+        assertError(new OpeningHoursParser("09:00-00:00"), p -> p.hourRanges() == null, 6);
+        assertError(new OpeningHoursParser("+"), p -> p.hourRanges() == null, 0);
+
+    }
+
+    @Test
+    void testMultiDayOfTheWeek() {
+
+        assertThat(new OpeningHoursParser("sun/Mon-Wed//PH").multiDayOfTheWeek()).containsExactly(DayOfTheWeek.MON, DayOfTheWeek.TUE,
+                DayOfTheWeek.WED, DayOfTheWeek.SUN, DayOfTheWeek.PH);
+
+        assertError(new OpeningHoursParser("Mon/Xyz"), p -> p.multiDayOfTheWeek() == null, 4);
+        assertError(new OpeningHoursParser("Fri-Mon"), p -> p.multiDayOfTheWeek() == null, 4);
+        assertError(new OpeningHoursParser("Mon-Fri/Wed"), p -> p.multiDayOfTheWeek() == null, 8);
+        assertError(new OpeningHoursParser("/"), p -> p.multiDayOfTheWeek() == null, 0);
+
+    }
+
+    @Test
+    void testDayOpeningHours() {
+
+        assertThat(new OpeningHoursParser("Tue 09:00-12:00").dayOpeningHours()).isEqualTo(new DayOpeningHours("TUE 09:00-12:00"));
+
+        assertError(new OpeningHoursParser("Tue"), p -> p.dayOpeningHours() == null, 3);
+        assertError(new OpeningHoursParser("Tue 09:00-12:0"), p -> p.dayOpeningHours() == null, 12);
+
+    }
+
+    @Test
+    void testWeeklyOpeningHours() {
+
+        final List<DayOpeningHours> days = new OpeningHoursParser("Sat 10:00-14:00,Mon/Fri 18:00-03:00").weeklyOpeningHours();
+        assertThat(days).containsExactly(new DayOpeningHours("SAT 10:00-14:00"), new DayOpeningHours("MON 18:00-03:00"),
+                new DayOpeningHours("FRI 18:00-03:00"));
+
+        assertError(new OpeningHoursParser("Mon 09:00-12:00,Tue"), p -> p.weeklyOpeningHours() == null, 19);
+        assertError(new OpeningHoursParser("Mon-Fri 09:00-12:00,Tue 13:00-14:00"), p -> p.weeklyOpeningHours() == null, 20);
+        assertError(new OpeningHoursParser("Mon 18:00-03:00,Tue 02:00-04:00"), p -> p.weeklyOpeningHours() == null, 16);
+        assertError(new OpeningHoursParser(","), p -> p.weeklyOpeningHours() == null, 0);
+
+    }
+
+    @Test
+    void testConstructorExceptionHasPosition() {
+
+        try {
+            new WeeklyOpeningHours("Mon-Fri 09:00-12:00+13:00-1800,Sat 09:00-1x:00");
+            fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo(
+                    "The argument 'weeklyOpeningHours' does not represent valid weekly opening hours like 'Mon-Fri 09:00-12:00+13:00-17:00,Sat/Sun 09:-12:00': "
+                            + "'Mon-Fri 09:00-12:00+13:00-1800,Sat 09:00-1x:00'");
+            assertThat(ex.getCause()).isInstanceOf(ParseException.class);
+            assertThat(((ParseException) ex.getCause()).getErrorOffset()).isEqualTo(42);
+        }
+
+    }
+
+    @Test
+    void testConsecutiveDaysSpanningMidnight() {
+
+        assertThat(WeeklyOpeningHours.isValid("Fri/Sat 18:00-03:00")).isTrue();
+        final WeeklyOpeningHours testee = new WeeklyOpeningHours("Fri/Sat 18:00-03:00");
+        assertThat(testee.hasChanges(new WeeklyOpeningHours(new DayOpeningHours("FRI 18:00-24:00"),
+                new DayOpeningHours("SAT 00:00-03:00+18:00-24:00"), new DayOpeningHours("SUN 00:00-03:00")))).isFalse();
+
+    }
+
+    @Test
+    void testBytes() {
+
+        final byte[] bytes = "xxMon-Fri 09:00-12:00+13:00-17:00,Sat 10:00-1x:00yy".getBytes(StandardCharsets.US_ASCII);
+        assertThat(new OpeningHoursParser(bytes, 2, 31).weeklyOpeningHours()).hasSize(5);
+        assertThat(new OpeningHoursParser(bytes, 2, 31).upperCaseText()).isEqualTo("MON-FRI 09:00-12:00+13:00-17:00");
+        assertError(new OpeningHoursParser(bytes, 2, 47), p -> p.weeklyOpeningHours() == null, 43);
+
+        try {
+            new OpeningHoursParser(bytes, 2, 50);
+            fail("");
+        } catch (final IndexOutOfBoundsException ex) {
+            // Expected
+        }
+
+    }
+
+    @Test
+    void testValueOfCharSequenceAndBytes() {
+
+        final StringBuilder sb = new StringBuilder("Mon-Fri 09:00-12:00");
+        assertThat(WeeklyOpeningHours.valueOf(sb)).isEqualTo(new WeeklyOpeningHours("Mon-Fri 09:00-12:00"));
+        assertThat(WeeklyOpeningHours.valueOf((CharSequence) null)).isNull();
+        assertThat(MultiDayOfTheWeek.valueOf(new StringBuilder("sat/Sun"))).isEqualTo(new MultiDayOfTheWeek("SAT/SUN"));
+        assertThat(DayOpeningHours.valueOf(new StringBuilder("Tue 10:00-11:00"))).isEqualTo(new DayOpeningHours("Tue 10:00-11:00"));
+        assertThat(HourRanges.valueOf(new StringBuilder("13:00-14:00+10:00-11:00"))).isEqualTo(new HourRanges("10:00-11:00+13:00-14:00"));
+        assertThat(HourRange.valueOf(new StringBuilder("10:00-11:00"))).isEqualTo(new HourRange("10:00-11:00"));
+        assertThat(Hour.valueOf(new StringBuilder("10:00"))).isSameAs(Hour.of(10, 0));
+        assertThat(DayOfTheWeek.valueOf(new StringBuilder("wed"))).isSameAs(DayOfTheWeek.WED);
+
+        final byte[] bytes = "|Sat/Sun 10:00-14:00|".getBytes(StandardCharsets.US_ASCII);
+        assertThat(WeeklyOpeningHours.valueOf(bytes, 1, 19)).isEqualTo(new WeeklyOpeningHours("Sat/Sun 10:00-14:00"));
+        assertThat(MultiDayOfTheWeek.valueOf(bytes, 1, 7)).isEqualTo(new MultiDayOfTheWeek("Sat/Sun"));
+        assertThat(DayOfTheWeek.valueOf(bytes, 5, 3)).isSameAs(DayOfTheWeek.SUN);
+        assertThat(HourRanges.valueOf(bytes, 9, 11)).isEqualTo(new HourRanges("10:00-14:00"));
+        assertThat(HourRange.valueOf(bytes, 9, 11)).isEqualTo(new HourRange("10:00-14:00"));
+        assertThat(Hour.valueOf(bytes, 15, 5)).isSameAs(Hour.of(14, 0));
+
+        try {
+            HourRanges.valueOf(bytes, 0, 20);
+            fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo(
+                    "The argument 'ranges' does not represent a valid hour range like '09:00-12:00+13:00-17:00': '|Sat/Sun 10:00-14:00'");
+            assertThat(((ParseException) ex.getCause()).getErrorOffset()).isEqualTo(5);
+        }
+
+    }
+
+    @Test
+    void testOverlapAfterMidnightErrorOffset() {
+
+        assertError(new OpeningHoursParser("Mon 18:00-03:00,Tue 02:00-05:00"), p -> p.weeklyOpeningHours() == null, 16);
+        assertError(new OpeningHoursParser("Tue 02:00-05:00,Mon 18:00-03:00"), p -> p.weeklyOpeningHours() == null, 16);
+
+        try {
+            new WeeklyOpeningHours("Mon 18:00-03:00,Tue 02:00-05:00");
+            fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getCause().getMessage()).isEqualTo("Hours of MON overlap with the hours of TUE at position 16");
+            assertThat(((ParseException) ex.getCause()).getErrorOffset()).isEqualTo(16);
+        }
+
+    }
+
+    private static void assertError(final OpeningHoursParser parser, final Predicate<OpeningHoursParser> failed,
+            final int offset) {
+        assertThat(failed.test(parser)).isTrue();
+        assertThat(parser.getError()).isNotNull();
+        assertThat(parser.getError().getErrorOffset()).isEqualTo(offset);
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class OpeningHoursTransitionsTest {
+
+    // 2024-01-01 is a Monday
+
+    @Test
+    void testNextOpening() {
+
+        final OpeningHoursTransitions testee = t("Mon-Fri 09:00-17:00");
+
+        assertThat(testee.nextOpening(at(1, 8, 0))).isEqualTo(at(1, 9, 0));
+        assertThat(testee.nextOpening(at(1, 9, 0))).isEqualTo(at(1, 9, 0));
+        assertThat(testee.nextOpening(LocalDateTime.of(2024, 1, 1, 9, 0, 1))).isEqualTo(at(2, 9, 0));
+        assertThat(testee.nextOpening(at(1, 12, 0))).isEqualTo(at(2, 9, 0));
+        assertThat(testee.nextOpening(at(5, 18, 0))).isEqualTo(at(8, 9, 0));
+        assertThat(testee.nextOpening(at(7, 23, 59))).isEqualTo(at(8, 9, 0));
+
+    }
+
+    @Test
+    void testNextClosing() {
+
+        final OpeningHoursTransitions testee = t("Mon-Fri 09:00-17:00");
+
+        assertThat(testee.nextClosing(at(1, 8, 0))).isEqualTo(at(1, 17, 0));
+        assertThat(testee.nextClosing(at(1, 17, 0))).isEqualTo(at(1, 17, 0));
+        assertThat(testee.nextClosing(at(5, 17, 1))).isEqualTo(at(8, 17, 0));
+
+    }
+
+    @Test
+    void testWrapSundayToMonday() {
+
+        final OpeningHoursTransitions testee = t("Sun 20:00-03:00,Mon 03:00-04:00");
+
+        assertThat(testee.isOpenAt(at(7, 21, 0))).isTrue();
+        assertThat(testee.isOpenAt(at(1, 3, 30))).isTrue();
+        assertThat(testee.isOpenAt(at(1, 4, 0))).isFalse();
+        assertThat(testee.isOpenAt(at(7, 19, 59))).isFalse();
+        assertThat(testee.nextClosing(at(7, 21, 0))).isEqualTo(at(8, 4, 0));
+        assertThat(testee.currentIntervalEnd(at(1, 0, 0))).isEqualTo(at(1, 4, 0));
+        assertThat(testee.nextOpening(at(1, 5, 0))).isEqualTo(at(7, 20, 0));
+
+        final OpeningHoursTransitions aroundTheClock = t("Mon 00:00-12:00,Sun 12:00-24:00");
+        assertThat(aroundTheClock.nextOpening(at(1, 0, 0))).isEqualTo(at(7, 12, 0));
+        assertThat(aroundTheClock.nextClosing(at(7, 13, 0))).isEqualTo(at(8, 12, 0));
+        assertThat(aroundTheClock.isOpenAt(at(1, 0, 0))).isTrue();
+
+    }
+
+    @Test
+    void testCurrentIntervalEnd() {
+
+        final OpeningHoursTransitions testee = t("Mon-Fri 09:00-12:00+13:00-17:00");
+
+        assertThat(testee.currentIntervalEnd(at(1, 10, 0))).isEqualTo(at(1, 12, 0));
+        assertThat(testee.currentIntervalEnd(at(1, 13, 0))).isEqualTo(at(1, 17, 0));
+        assertThat(testee.currentIntervalEnd(at(1, 12, 30))).isNull();
+        assertThat(testee.currentIntervalEnd(at(6, 10, 0))).isNull();
+
+    }
+
+    @Test
+    void testAlwaysOpenAndClosed() {
+
+        final OpeningHoursTransitions open = t("Mon-Sun 00:00-24:00");
+        assertThat(open.isAlwaysOpen()).isTrue();
+        assertThat(open.isAlwaysClosed()).isFalse();
+        assertThat(open.isOpenAt(at(3, 3, 3))).isTrue();
+        assertThat(open.nextOpening(at(1, 0, 0))).isNull();
+        assertThat(open.nextClosing(at(1, 0, 0))).isNull();
+        assertThat(open.currentIntervalEnd(at(1, 0, 0))).isNull();
+
+        final OpeningHoursTransitions closed = t("PH 09:00-17:00");
+        assertThat(closed.isAlwaysOpen()).isFalse();
+        assertThat(closed.isAlwaysClosed()).isTrue();
+        assertThat(closed.isOpenAt(at(1, 10, 0))).isFalse();
+        assertThat(closed.nextOpening(at(1, 0, 0))).isNull();
+
+    }
+
+    @Test
+    void testIsOpenAtMatchesWeeklyOpeningHours() {
+
+        final WeeklyOpeningHours week = new WeeklyOpeningHours("Mon-Fri 09:00-12:00+13:00-17:00,Sat 22:00-02:00,Sun 23:00-24:00");
+        final OpeningHoursTransitions testee = new OpeningHoursTransitions(week);
+        LocalDateTime dateTime = at(1, 0, 0);
+        for (int i = 0; i < MinuteMask.MINUTES_PER_WEEK; i++) {
+            assertThat(testee.isOpenAt(dateTime)).describedAs(dateTime.toString()).isEqualTo(week.isOpenAt(dateTime));
+            dateTime = dateTime.plusMinutes(1);
+        }
+
+    }
+
+    private static OpeningHoursTransitions t(final String weeklyOpeningHours) {
+        return new OpeningHoursTransitions(new WeeklyOpeningHours(weeklyOpeningHours));
+    }
+
+    private static LocalDateTime at(final int dayOfMonth, final int hour, final int minute) {
+        return LocalDateTime.of(2024, 1, dayOfMonth, hour, minute);
+    }
+
+}
+// CHECKSTYLE:ON
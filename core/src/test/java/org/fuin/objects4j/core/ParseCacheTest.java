@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class ParseCacheTest {
+
+    @Test
+    void testHitAndMiss() {
+
+        final AtomicInteger created = new AtomicInteger();
+        final ParseCache<HourRanges> testee = new ParseCache<>(10, str -> {
+            created.incrementAndGet();
+            return new HourRanges(str);
+        });
+
+        final HourRanges first = testee.get("09:00-12:00");
+        assertThat(testee.get("09:00-12:00")).isSameAs(first);
+        assertThat(testee.get(null)).isNull();
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(testee.getHits()).isEqualTo(1L);
+        assertThat(testee.getMisses()).isEqualTo(1L);
+        assertThat(testee.getEvictions()).isEqualTo(0L);
+        assertThat(testee.size()).isEqualTo(1);
+
+        testee.clear();
+        assertThat(testee.size()).isEqualTo(0);
+        assertThat(testee.get("09:00-12:00")).isNotSameAs(first);
+
+    }
+
+    @Test
+    void testInvalidValueIsNotCached() {
+
+        final ParseCache<HourRanges> testee = new ParseCache<>(10, HourRanges::new);
+        try {
+            testee.get("09:00-1x:00");
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(testee.size()).isEqualTo(0);
+            assertThat(testee.getMisses()).isEqualTo(1L);
+        }
+
+    }
+
+    @Test
+    void testFrequentValuesSurviveScan() {
+
+        final ParseCache<Hour> testee = new ParseCache<>(4, Hour::new);
+
+        // Two values used often
+        for (int i = 0; i < 5; i++) {
+            testee.get("08:00");
+            testee.get("09:00");
+        }
+
+        // Many values used only once
+        for (int i = 10; i < 20; i++) {
+            testee.get(i + ":00");
+        }
+
+        assertThat(testee.size()).isEqualTo(4);
+        assertThat(testee.getEvictions()).isEqualTo(8L);
+        final long hits = testee.getHits();
+        testee.get("08:00");
+        testee.get("09:00");
+        assertThat(testee.getHits()).isEqualTo(hits + 2);
+
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+
+        final ParseCache<Hour> testee = new ParseCache<>(100, Hour::new);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        final int minute = i % 300;
+                        final Hour hour = testee.get(String.format("%02d:%02d", minute / 60, minute % 60));
+                        assertThat(hour.toMinutes()).isEqualTo(minute);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(testee.size()).isEqualTo(100);
+        assertThat(testee.getHits() + testee.getMisses()).isEqualTo(40000L);
+        assertThat(testee.getEvictions()).isLessThanOrEqualTo(testee.getMisses() - 100);
+
+    }
+
+    @Test
+    void testValueOfWithCache() {
+
+        assertThat(WeeklyOpeningHours.getCache()).isNull();
+        WeeklyOpeningHours.enableCache(10);
+        HourRanges.enableCache(10);
+        DayOpeningHours.enableCache(10);
+        MultiDayOfTheWeek.enableCache(10);
+        try {
+            assertThat(WeeklyOpeningHours.valueOf("Mon-Fri 09:00-18:00")).isSameAs(WeeklyOpeningHours.valueOf("Mon-Fri 09:00-18:00"));
+            assertThat(HourRanges.valueOf("09:00-18:00")).isSameAs(HourRanges.valueOf("09:00-18:00"));
+            assertThat(DayOpeningHours.valueOf("Mon 09:00-18:00")).isSameAs(DayOpeningHours.valueOf("Mon 09:00-18:00"));
+            assertThat(MultiDayOfTheWeek.valueOf("Mon-Fri")).isSameAs(MultiDayOfTheWeek.valueOf("Mon-Fri"));
+            assertThat(WeeklyOpeningHours.getCache().getHits()).isEqualTo(1L);
+            assertThat(WeeklyOpeningHours.getCache().getMisses()).isEqualTo(1L);
+        } finally {
+            WeeklyOpeningHours.disableCache();
+            HourRanges.disableCache();
+            DayOpeningHours.disableCache();
+            MultiDayOfTheWeek.disableCache();
+        }
+        assertThat(WeeklyOpeningHours.valueOf("Mon-Fri 09:00-18:00")).isNotSameAs(WeeklyOpeningHours.valueOf("Mon-Fri 09:00-18:00"));
+
+    }
+
+}
+// CHECKSTYLE:ON
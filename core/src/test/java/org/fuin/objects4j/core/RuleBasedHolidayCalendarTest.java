@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.core.RuleBasedHolidayCalendar.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class RuleBasedHolidayCalendarTest {
+
+    private static final String RULES = "# Germany\n"
+            + "*      01-01     New Year's Day\n"
+            + "*      EASTER-2  Good Friday\n"
+            + "*      EASTER+1  Easter Monday\n"
+            + "*      12-25     Christmas Day\n"
+            + "\n"
+            + "DE-BY  01-06     Epiphany\n"
+            + "DE-BY  EASTER+60 Corpus Christi\n"
+            + "XX     02-29     Leap day\n";
+
+    @Test
+    void testEasterSunday() {
+
+        assertThat(RuleBasedHolidayCalendar.easterSunday(2000)).isEqualTo(LocalDate.of(2000, 4, 23));
+        assertThat(RuleBasedHolidayCalendar.easterSunday(2024)).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(RuleBasedHolidayCalendar.easterSunday(2025)).isEqualTo(LocalDate.of(2025, 4, 20));
+        assertThat(RuleBasedHolidayCalendar.easterSunday(2026)).isEqualTo(LocalDate.of(2026, 4, 5));
+        assertThat(RuleBasedHolidayCalendar.easterSunday(2038)).isEqualTo(LocalDate.of(2038, 4, 25));
+
+    }
+
+    @Test
+    void testRuleValueOf() {
+
+        assertThat(Rule.valueOf("12-25")).isEqualTo(Rule.fixed(12, 25));
+        assertThat(Rule.valueOf("easter")).isEqualTo(Rule.easter(0));
+        assertThat(Rule.valueOf("EASTER+1")).isEqualTo(Rule.easter(1));
+        assertThat(Rule.valueOf("EASTER-2")).isEqualTo(Rule.easter(-2));
+        assertThat(Rule.easter(-2).toString()).isEqualTo("EASTER-2");
+        assertThat(Rule.easter(39).toString()).isEqualTo("EASTER+39");
+        assertThat(Rule.fixed(1, 6).toString()).isEqualTo("01-06");
+        assertThat(Rule.fixed(2, 29).dateIn(2023)).isNull();
+        assertThat(Rule.fixed(2, 29).dateIn(2024)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(Rule.easter(-2).dateIn(2025)).isEqualTo(LocalDate.of(2025, 4, 18));
+
+        for (final String invalid : new String[] { "", "12/25", "EASTER1", "EASTER+", "1-1" }) {
+            try {
+                Rule.valueOf(invalid);
+                Assertions.fail(invalid);
+            } catch (final ConstraintViolationException ex) {
+                assertThat(ex.getMessage()).isEqualTo("Expected 'MM-DD' or 'EASTER[+-N]', but was: '" + invalid + "'");
+            }
+        }
+
+        try {
+            Rule.valueOf("02-30");
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The month (2) and day (30) are not a valid date");
+        }
+
+    }
+
+    @Test
+    void testIsHoliday() throws Exception {
+
+        final RuleBasedHolidayCalendar testee = RuleBasedHolidayCalendar.load(new StringReader(RULES));
+        assertThat(testee.getRegions()).containsExactlyInAnyOrder("DE-BY", "XX");
+
+        assertThat(testee.isHoliday(LocalDate.of(2025, 1, 1), "DE-BY")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 1, 6), "DE-BY")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 1, 6), "DE-BE")).isFalse();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 4, 18), "DE-BE")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 4, 21), "DE-BE")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 4, 20), "DE-BE")).isFalse();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 6, 19), "DE-BY")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2024, 12, 25), "DE-BY")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2024, 12, 26), "DE-BY")).isFalse();
+        assertThat(testee.isHoliday(LocalDate.of(2024, 2, 29), "XX")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2024, 3, 1), "XX")).isFalse();
+        assertThat(testee.isHoliday(LocalDate.of(2023, 3, 1), "XX")).isFalse();
+
+        // Same array for the same year
+        assertThat(testee.holidays("DE-BY", 2025)).isSameAs(testee.holidays("DE-BY", 2025));
+        assertThat(MinuteMask.cardinality(testee.holidays("DE-BY", 2025))).isEqualTo(6);
+
+    }
+
+    @Test
+    void testConstructor() {
+
+        final RuleBasedHolidayCalendar testee = new RuleBasedHolidayCalendar(
+                Map.of(RuleBasedHolidayCalendar.ALL_REGIONS, List.of(Rule.fixed(5, 1)), "AT", List.of(Rule.fixed(10, 26))));
+        assertThat(testee.isHoliday(LocalDate.of(2025, 5, 1), "AT")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 10, 26), "AT")).isTrue();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 10, 26), "CH")).isFalse();
+        assertThat(testee.isHoliday(LocalDate.of(2025, 5, 1), "CH")).isTrue();
+
+    }
+
+    @Test
+    void testLoadInvalid() throws Exception {
+
+        try {
+            RuleBasedHolidayCalendar.load(new StringReader("# Test\n* 01-01\nDE-BY\n"));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Expected 'REGION RULE' in line 3, but was: 'DE-BY'");
+        }
+
+        try {
+            RuleBasedHolidayCalendar.load(new StringReader("* 01-01\n* 00-01 Invalid\n"));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Invalid rule in line 2: The month (0) and day (1) are not a valid date");
+        }
+
+    }
+
+    @Test
+    void testLoadFile() throws Exception {
+
+        final File file = File.createTempFile("holidays", ".txt");
+        try {
+            try (final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+                writer.write(RULES);
+            }
+            final RuleBasedHolidayCalendar testee = RuleBasedHolidayCalendar.load(file);
+            assertThat(testee.isHoliday(LocalDate.of(2026, 4, 6), "DE-BY")).isTrue();
+        } finally {
+            file.delete();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
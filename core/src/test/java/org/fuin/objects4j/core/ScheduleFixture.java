@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2013 Future Invent Informationsmanagement GmbH. All rights
+ * reserved. <http://www.fuin.org/>
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.fuin.objects4j.core;
+
+import org.fuin.utils4j.TestOmitted;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schedules shared by the tests of the tasks that process many weekly opening hours in parallel. The schedules contain a {@literal null}
+ * entry, hours spanning midnight and public holiday hours. All schedules are open on Monday from 10:00 to 11:00, so their intersection is
+ * not empty.
+ */
+@TestOmitted("Only a test class")
+final class ScheduleFixture {
+
+    /** Thresholds that run a task without splitting, with chunks aligned to 64 schedules and with very small chunks. */
+    static final int[] THRESHOLDS = { Integer.MAX_VALUE, 100, 64, 2, 1 };
+
+    /** Minutes open in all schedules. */
+    static final WeeklyOpeningHours COMMON = new WeeklyOpeningHours("Mon 10:00-11:00");
+
+    private static final WeeklyOpeningHours[] TEMPLATES = { new WeeklyOpeningHours("Mon-Fri 09:00-17:00"),
+            new WeeklyOpeningHours("Mon-Sat 08:00-12:00+13:00-20:00"), null,
+            new WeeklyOpeningHours("Mon 10:00-12:00,Fri 18:00-03:00,Sat 10:00-14:00"), new WeeklyOpeningHours("Mon-Sun 00:00-24:00"),
+            new WeeklyOpeningHours("Mon 10:00-11:00,Sun 22:00-02:00,PH 10:00-12:00"),
+            new WeeklyOpeningHours("Mon 10:00-11:00,Wed 12:00-12:01") };
+
+    private ScheduleFixture() {
+        throw new UnsupportedOperationException("It's not allowed to create an instance of this utility class");
+    }
+
+    /**
+     * Returns a new array that repeats the schedules.
+     *
+     * @param count
+     *            Number of entries.
+     *
+     * @return Schedules with {@literal null} entries.
+     */
+    static WeeklyOpeningHours[] weeks(final int count) {
+        final WeeklyOpeningHours[] weeks = new WeeklyOpeningHours[count];
+        for (int i = 0; i < count; i++) {
+            weeks[i] = TEMPLATES[i % TEMPLATES.length];
+        }
+        return weeks;
+    }
+
+    /**
+     * Returns a date and time for a minute of the week.
+     *
+     * @param minuteOfWeek
+     *            Minute of the week (0 = Monday 00:00 - 10079 = Sunday 23:59).
+     *
+     * @return Date and time in the week of 2024-01-01 (a Monday).
+     */
+    static LocalDateTime dateTime(final int minuteOfWeek) {
+        return LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(minuteOfWeek);
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.core.SlotMask.Resolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.utils4j.Utils4J.deserialize;
+import static org.fuin.utils4j.Utils4J.serialize;
+
+// CHECKSTYLE:OFF
+public class SlotMaskTest {
+
+    @Test
+    void testEqualsHashCode() {
+        EqualsVerifier.forClass(SlotMask.class).suppress(Warning.NULL_FIELDS).verify();
+    }
+
+    @Test
+    void testWeekWithQuarterHours() {
+
+        final SlotMask testee = new WeeklyOpeningHours("Mon-Fri 09:00-12:15+13:30-17:45,Sat 22:00-02:00,PH 10:00-14:00")
+                .toSlotMask(Resolution.FIFTEEN_MINUTES);
+
+        assertThat(testee.getResolution()).isEqualTo(Resolution.FIFTEEN_MINUTES);
+        assertThat(testee.getLength()).isEqualTo(8 * 1440);
+        assertThat(testee.getWords()).isEqualTo(12);
+        assertThat(testee.isOpenAt(8 * 60 + 59)).isFalse();
+        assertThat(testee.isOpenAt(9 * 60)).isTrue();
+        assertThat(testee.isOpenAt(12 * 60 + 14)).isTrue();
+        assertThat(testee.isOpenAt(12 * 60 + 15)).isFalse();
+        assertThat(testee.isOpenAt(17 * 60 + 44)).isTrue();
+        assertThat(testee.isOpenAt(17 * 60 + 45)).isFalse();
+        assertThat(testee.isOpenAt(6 * 1440 + 60)).isTrue();
+        assertThat(testee.isOpenAt(7 * 1440 + 10 * 60)).isTrue();
+
+        // 2025-01-12 is a sunday
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 1, 12, 1, 59))).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 1, 12, 2, 0))).isFalse();
+
+    }
+
+    @Test
+    void testFallbackToMinutes() {
+
+        final WeeklyOpeningHours weeklyOpeningHours = new WeeklyOpeningHours("Mon-Fri 09:00-17:00,Sat 10:00-12:05");
+        assertThat(weeklyOpeningHours.toSlotMask(Resolution.FIVE_MINUTES).getResolution()).isEqualTo(Resolution.FIVE_MINUTES);
+        assertThat(weeklyOpeningHours.toSlotMask(Resolution.FIVE_MINUTES).getWords()).isEqualTo(36);
+        final SlotMask testee = weeklyOpeningHours.toSlotMask(Resolution.THIRTY_MINUTES);
+        assertThat(testee.getResolution()).isEqualTo(Resolution.MINUTE);
+        assertThat(testee.getWords()).isEqualTo(180);
+        assertThat(testee.isOpenAt(5 * 1440 + 12 * 60 + 4)).isTrue();
+        assertThat(testee.isOpenAt(5 * 1440 + 12 * 60 + 5)).isFalse();
+
+    }
+
+    @Test
+    void testRoundTrip() {
+
+        for (final String str : new String[] { "Mon-Fri 09:00-17:00", "Mon 09:00-24:00,Sun 18:00-03:00", "Tue 08:07-09:13,PH 10:00-12:00",
+                "Mon-Sun 00:00-24:00" }) {
+            final WeeklyOpeningHours expected = new WeeklyOpeningHours(str);
+            for (final Resolution resolution : Resolution.values()) {
+                final WeeklyOpeningHours actual = expected.toSlotMask(resolution).toWeeklyOpeningHours();
+                assertThat(actual.isSimilarTo(expected)).isTrue();
+                assertThat(actual).isEqualTo(expected.compress());
+            }
+        }
+
+    }
+
+    @Test
+    void testHourRanges() {
+
+        final SlotMask day = new HourRanges("09:00-12:00+13:30-18:00").toSlotMask(Resolution.THIRTY_MINUTES);
+        assertThat(day.getResolution()).isEqualTo(Resolution.THIRTY_MINUTES);
+        assertThat(day.getLength()).isEqualTo(1440);
+        assertThat(day.getWords()).isEqualTo(1);
+        assertThat(day.isOpenAt(13 * 60 + 29)).isFalse();
+        assertThat(day.isOpenAt(13 * 60 + 30)).isTrue();
+
+        final SlotMask twoDays = new HourRanges("18:00-03:00").toSlotMask(Resolution.FIFTEEN_MINUTES);
+        assertThat(twoDays.getLength()).isEqualTo(2880);
+        assertThat(twoDays.isOpenAt(1440 + 2 * 60 + 59)).isTrue();
+        assertThat(twoDays.isOpenAt(1440 + 3 * 60)).isFalse();
+
+        try {
+            day.isOpenAt(LocalDateTime.of(2025, 1, 12, 2, 0));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Only a mask of a week can be used with a date and time, but length was: 1440");
+        }
+        try {
+            day.toWeeklyOpeningHours();
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("Only a mask of a week can be converted into weekly opening hours, but length was: 1440");
+        }
+
+    }
+
+    @Test
+    void testSerialize() {
+        final SlotMask original = new WeeklyOpeningHours("Mon-Fri 09:00-17:00").toSlotMask(Resolution.FIFTEEN_MINUTES);
+        final SlotMask copy = deserialize(serialize(original));
+        assertThat(copy).isEqualTo(original);
+    }
+
+}
+// CHECKSTYLE:ON
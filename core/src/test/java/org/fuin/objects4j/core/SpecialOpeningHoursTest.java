@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.assertj.core.api.Assertions;
+import org.fuin.objects4j.common.ConstraintViolationException;
+import org.fuin.objects4j.core.SpecialOpeningHours.DateOverride;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.utils4j.Utils4J.deserialize;
+import static org.fuin.utils4j.Utils4J.serialize;
+
+// CHECKSTYLE:OFF
+public class SpecialOpeningHoursTest {
+
+    private static final String HOURS = "MON-FRI 09:00-18:00;2025-12-01/2025-12-23 09:00-20:00;2025-12-24 CLOSED";
+
+    @Test
+    void testEqualsHashCode() {
+        EqualsVerifier.forClass(SpecialOpeningHours.class).verify();
+    }
+
+    @Test
+    void testConstruct() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours("Mon-Fri 09:00-18:00;2025-12-01/2025-12-23 09:00-20:00;2025-12-24 closed");
+        assertThat(testee.asBaseType()).isEqualTo(HOURS);
+        assertThat(testee.toString()).isEqualTo(HOURS);
+        assertThat(testee.getWeeklyOpeningHours()).isEqualTo(new WeeklyOpeningHours("Mon-Fri 09:00-18:00"));
+        assertThat(testee.getOverrides()).containsExactly(
+                new DateOverride(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 23), new HourRanges("09:00-20:00")),
+                new DateOverride(LocalDate.of(2025, 12, 24), null));
+
+        final SpecialOpeningHours copy = new SpecialOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-18:00"),
+                testee.getOverrides().toArray(new DateOverride[0]));
+        assertThat(copy).isEqualTo(testee);
+
+        assertThat(new SpecialOpeningHours("Mon 09:00-12:00").getOverrides()).isEmpty();
+
+    }
+
+    @Test
+    void testIsValid() {
+
+        assertThat(SpecialOpeningHours.isValid(null)).isTrue();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00")).isTrue();
+        assertThat(SpecialOpeningHours.isValid(HOURS)).isTrue();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00; 2025-12-24 CLOSED ")).isTrue();
+
+        assertThat(SpecialOpeningHours.isValid("")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00;")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00;2025-12-24")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00;2025-12-32 CLOSED")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00;2025-12-24 09:00")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("Mon-Fri 09:00-18:00;2025-12-24/2025-12-01 CLOSED")).isFalse();
+        assertThat(SpecialOpeningHours.isValid("2025-12-24 CLOSED")).isFalse();
+
+    }
+
+    @Test
+    void testValueOfAndRequireArgValid() {
+
+        assertThat(SpecialOpeningHours.valueOf(null)).isNull();
+        assertThat(SpecialOpeningHours.valueOf(HOURS)).isEqualTo(new SpecialOpeningHours(HOURS));
+
+        SpecialOpeningHours.requireArgValid("a", HOURS);
+        try {
+            SpecialOpeningHours.requireArgValid("a", "Mon-Fri 09:00-18:00;x");
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo(
+                    "The argument 'a' does not represent valid special opening hours like 'Mon-Fri 09:00-18:00;2025-12-24 CLOSED': 'Mon-Fri 09:00-18:00;x'");
+        }
+
+        try {
+            new SpecialOpeningHours("Mon-Fri 09:00-18:00;x");
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo(
+                    "The argument 'specialOpeningHours' does not represent valid special opening hours like 'Mon-Fri 09:00-18:00;2025-12-24 CLOSED': 'Mon-Fri 09:00-18:00;x'");
+        }
+
+    }
+
+    @Test
+    void testGetOverride() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours(HOURS);
+        assertThat(testee.getOverride(LocalDate.of(2025, 11, 30))).isNull();
+        assertThat(testee.getOverride(LocalDate.of(2025, 12, 1))).isEqualTo(testee.getOverrides().get(0));
+        assertThat(testee.getOverride(LocalDate.of(2025, 12, 23))).isEqualTo(testee.getOverrides().get(0));
+        assertThat(testee.getOverride(LocalDate.of(2025, 12, 24))).isEqualTo(testee.getOverrides().get(1));
+        assertThat(testee.getOverride(LocalDate.of(2025, 12, 25))).isNull();
+
+    }
+
+    @Test
+    void testLaterOverrideWins() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours(
+                "Mon-Sun 10:00-16:00;2025-12-01/2025-12-31 08:00-22:00;2025-12-24 CLOSED;2025-12-31/2026-01-01 CLOSED");
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 23))).isEqualTo(new HourRanges("08:00-22:00"));
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 24))).isNull();
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 25))).isEqualTo(new HourRanges("08:00-22:00"));
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 30))).isEqualTo(new HourRanges("08:00-22:00"));
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 31))).isNull();
+        assertThat(testee.getHourRanges(LocalDate.of(2026, 1, 1))).isNull();
+        assertThat(testee.getHourRanges(LocalDate.of(2026, 1, 2))).isEqualTo(new HourRanges("10:00-16:00"));
+
+    }
+
+    @Test
+    void testGetHourRanges() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours(HOURS);
+        // Saturday
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 11, 29))).isNull();
+        // Friday
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 11, 28))).isEqualTo(new HourRanges("09:00-18:00"));
+        // Saturday with special hours
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 6))).isEqualTo(new HourRanges("09:00-20:00"));
+
+    }
+
+    @Test
+    void testIsOpenAt() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours(HOURS);
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 11, 28, 19, 0))).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 5, 19, 0))).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 6, 9, 0))).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 24, 10, 0))).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 25, 10, 0))).isTrue();
+
+    }
+
+    @Test
+    void testIsOpenAtAfterMidnight() {
+
+        final SpecialOpeningHours testee = new SpecialOpeningHours(
+                "Mon-Sun 10:00-16:00;2025-12-30/2025-12-31 20:00-02:00;2026-01-02 CLOSED;2026-01-01 CLOSED;2026-01-03 22:00-01:00");
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 31, 1, 0))).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 31, 10, 0))).isFalse();
+        // Next date has other special hours
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 1, 1, 0))).isFalse();
+        // Next date has no special hours
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 4, 0, 30))).isTrue();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 4, 1, 0))).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 4, 10, 0))).isTrue();
+
+    }
+
+    @Test
+    void testIsOpenAtAfterMidnightOfClosedDate() {
+
+        // 2025-12-26 is a Friday
+        final SpecialOpeningHours testee = new SpecialOpeningHours("Fri 18:00-03:00,Sat 10:00-14:00;2025-12-26 CLOSED");
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 26, 19, 0))).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 27, 1, 0))).isFalse();
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 27, 11, 0))).isTrue();
+        assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 27))).isEqualTo(new HourRanges("10:00-14:00"));
+        // Weekly hours after midnight without special hours the day before
+        assertThat(testee.isOpenAt(LocalDateTime.of(2026, 1, 3, 1, 0))).isTrue();
+
+    }
+
+    @Test
+    void testIsOpenAtAfterMidnightOfClosedDateCompressed() {
+
+        // Compressed and decoded hours lose the split at midnight - Saturday 00:00-03:00 belongs to Saturday
+        final WeeklyOpeningHours weekly = new WeeklyOpeningHours("Fri 18:00-03:00,Sat 10:00-14:00");
+        final DateOverride closed = DateOverride.valueOf("2025-12-26 CLOSED");
+        assertThat(weekly.compress().toString()).isEqualTo("FRI 18:00-24:00,SAT 00:00-03:00+10:00-14:00");
+        for (final WeeklyOpeningHours week : new WeeklyOpeningHours[] { weekly.compress(), WeeklyOpeningHours.fromBytes(weekly.toBytes()) }) {
+            final SpecialOpeningHours testee = new SpecialOpeningHours(week, closed);
+            assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 26, 19, 0))).isFalse();
+            assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 27, 1, 0))).isTrue();
+            assertThat(testee.getHourRanges(LocalDate.of(2025, 12, 27))).isEqualTo(new HourRanges("00:00-03:00+10:00-14:00"));
+        }
+
+        // Same days as text keep the split
+        final SpecialOpeningHours testee = new SpecialOpeningHours(weekly, closed);
+        assertThat(testee.isOpenAt(LocalDateTime.of(2025, 12, 27, 1, 0))).isFalse();
+
+    }
+
+    @Test
+    void testDateOverride() {
+
+        final DateOverride testee = DateOverride.valueOf("2025-12-01/2025-12-23 09:00-20:00");
+        assertThat(testee.getFrom()).isEqualTo(LocalDate.of(2025, 12, 1));
+        assertThat(testee.getTo()).isEqualTo(LocalDate.of(2025, 12, 23));
+        assertThat(testee.isClosed()).isFalse();
+        assertThat(testee.contains(LocalDate.of(2025, 12, 23))).isTrue();
+        assertThat(testee.contains(LocalDate.of(2025, 12, 24))).isFalse();
+        assertThat(testee.toString()).isEqualTo("2025-12-01/2025-12-23 09:00-20:00");
+        assertThat(DateOverride.valueOf("2025-12-24 closed").toString()).isEqualTo("2025-12-24 CLOSED");
+        assertThat(DateOverride.valueOf(null)).isNull();
+
+        try {
+            new DateOverride(LocalDate.of(2025, 12, 24), LocalDate.of(2025, 12, 23), null);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'to' (2025-12-23) cannot be before 'from' (2025-12-24)");
+        }
+
+    }
+
+    @Test
+    void testSerialize() {
+
+        final SpecialOpeningHours original = new SpecialOpeningHours(HOURS);
+        final SpecialOpeningHours copy = deserialize(serialize(original));
+        assertThat(copy).isEqualTo(original);
+        assertThat(copy.isOpenAt(LocalDateTime.of(2025, 12, 24, 10, 0))).isFalse();
+
+    }
+
+}
+// CHECKSTYLE:ON
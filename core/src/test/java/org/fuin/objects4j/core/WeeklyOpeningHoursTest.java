@@ -24,6 +24,15 @@ import org.fuin.objects4j.core.DayOpeningHours.Change;
 import org.fuin.objects4j.core.HourRanges.ChangeType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.fuin.objects4j.core.DayOfTheWeek.*;
 import static org.fuin.objects4j.core.HourRanges.ChangeType.ADDED;
@@ -150,6 +159,52 @@ public class WeeklyOpeningHoursTest {
         org.assertj.core.api.Assertions.assertThat(w("Mon-Thu 09:00-18:00").diff(w("Mon-Fri 09:00-18:00")))
                 .containsOnly(c(FRI, ChangeType.ADDED, "09:00-18:00"));
 
+        org.assertj.core.api.Assertions.assertThat(w("Fri 18:00-03:00").diff(w("Fri 18:00-24:00,Sat 00:00-03:00"))).isEmpty();
+
+        org.assertj.core.api.Assertions.assertThat(w("Sun 18:00-03:00,PH 10:00-12:00").diff(w("Sun 18:00-02:00,PH 10:00-13:00")))
+                .containsOnly(c(MON, ChangeType.REMOVED, "02:00-03:00"), c(PH, ChangeType.ADDED, "12:00-13:00"));
+
+    }
+
+    @Test
+    void testDiffStream() {
+
+        final WeeklyOpeningHours from = w("Mon-Fri 09:00-18:00,Sat 09:00-12:00,Sun 20:00-02:00");
+        final WeeklyOpeningHours to = w("Mon-Thu 08:00-18:00,Sat 09:00-13:00,Sun 20:00-01:00");
+
+        assertThat(from.diffStream(to).collect(Collectors.toList())).isEqualTo(from.diff(to));
+        assertThat(from.diffStream(to).parallel().collect(Collectors.toList())).isEqualTo(from.diff(to));
+        assertThat(from.diffStream(to).findFirst().get()).isEqualTo(c(MON, ChangeType.REMOVED, "01:00-02:00"));
+        assertThat(from.diffStream(from).findAny().isPresent()).isFalse();
+
+    }
+
+    @Test
+    void testHasChanges() {
+
+        assertThat(w("Mon-Fri 09:00-18:00").hasChanges(w("Mon-Fri 09:00-18:00"))).isFalse();
+        assertThat(w("Fri 18:00-03:00").hasChanges(w("Fri 18:00-24:00,Sat 00:00-03:00"))).isFalse();
+        assertThat(w("Mon-Fri 09:00-18:00").hasChanges(w("Mon-Fri 09:00-17:59"))).isTrue();
+        assertThat(w("Mon 09:00-18:00").hasChanges(w("Mon 09:00-18:00,PH 10:00-11:00"))).isTrue();
+
+    }
+
+    @Test
+    void testDiffAll() {
+
+        final Map<String, WeeklyOpeningHours> from = new HashMap<>();
+        from.put("a", w("Mon-Fri 09:00-18:00"));
+        from.put("b", w("Sat 10:00-12:00"));
+        from.put("c", w("Sun 10:00-12:00"));
+        final Map<String, WeeklyOpeningHours> to = new HashMap<>();
+        to.put("a", w("Mon-Thu 09:00-18:00"));
+        to.put("b", w("Sat 10:00-12:00"));
+        to.put("d", w("PH 10:00-12:00"));
+
+        final List<Map.Entry<String, Change>> changes = WeeklyOpeningHours.diffAll(from, to).collect(Collectors.toList());
+        org.assertj.core.api.Assertions.assertThat(changes).containsOnly(Map.entry("a", c(FRI, ChangeType.REMOVED, "09:00-18:00")),
+                Map.entry("c", c(SUN, ChangeType.REMOVED, "10:00-12:00")), Map.entry("d", c(PH, ChangeType.ADDED, "10:00-12:00")));
+
     }
 
     @Test
@@ -193,6 +248,121 @@ public class WeeklyOpeningHoursTest {
         assertThat(w("Mon-Fri 08:00-18:00,Sat 09:00-13:00").openAt(d("Fri 08:00-18:01"))).isFalse();
         assertThat(w("Mon-Fri 08:00-18:00,Sat 09:00-13:00").openAt(d("Sat 08:00-14:00"))).isFalse();
 
+        assertThat(w("Fri 18:00-03:00").openAt(d("Sat 00:00-03:00"))).isTrue();
+        assertThat(w("Sun 18:00-03:00").openAt(d("Mon 01:00-02:00"))).isTrue();
+        assertThat(w("Sun 18:00-03:00").openAt(d("Mon 02:00-04:00"))).isFalse();
+
+    }
+
+    @Test
+    void testIsOpenAtMinuteOfDay() {
+
+        final WeeklyOpeningHours week = w("Mon-Fri 08:00-18:00,Sat 22:00-02:00,Sun 23:00-24:00,PH 10:00-12:00");
+
+        assertThat(week.isOpenAt(MON, 8 * 60)).isTrue();
+        assertThat(week.isOpenAt(MON, 18 * 60 - 1)).isTrue();
+        assertThat(week.isOpenAt(MON, 18 * 60)).isFalse();
+        assertThat(week.isOpenAt(TUE, 8 * 60 - 1)).isFalse();
+        assertThat(week.isOpenAt(SAT, 22 * 60)).isTrue();
+        assertThat(week.isOpenAt(SUN, 0)).isTrue();
+        assertThat(week.isOpenAt(SUN, 2 * 60 - 1)).isTrue();
+        assertThat(week.isOpenAt(SUN, 2 * 60)).isFalse();
+        assertThat(week.isOpenAt(SUN, 1439)).isTrue();
+        assertThat(week.isOpenAt(MON, 0)).isFalse();
+        assertThat(week.isOpenAt(PH, 10 * 60)).isTrue();
+        assertThat(week.isOpenAt(PH, 12 * 60)).isFalse();
+
+        // Midnight spill-over from Sunday to Monday
+        final WeeklyOpeningHours sunday = new WeeklyOpeningHours(d("Sun 20:00-03:00"));
+        assertThat(sunday.isOpenAt(MON, 0)).isTrue();
+        assertThat(sunday.isOpenAt(MON, 3 * 60 - 1)).isTrue();
+        assertThat(sunday.isOpenAt(MON, 3 * 60)).isFalse();
+
+        try {
+            week.isOpenAt(MON, 1440);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            // OK
+        }
+        try {
+            week.isOpenAt(MON, -1);
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            // OK
+        }
+
+    }
+
+    @Test
+    void testIsOpenAtDateTime() {
+
+        final WeeklyOpeningHours week = w("Mon-Fri 08:00-18:00,Sat 22:00-02:00");
+
+        // 2024-01-01 is a Monday
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 1, 8, 0))).isTrue();
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 1, 17, 59, 59))).isTrue();
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 1, 18, 0))).isFalse();
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 6, 23, 30))).isTrue();
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 7, 1, 59))).isTrue();
+        assertThat(week.isOpenAt(LocalDateTime.of(2024, 1, 7, 2, 0))).isFalse();
+
+    }
+
+    @Test
+    void testOccupancy() {
+
+        final int[] histogram = WeeklyOpeningHours.occupancy(List.of(w("Mon-Fri 09:00-17:00"), w("Mon 12:00-13:00,Sun 23:00-01:00")));
+
+        assertThat(histogram.length).isEqualTo(10080);
+        assertThat(histogram[0]).isEqualTo(1);
+        assertThat(histogram[60]).isEqualTo(0);
+        assertThat(histogram[9 * 60]).isEqualTo(1);
+        assertThat(histogram[12 * 60]).isEqualTo(2);
+        assertThat(histogram[13 * 60]).isEqualTo(1);
+        assertThat(histogram[1440 + 12 * 60]).isEqualTo(1);
+        assertThat(histogram[10079]).isEqualTo(1);
+        assertThat(WeeklyOpeningHours.occupancy(List.of())).isEqualTo(new int[10080]);
+
+    }
+
+    @Test
+    void testFilterOpenAt() {
+
+        final List<WeeklyOpeningHours> weeks = new ArrayList<>();
+        weeks.add(w("Mon-Fri 09:00-17:00"));
+        weeks.add(null);
+        weeks.add(w("Sun 22:00-02:00"));
+        weeks.add(w("Mon 00:00-24:00"));
+
+        // 2025-01-06 is a monday
+        final LocalDateTime dateTime = LocalDateTime.of(2025, 1, 6, 1, 30);
+        assertThat(WeeklyOpeningHours.filterOpenAt(weeks, dateTime)).isEqualTo(new long[] { 0b1100L });
+        assertThat(WeeklyOpeningHours.filterOpenAt(weeks, dateTime.plusHours(8))).isEqualTo(new long[] { 0b1001L });
+        assertThat(WeeklyOpeningHours.filterOpenAt(new WeeklyOpeningHours[0], dateTime)).isEqualTo(new long[0]);
+
+        assertThat(weeks.stream().filter(WeeklyOpeningHours.openAtFilter(dateTime)).collect(Collectors.toList()))
+                .isEqualTo(List.of(w("Sun 22:00-02:00"), w("Mon 00:00-24:00")));
+        assertThat(weeks.parallelStream().filter(WeeklyOpeningHours.openAtFilter(dateTime.plusHours(8))).count()).isEqualTo(2L);
+
+    }
+
+    @Test
+    void testIntersectAllAndUnionAll() {
+
+        final List<WeeklyOpeningHours> weeks = new ArrayList<>();
+        weeks.add(w("Mon-Fri 08:00-18:00,PH 10:00-12:00"));
+        weeks.add(null);
+        weeks.add(w("Mon-Sat 09:00-12:00+13:00-20:00,PH 09:00-11:00"));
+        weeks.add(w("Mon-Thu 10:00-19:00,Fri 07:00-09:30"));
+
+        assertThat(WeeklyOpeningHours.intersectAll(weeks)).isEqualTo(w("MON-THU 10:00-12:00+13:00-18:00,FRI 09:00-09:30"));
+        assertThat(WeeklyOpeningHours.unionAll(weeks))
+                .isEqualTo(w("MON-THU 08:00-20:00,FRI 07:00-20:00,SAT 09:00-12:00+13:00-20:00,PH 09:00-12:00"));
+        assertThat(WeeklyOpeningHours.intersectAll(List.of(w("Mon 09:00-12:00"), w("Tue 09:00-12:00")))).isNull();
+        assertThat(WeeklyOpeningHours.unionAll(List.of())).isNull();
+        assertThat(WeeklyOpeningHours.intersectAll(List.of(w("Mon 09:00-12:00,Tue 09:00-12:00"))))
+                .isEqualTo(w("Mon 09:00-12:00,Tue 09:00-12:00").compress());
+
     }
 
     @Test
@@ -205,6 +375,45 @@ public class WeeklyOpeningHoursTest {
 
     }
 
+    @Test
+    void testFingerprintAndTemplate() {
+
+        final WeeklyOpeningHours a = w("Mon-Fri 09:00-17:00");
+        final WeeklyOpeningHours b = w("Mon/Tue/Wed/Thu/Fri 09:00-17:00");
+        final WeeklyOpeningHours c = w("Mon-Fri 09:00-17:01");
+
+        assertThat(a).isNotEqualTo(b);
+        assertThat(a.isSimilarTo(b)).isTrue();
+        assertThat(a.isSimilarTo(c)).isFalse();
+        assertThat(a.getFingerprint()).isEqualTo(b.getFingerprint());
+        assertThat(a.getFingerprint()).isNotEqualTo(c.getFingerprint());
+        assertThat(w("Fri 18:00-03:00").getFingerprint()).isEqualTo(w("Fri 18:00-24:00,Sat 00:00-03:00").getFingerprint());
+
+        assertThat(a.toTemplate()).isEqualTo(b.toTemplate());
+        assertThat(a.toTemplate().hashCode()).isEqualTo(b.toTemplate().hashCode());
+        assertThat(a.toTemplate()).isNotEqualTo(c.toTemplate());
+        assertThat(a.toTemplate().getFingerprint()).isEqualTo(a.getFingerprint());
+
+    }
+
+    @Test
+    void testGroupBySimilarity() {
+
+        final List<String> ids = List.of("1", "2", "3", "4");
+        final Map<String, WeeklyOpeningHours> hours = new HashMap<>();
+        hours.put("1", w("Mon-Fri 09:00-17:00"));
+        hours.put("2", w("Sat 10:00-14:00"));
+        hours.put("3", w("Mon/Tue/Wed/Thu/Fri 09:00-12:00+12:00-17:00"));
+        hours.put("4", w("SAT 10:00-14:00"));
+
+        final Map<WeeklyOpeningHours.Template, List<String>> groups = WeeklyOpeningHours.groupBySimilarity(ids, hours::get);
+        assertThat(groups.size()).isEqualTo(2);
+        assertThat(groups.get(w("Mon-Fri 09:00-17:00").toTemplate())).isEqualTo(List.of("1", "3"));
+        assertThat(groups.get(w("Sat 10:00-14:00").toTemplate())).isEqualTo(List.of("2", "4"));
+        assertThat(groups.keySet().iterator().next().getOpeningHours()).isSameAs(hours.get("1"));
+
+    }
+
     @Test
     public void compress() {
 
@@ -212,6 +421,124 @@ public class WeeklyOpeningHoursTest {
         assertThat(w("Mon 00:00-24:00,Tue 00:00-24:00,Wed 00:00-24:00,Thu 00:00-24:00,Fri 00:00-24:00,Sat 00:00-24:00,Sun 00:00-24:00")
                 .compress()).isEqualTo(w("Mon-Sun 00:00-24:00"));
         assertThat(w("Mon/Tue 09:00-18:00,Fri 09:00-18:00").compress()).isEqualTo(w("Mon/Tue/Fri 09:00-18:00"));
+        assertThat(w("Sat 10:00-14:00,Mon-Fri 09:00-17:00").compress()).isEqualTo(w("Mon-Fri 09:00-17:00,Sat 10:00-14:00"));
+        assertThat(w("Sun 10:00-12:00,Mon 10:00-12:00,PH 10:00-12:00,Tue 08:00-09:00+09:00-12:00").compress())
+                .isEqualTo(w("Mon/Sun/PH 10:00-12:00,Tue 08:00-12:00"));
+        assertThat(w("Fri 18:00-03:00,Sat 03:00-06:00").compress()).isEqualTo(w("Fri 18:00-24:00,Sat 00:00-06:00"));
+
+        final WeeklyOpeningHours testee = w("Mon 09:00-17:00,Tue 09:00-17:00,Wed 09:00-12:00").compress();
+        assertThat(testee.toString()).isEqualTo("MON/TUE 09:00-17:00,WED 09:00-12:00");
+        assertThat(testee.isSimilarTo(w("Mon-Tue 09:00-17:00,Wed 09:00-12:00"))).isTrue();
+        assertThat(testee.getFingerprint()).isEqualTo(w("Wed 09:00-12:00,Mon/Tue 09:00-17:00").getFingerprint());
+        assertThat(testee.iterator().next()).isEqualTo(new DayOpeningHours("Mon 09:00-17:00"));
+
+    }
+
+    @Test
+    void testFindFreeSlot() {
+
+        final WeeklyOpeningHours testee = w("Mon-Fri 09:00-17:00");
+        assertThat(testee.findFreeSlot(60, 0)).isEqualTo(540);
+        assertThat(testee.findFreeSlot(480, 541)).isEqualTo(1440 + 540);
+        // Friday 16:40 - Next window is on Monday of the following week
+        assertThat(testee.findFreeSlot(60, 4 * 1440 + 1000)).isEqualTo(540);
+        assertThat(testee.findFreeSlot(481, 0)).isEqualTo(-1);
+
+        final WeeklyOpeningHours night = w("Sun 20:00-04:00");
+        assertThat(night.findFreeSlot(480, 0)).isEqualTo(6 * 1440 + 1200);
+        assertThat(night.findFreeSlot(60, 6 * 1440 + 1300)).isEqualTo(6 * 1440 + 1300);
+
+        assertThat(w("Mon-Sun 00:00-24:00").findFreeSlot(10080, 500)).isEqualTo(500);
+
+    }
+
+    @Test
+    void testOpenIntervals() {
+
+        final WeeklyOpeningHours testee = w("Mon-Fri 09:00-17:00,Sat 22:00-02:00");
+
+        // 2025-01-06 is a monday
+        final List<OpenInterval<LocalDateTime>> week = testee.openIntervals(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 13))
+                .collect(Collectors.toList());
+        assertThat(week.size()).isEqualTo(6);
+        assertThat(week.get(0)).isEqualTo(i("2025-01-06T09:00", "2025-01-06T17:00"));
+        assertThat(week.get(4)).isEqualTo(i("2025-01-10T09:00", "2025-01-10T17:00"));
+        assertThat(week.get(5)).isEqualTo(i("2025-01-11T22:00", "2025-01-12T02:00"));
+
+        // Cut at the start and end of the period
+        assertThat(testee.openIntervals(LocalDate.of(2025, 1, 12), LocalDate.of(2025, 1, 14)).collect(Collectors.toList()))
+                .isEqualTo(List.of(i("2025-01-12T00:00", "2025-01-12T02:00"), i("2025-01-13T09:00", "2025-01-13T17:00")));
+        assertThat(testee.openIntervals(LocalDate.of(2025, 1, 11), LocalDate.of(2025, 1, 12)).collect(Collectors.toList()))
+                .isEqualTo(List.of(i("2025-01-11T22:00", "2025-01-12T00:00")));
+
+        // Joined over the end of the week
+        assertThat(w("Sun 20:00-24:00,Mon 00:00-04:00").openIntervals(LocalDate.of(2025, 1, 12), LocalDate.of(2025, 1, 20))
+                .collect(Collectors.toList())).isEqualTo(List.of(i("2025-01-12T20:00", "2025-01-13T04:00"), i("2025-01-19T20:00", "2025-01-20T00:00")));
+        assertThat(w("Mon-Sun 00:00-24:00").openIntervals(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1)).collect(Collectors.toList()))
+                .isEqualTo(List.of(i("2025-01-01T00:00", "2025-03-01T00:00")));
+        assertThat(testee.openIntervals(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 6)).findAny().isPresent()).isFalse();
+        assertThat(w("PH 09:00-17:00").openIntervals(LocalDate.of(2025, 1, 6), LocalDate.of(2026, 1, 6)).findAny().isPresent()).isFalse();
+
+        try {
+            testee.openIntervals(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 5));
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'to' (2025-01-05) cannot be before 'from' (2025-01-06)");
+        }
+
+    }
+
+    @Test
+    void testOpenIntervalsParallel() {
+
+        final WeeklyOpeningHours testee = w("Mon 00:00-04:00+09:00-17:00,Tue-Fri 09:00-17:00,Sat 22:00-02:00,Sun 20:00-24:00");
+        final LocalDate from = LocalDate.of(2025, 1, 1);
+        final LocalDate to = LocalDate.of(2026, 1, 1);
+        final List<OpenInterval<LocalDateTime>> sequential = testee.openIntervals(from, to).collect(Collectors.toList());
+        assertThat(sequential.size()).isEqualTo(261 + 52 + 52);
+        assertThat(testee.openIntervals(from, to).parallel().collect(Collectors.toList())).isEqualTo(sequential);
+
+    }
+
+    @Test
+    void testFreeSlots() {
+
+        assertThat(w("Mon-Fri 09:00-17:00,Sat 10:00-14:00").freeSlots(480)).isEqualTo(List.of(new OpenInterval<>(540, 1020),
+                new OpenInterval<>(1980, 2460), new OpenInterval<>(3420, 3900), new OpenInterval<>(4860, 5340), new OpenInterval<>(6300, 6780)));
+        assertThat(w("Mon-Fri 09:00-17:00,Sat 10:00-14:00").freeSlots(240).size()).isEqualTo(6);
+        assertThat(w("Sun 20:00-24:00,Mon 00:00-04:00,Wed 10:00-11:00").freeSlots(60))
+                .isEqualTo(List.of(new OpenInterval<>(3480, 3540), new OpenInterval<>(9840, 10320)));
+        assertThat(w("Mon-Sun 00:00-24:00").freeSlots(10)).isEqualTo(List.of(new OpenInterval<>(0, 10080)));
+        assertThat(w("Mon-Sun 00:00-24:00").freeSlots(10081)).isEqualTo(List.of());
+
+    }
+
+    @Test
+    void testBinary() {
+
+        for (final String str : new String[] { "MON-FRI 09:00-12:00+13:00-17:00,SAT 10:00-14:00", "MON/WED/FRI 08:00-20:00,PH 10:00-12:00",
+                "MON-SUN 00:00-24:00" }) {
+            final WeeklyOpeningHours testee = w(str);
+            final byte[] bytes = testee.toBytes();
+            assertThat(bytes.length).isLessThan(20);
+            assertThat(WeeklyOpeningHours.fromBytes(bytes)).isEqualTo(testee);
+            final ByteBuffer buffer = ByteBuffer.allocate(100);
+            testee.writeTo(buffer);
+            buffer.flip();
+            assertThat(WeeklyOpeningHours.readFrom(buffer)).isEqualTo(testee);
+        }
+
+        // The result is always compressed
+        final WeeklyOpeningHours testee = w("Mon 09:00-17:00,Tue 09:00-17:00,Sat 22:00-02:00");
+        assertThat(WeeklyOpeningHours.fromBytes(testee.toBytes())).isEqualTo(testee.compress());
+        assertThat(WeeklyOpeningHours.fromBytes(testee.toBytes()).isSimilarTo(testee)).isTrue();
+
+        try {
+            WeeklyOpeningHours.fromBytes(new byte[] { 0 });
+            Assertions.fail("");
+        } catch (final ConstraintViolationException ex) {
+            assertThat(ex.getMessage()).isEqualTo("The argument 'minutes' cannot be empty");
+        }
 
     }
 
@@ -227,5 +554,9 @@ public class WeeklyOpeningHoursTest {
         return new Change(type, day, new HourRange(range));
     }
 
+    private OpenInterval<LocalDateTime> i(final String from, final String to) {
+        return new OpenInterval<>(LocalDateTime.parse(from), LocalDateTime.parse(to));
+    }
+
 }
 // CHECKSTYLE:ON
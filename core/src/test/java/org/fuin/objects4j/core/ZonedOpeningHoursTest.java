@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.objects4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF
+public class ZonedOpeningHoursTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void testIsOpenAt() {
+
+        final ZonedOpeningHours testee = new ZonedOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-17:00"), BERLIN);
+
+        // Winter (UTC+1)
+        assertThat(testee.isOpenAt(i("2024-01-01T08:00:00Z"))).isTrue();
+        assertThat(testee.isOpenAt(i("2024-01-01T07:59:59Z"))).isFalse();
+        assertThat(testee.isOpenAt(i("2024-01-01T15:59:59Z"))).isTrue();
+        assertThat(testee.isOpenAt(i("2024-01-01T16:00:00Z"))).isFalse();
+
+        // Summer (UTC+2)
+        assertThat(testee.isOpenAt(i("2024-07-01T07:00:00Z"))).isTrue();
+        assertThat(testee.isOpenAt(i("2024-07-01T06:59:00Z"))).isFalse();
+        assertThat(testee.isOpenAt(i("2024-07-01T15:00:00Z"))).isFalse();
+
+        // Saturday
+        assertThat(testee.isOpenAt(i("2024-07-06T10:00:00Z"))).isFalse();
+
+    }
+
+    @Test
+    void testOpenIntervals() {
+
+        final ZonedOpeningHours testee = new ZonedOpeningHours(new WeeklyOpeningHours("Mon-Fri 09:00-17:00"), BERLIN);
+
+        assertThat(testee.openIntervals(i("2024-01-01T00:00:00Z"), i("2024-01-02T00:00:00Z")))
+                .containsExactly(interval("2024-01-01T08:00:00Z", "2024-01-01T16:00:00Z"));
+        assertThat(testee.openIntervals(i("2024-01-05T10:00:00Z"), i("2024-01-08T09:00:00Z"))).containsExactly(
+                interval("2024-01-05T10:00:00Z", "2024-01-05T16:00:00Z"), interval("2024-01-08T08:00:00Z", "2024-01-08T09:00:00Z"));
+        assertThat(testee.openIntervals(i("2024-01-06T00:00:00Z"), i("2024-01-07T00:00:00Z"))).isEmpty();
+
+    }
+
+    @Test
+    void testOpenIntervalsDaylightSavingGap() {
+
+        // 2024-03-31 is a Sunday - Local time jumps from 02:00 to 03:00
+        final ZonedOpeningHours testee = new ZonedOpeningHours(new WeeklyOpeningHours("Sun 01:00-04:00"), BERLIN);
+
+        assertThat(testee.openIntervals(i("2024-03-30T00:00:00Z"), i("2024-04-01T00:00:00Z")))
+                .containsExactly(interval("2024-03-31T00:00:00Z", "2024-03-31T02:00:00Z"));
+
+    }
+
+    @Test
+    void testOpenIntervalsDaylightSavingOverlap() {
+
+        // 2024-10-27 is a Sunday - Local time jumps back from 03:00 to 02:00
+        final ZonedOpeningHours testee = new ZonedOpeningHours(new WeeklyOpeningHours("Sun 01:00-04:00"), BERLIN);
+
+        assertThat(testee.openIntervals(i("2024-10-26T00:00:00Z"), i("2024-10-28T00:00:00Z")))
+                .containsExactly(interval("2024-10-26T23:00:00Z", "2024-10-27T03:00:00Z"));
+        assertThat(testee.isOpenAt(i("2024-10-27T00:30:00Z"))).isTrue();
+        assertThat(testee.isOpenAt(i("2024-10-27T01:30:00Z"))).isTrue();
+
+    }
+
+    @Test
+    void testOpenIntervalsAcrossYearAndWeek() {
+
+        final ZonedOpeningHours always = new ZonedOpeningHours(new WeeklyOpeningHours("Mon-Sun 00:00-24:00"), BERLIN);
+        assertThat(always.openIntervals(i("2023-12-31T12:00:00Z"), i("2024-01-01T12:00:00Z")))
+                .containsExactly(interval("2023-12-31T12:00:00Z", "2024-01-01T12:00:00Z"));
+
+        final ZonedOpeningHours sunday = new ZonedOpeningHours(new WeeklyOpeningHours("Sun 22:00-02:00"), ZoneOffset.UTC);
+        assertThat(sunday.openIntervals(i("2024-01-07T00:00:00Z"), i("2024-01-09T00:00:00Z")))
+                .containsExactly(interval("2024-01-07T22:00:00Z", "2024-01-08T02:00:00Z"));
+
+    }
+
+    private static Instant i(final String instant) {
+        return Instant.parse(instant);
+    }
+
+    private static OpenInterval<Instant> interval(final String from, final String to) {
+        return new OpenInterval<>(i(from), i(to));
+    }
+
+}
+// CHECKSTYLE:ON
@@ -13,6 +13,7 @@ import org.fuin.objects4j.core.HourRange;
 import org.fuin.objects4j.core.HourRanges;
 import org.fuin.objects4j.core.MultiDayOfTheWeek;
 import org.fuin.objects4j.core.PasswordSha512;
+import org.fuin.objects4j.core.SpecialOpeningHours;
 import org.fuin.objects4j.core.UserName;
 import org.fuin.objects4j.core.WeeklyOpeningHours;
 
@@ -45,6 +46,7 @@ public class Objects4JJacksonModule extends Module {
         serializers.addSerializer(new LocaleJacksonSerializer());
         serializers.addSerializer(new ValueObjectStringJacksonSerializer<>(MultiDayOfTheWeek.class));
         serializers.addSerializer(new ValueObjectStringJacksonSerializer<>(PasswordSha512.class));
+        serializers.addSerializer(new ValueObjectStringJacksonSerializer<>(SpecialOpeningHours.class));
         serializers.addSerializer(new ValueObjectStringJacksonSerializer<>(UserName.class));
         serializers.addSerializer(new UUIDJacksonSerializer());
         serializers.addSerializer(new ValueObjectStringJacksonSerializer<>(WeeklyOpeningHours.class));
@@ -62,6 +64,7 @@ public class Objects4JJacksonModule extends Module {
         deserializers.addDeserializer(Locale.class, new LocaleJacksonDeserializer());
         deserializers.addDeserializer(MultiDayOfTheWeek.class, new ValueObjectStringJacksonDeserializer<>(MultiDayOfTheWeek.class, MultiDayOfTheWeek::valueOf));
         deserializers.addDeserializer(PasswordSha512.class, new ValueObjectStringJacksonDeserializer<>(PasswordSha512.class, PasswordSha512::valueOf));
+        deserializers.addDeserializer(SpecialOpeningHours.class, new ValueObjectStringJacksonDeserializer<>(SpecialOpeningHours.class, SpecialOpeningHours::valueOf));
         deserializers.addDeserializer(UserName.class, new ValueObjectStringJacksonDeserializer<>(UserName.class, UserName::valueOf));
         deserializers.addDeserializer(UUID.class, new UUIDJacksonDeserializer());
         deserializers.addDeserializer(WeeklyOpeningHours.class, new ValueObjectStringJacksonDeserializer<>(WeeklyOpeningHours.class, WeeklyOpeningHours::valueOf));
@@ -39,6 +39,7 @@ public final class JaxbUtils {
             new LocaleXmlAdapter(),
             new MultiDayOfTheWeekXmlAdapter(),
             new PasswordSha512XmlAdapter(),
+            new SpecialOpeningHoursXmlAdapter(),
             new UserNameXmlAdapter(),
             new UUIDXmlAdapter(),
             new WeeklyOpeningHoursXmlAdapter()
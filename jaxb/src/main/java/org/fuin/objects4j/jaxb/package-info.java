@@ -10,6 +10,7 @@
         @XmlJavaTypeAdapter(value = LocaleXmlAdapter.class, type = Locale.class),
         @XmlJavaTypeAdapter(value = MultiDayOfTheWeekXmlAdapter.class, type = MultiDayOfTheWeek.class),
         @XmlJavaTypeAdapter(value = PasswordSha512XmlAdapter.class, type = PasswordSha512.class),
+        @XmlJavaTypeAdapter(value = SpecialOpeningHoursXmlAdapter.class, type = SpecialOpeningHours.class),
         @XmlJavaTypeAdapter(value = UserNameXmlAdapter.class, type = UserName.class),
         @XmlJavaTypeAdapter(value = UUIDXmlAdapter.class, type = UUID.class),
         @XmlJavaTypeAdapter(value = WeeklyOpeningHoursXmlAdapter.class, type = WeeklyOpeningHours.class)
@@ -27,6 +28,7 @@ import org.fuin.objects4j.core.HourRange;
 import org.fuin.objects4j.core.HourRanges;
 import org.fuin.objects4j.core.MultiDayOfTheWeek;
 import org.fuin.objects4j.core.PasswordSha512;
+import org.fuin.objects4j.core.SpecialOpeningHours;
 import org.fuin.objects4j.core.UserName;
 import org.fuin.objects4j.core.WeeklyOpeningHours;
 
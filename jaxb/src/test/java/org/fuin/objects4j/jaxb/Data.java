@@ -29,6 +29,7 @@ import org.fuin.objects4j.core.HourRange;
 import org.fuin.objects4j.core.HourRanges;
 import org.fuin.objects4j.core.MultiDayOfTheWeek;
 import org.fuin.objects4j.core.PasswordSha512;
+import org.fuin.objects4j.core.SpecialOpeningHours;
 import org.fuin.objects4j.core.UserName;
 import org.fuin.objects4j.core.WeeklyOpeningHours;
 import org.fuin.utils4j.TestOmitted;
@@ -87,6 +88,9 @@ public class Data {
     @XmlAttribute
     public WeeklyOpeningHours weeklyOpeningHours;
 
+    @XmlAttribute
+    public SpecialOpeningHours specialOpeningHours;
+
     @XmlAttribute
     public Locale locale;
 
@@ -17,6 +17,7 @@ public final class JsonbUtils {
             new EmailAddressJsonbAdapter(),
             new CurrencyAmountJsonbAdapter(),
             new WeeklyOpeningHoursJsonbAdapter(),
+            new SpecialOpeningHoursJsonbAdapter(),
             new UUIDJsonbAdapter(),
             new HourRangeJsonbAdapter(),
             new MultiDayOfTheWeekJsonbAdapter(),
@@ -27,6 +27,7 @@ import org.fuin.objects4j.core.HourRange;
 import org.fuin.objects4j.core.HourRanges;
 import org.fuin.objects4j.core.MultiDayOfTheWeek;
 import org.fuin.objects4j.core.PasswordSha512;
+import org.fuin.objects4j.core.SpecialOpeningHours;
 import org.fuin.objects4j.core.UserName;
 import org.fuin.objects4j.core.WeeklyOpeningHours;
 import org.fuin.utils4j.TestOmitted;
@@ -83,6 +84,9 @@ public class Data {
     @JsonbProperty
     public WeeklyOpeningHours weeklyOpeningHours;
 
+    @JsonbProperty
+    public SpecialOpeningHours specialOpeningHours;
+
     @JsonbProperty
     public Locale locale;
 